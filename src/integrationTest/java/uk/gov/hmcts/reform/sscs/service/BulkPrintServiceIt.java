@@ -55,7 +55,8 @@ public class BulkPrintServiceIt {
     @Ignore("need to get send-letter-service working locally")
     public void willSendFileToBulkPrint() {
         Optional<UUID> uuidOptional = bulkPrintService.sendToBulkPrint(
-            singletonList(new Pdf("my data".getBytes(), "file.pdf")), SSCS_CASE_DATA, "Appellant LastName");
+            singletonList(new Pdf("my data".getBytes(), "file.pdf")), SSCS_CASE_DATA, EventType.VALID_APPEAL_CREATED,
+            "Appellant LastName", "dl6");
         assertTrue("a uuid should exist", uuidOptional.isPresent());
     }
 }
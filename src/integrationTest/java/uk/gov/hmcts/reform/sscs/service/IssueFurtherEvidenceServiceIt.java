@@ -33,12 +33,10 @@ import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.reform.sscs.callback.handlers.IssueFurtherEvidenceHandler;
-import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
 import uk.gov.hmcts.reform.sscs.ccd.client.CcdClient;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
 import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
 import uk.gov.hmcts.reform.sscs.ccd.service.UpdateCcdCaseService;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
@@ -81,9 +79,6 @@ public class IssueFurtherEvidenceServiceIt {
     @MockBean
     private BulkPrintService bulkPrintService;
 
-    @MockBean
-    private DocmosisTemplateConfig docmosisTemplateConfig;
-
     @Autowired
     @Qualifier("issueFurtherEvidenceHandler")
     private IssueFurtherEvidenceHandler handler;
@@ -105,42 +100,8 @@ public class IssueFurtherEvidenceServiceIt {
 
     Optional<UUID> expectedOptionalUuid = Optional.of(UUID.fromString("0f14d0ab-9605-4a62-a9e4-5ed26688389b"));
 
-    Map<LanguagePreference, Map<String, Map<String, String>>> template =  new HashMap<>();
-
     @Before
     public void setup() throws Exception {
-        Map<String, String> nameMap;
-        Map<String, Map<String, String>> englishDocs = new HashMap<>();
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00010.doc");
-        englishDocs.put(DocumentType.DL6.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00011.doc");
-        englishDocs.put(DocumentType.DL16.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00068.doc");
-        englishDocs.put("d609-97", nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00069.doc");
-        englishDocs.put("d609-98", nameMap);
-
-        Map<String, Map<String, String>> welshDocs = new HashMap<>();
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00010.doc");
-        welshDocs.put(DocumentType.DL6.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00011.doc");
-        welshDocs.put(DocumentType.DL16.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-WEL-00469.docx");
-        welshDocs.put("d609-97", nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-WEL-00470.docx");
-        welshDocs.put("d609-98", nameMap);
-
-        template.put(LanguagePreference.ENGLISH, englishDocs);
-        template.put(LanguagePreference.WELSH, welshDocs);
-
         message = new MimeMessage(session);
 
         fileContent = IOUtils.toByteArray(getClass().getClassLoader().getResourceAsStream("myPdf.pdf"));
@@ -154,8 +115,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -166,7 +126,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(1, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -183,8 +143,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -195,7 +154,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -216,8 +175,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -228,7 +186,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -249,8 +207,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -261,7 +218,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(4)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(4)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(4, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -292,8 +249,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -304,7 +260,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(1, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -321,8 +277,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -333,7 +288,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -355,8 +310,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -367,7 +321,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -389,8 +343,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -401,7 +354,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(3)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(3)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(3, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -427,8 +380,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -439,7 +391,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(5)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(5)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(5, documentCaptor.getAllValues().size());
         assertEquals(3, documentCaptor.getAllValues().get(0).size());
@@ -490,8 +442,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -512,7 +463,7 @@ public class IssueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         verify(ccdService, times(1)).getByCaseId(any(), any());
     }
@@ -32,12 +32,9 @@ import org.springframework.test.context.junit4.rules.SpringClassRule;
 import org.springframework.test.context.junit4.rules.SpringMethodRule;
 import org.springframework.web.client.RestTemplate;
 import uk.gov.hmcts.reform.sscs.callback.handlers.ReissueFurtherEvidenceHandler;
-import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
 import uk.gov.hmcts.reform.sscs.ccd.client.CcdClient;
-import uk.gov.hmcts.reform.sscs.ccd.domain.LanguagePreference;
 import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
 import uk.gov.hmcts.reform.sscs.ccd.service.UpdateCcdCaseService;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.PdfDocumentRequest;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
@@ -83,9 +80,6 @@ public class ReissueFurtherEvidenceServiceIt {
     @MockBean
     private BulkPrintService bulkPrintService;
 
-    @MockBean
-    private DocmosisTemplateConfig docmosisTemplateConfig;
-
     @Autowired
     private ReissueFurtherEvidenceHandler handler;
 
@@ -103,42 +97,8 @@ public class ReissueFurtherEvidenceServiceIt {
     private Session session = Session.getInstance(new Properties());
 
     private Optional<UUID> expectedOptionalUuid = Optional.of(UUID.fromString("0f14d0ab-9605-4a62-a9e4-5ed26688389b"));
-    Map<LanguagePreference, Map<String, Map<String, String>>> template =  new HashMap<>();
-
     @Before
     public void setup() throws Exception {
-        Map<String, String> nameMap;
-        Map<String, Map<String, String>> englishDocs = new HashMap<>();
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00010.doc");
-        englishDocs.put(DocumentType.DL6.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00011.doc");
-        englishDocs.put(DocumentType.DL16.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00068.doc");
-        englishDocs.put("d609-97", nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00069.doc");
-        englishDocs.put("d609-98", nameMap);
-
-        Map<String, Map<String, String>> welshDocs = new HashMap<>();
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00010.doc");
-        welshDocs.put(DocumentType.DL6.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00011.doc");
-        welshDocs.put(DocumentType.DL16.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-WEL-00469.docx");
-        welshDocs.put("d609-97", nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-WEL-00470.docx");
-        welshDocs.put("d609-98", nameMap);
-
-        template.put(LanguagePreference.ENGLISH, englishDocs);
-        template.put(LanguagePreference.WELSH, welshDocs);
-
         MimeMessage message = new MimeMessage(session);
         assertNotNull("ReissueFurtherEvidenceHandler must be autowired", handler);
 
@@ -153,9 +113,8 @@ public class ReissueFurtherEvidenceServiceIt {
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
 
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
 
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -166,7 +125,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(1, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -181,8 +140,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -193,7 +151,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -213,8 +171,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -225,7 +182,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -245,8 +202,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -257,7 +213,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(4)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(4)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(4, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -287,8 +243,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -299,7 +254,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(1, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
@@ -314,8 +269,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         doReturn(new ResponseEntity<>(fileContent, HttpStatus.OK))
             .when(restTemplate).postForEntity(anyString(), pdfDocumentRequest.capture(), eq(byte[].class));
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
-        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
+        when(bulkPrintService.sendToBulkPrint(documentCaptor.capture(), any(), any(), any(), any(), any())).thenReturn(expectedOptionalUuid);
 
         IdamTokens idamTokens = IdamTokens.builder().build();
         when(idamService.getIdamTokens()).thenReturn(idamTokens);
@@ -326,7 +280,7 @@ public class ReissueFurtherEvidenceServiceIt {
 
         topicConsumer.onMessage(json, "1");
 
-        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any());
+        verify(bulkPrintService, times(2)).sendToBulkPrint(any(), any(), any(), any(), any(), any());
 
         assertEquals(2, documentCaptor.getAllValues().size());
         assertEquals(2, documentCaptor.getAllValues().get(0).size());
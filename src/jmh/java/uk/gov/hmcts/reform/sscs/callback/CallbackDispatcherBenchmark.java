@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.hmcts.reform.sscs.BenchmarkFixtures;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.config.SpringConfig;
+
+/**
+ * Measures the cost of routing a callback through {@link CallbackDispatcher}: grouping the handlers by priority and
+ * asking each whether it can handle the event, and recording the handler metrics. The handlers do no work, so only
+ * the dispatch itself is timed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallbackDispatcherBenchmark {
+
+    @Param({"16", "64"})
+    public int handlers;
+
+    private CallbackDispatcher<SscsCaseData> dispatcher;
+    private Callback<SscsCaseData> callback;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        callback = new SpringConfig().sscsDeserializer()
+            .deserialize(BenchmarkFixtures.resource("issueFurtherEvidenceCallback.json"));
+
+        EventType[] events = EventType.values();
+        DispatchPriority[] priorities = DispatchPriority.values();
+        List<CallbackHandler<SscsCaseData>> callbackHandlers = new ArrayList<>();
+        for (int i = 0; i < handlers; i++) {
+            // one in eight handlers takes the callback's own event, as a handful of real handlers share events
+            EventType event = i % 8 == 0 ? callback.getEvent() : events[i % events.length];
+            callbackHandlers.add(new NoOpHandler(event, priorities[i % priorities.length], blackhole));
+        }
+        dispatcher = new CallbackDispatcher<>(callbackHandlers,
+            new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10)));
+    }
+
+    @Benchmark
+    public void handle() {
+        dispatcher.handle(CallbackType.SUBMITTED, callback);
+    }
+
+    private static final class NoOpHandler implements CallbackHandler<SscsCaseData> {
+        private final EventType event;
+        private final DispatchPriority priority;
+        private final Blackhole blackhole;
+
+        private NoOpHandler(EventType event, DispatchPriority priority, Blackhole blackhole) {
+            this.event = event;
+            this.priority = priority;
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return callbackType == CallbackType.SUBMITTED && callback.getEvent() == event
+                && !callback.getCaseDetails().getCaseData().isTranslationWorkOutstanding();
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            blackhole.consume(callback);
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.util.Base64.getEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.sscs.BenchmarkFixtures;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
+import uk.gov.hmcts.reform.sscs.helper.PdfHelper;
+
+/**
+ * Measures the PDF work done before a letter goes to send-letter: scaling evidence to A4, merging a cover sheet onto
+ * a letter and base64 encoding the result for the send-letter request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfBenchmark {
+
+    @Param({"1", "20", "100"})
+    public int pages;
+
+    private SscsDocumentService sscsDocumentService;
+    private BulkPrintService bulkPrintService;
+    private Pdf a4Pdf;
+    private Pdf a3Pdf;
+    private byte[] coverSheet;
+
+    @Setup
+    public void setUp() {
+        sscsDocumentService = new SscsDocumentService(null, new PdfHelper());
+        // buildBundledLetter uses none of the service's collaborators
+        bulkPrintService = new BulkPrintService(null, null, null, false, 0, null, null, null, null);
+        a4Pdf = new Pdf(BenchmarkFixtures.pdf(pages, PDRectangle.A4), "evidence-a4.pdf");
+        a3Pdf = new Pdf(BenchmarkFixtures.pdf(pages, PDRectangle.A3), "evidence-a3.pdf");
+        coverSheet = BenchmarkFixtures.bytes("myPdf.pdf");
+    }
+
+    @Benchmark
+    public Optional<Pdf> resizedPdfAlreadyA4() {
+        return sscsDocumentService.resizedPdf(a4Pdf);
+    }
+
+    @Benchmark
+    public Optional<Pdf> resizedPdfFromA3() {
+        return sscsDocumentService.resizedPdf(a3Pdf);
+    }
+
+    @Benchmark
+    public byte[] buildBundledLetter() {
+        return bulkPrintService.buildBundledLetter(coverSheet, a4Pdf.getContent());
+    }
+
+    @Benchmark
+    public String base64ForSendLetter() {
+        return getEncoder().encodeToString(a4Pdf.getContent());
+    }
+}
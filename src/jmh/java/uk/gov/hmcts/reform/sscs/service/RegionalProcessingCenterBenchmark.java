@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.RegionalProcessingCenter;
+
+/**
+ * Compares resolving the RPC for a spread of appellant postcodes through {@link RegionalProcessingCenterService}
+ * with resolving them through {@link RegionalProcessingCenterCache} once it has seen each outward code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegionalProcessingCenterBenchmark {
+
+    private static final String[] POSTCODES = {
+        "B1 1AA", "SW1A 1AA", "M1 1AE", "LS1 4AP", "G2 3AA", "CF10 1EP", "NE1 7RU", "BS1 4ST", "L1 8JQ", "EH1 1YZ",
+        "b33 8th", "CR2 6XH", "DN55 1PT", "W1A 0AX", "EC1A1BB", "TN1 1AA", "SA1 1DP", "PL1 1AA", "NR1 1AA", "YO1 7HH"
+    };
+
+    private AnnotationConfigApplicationContext context;
+    private RegionalProcessingCenterService service;
+    private RegionalProcessingCenterCache cache;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(RpcConfig.class);
+        service = context.getBean(RegionalProcessingCenterService.class);
+        cache = new RegionalProcessingCenterCache(service, new SimpleMeterRegistry());
+        for (String postcode : POSTCODES) {
+            cache.getByPostcode(postcode);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RegionalProcessingCenter service() {
+        return service.getByPostcode(nextPostcode());
+    }
+
+    @Benchmark
+    public RegionalProcessingCenter cache() {
+        return cache.getByPostcode(nextPostcode());
+    }
+
+    private String nextPostcode() {
+        next = (next + 1) % POSTCODES.length;
+        return POSTCODES[next];
+    }
+
+    @Configuration
+    @ComponentScan(basePackages = "uk.gov.hmcts.reform.sscs.service", useDefaultFilters = false,
+        includeFilters = @ComponentScan.Filter(type = FilterType.REGEX,
+            pattern = "uk\\.gov\\.hmcts\\.reform\\.sscs\\.service\\.(RegionalProcessingCenterService|AirLookupService)"))
+    static class RpcConfig {
+    }
+}
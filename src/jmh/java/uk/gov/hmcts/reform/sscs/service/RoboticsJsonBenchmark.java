@@ -0,0 +1,141 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static uk.gov.hmcts.reform.sscs.ccd.domain.State.APPEAL_CREATED;
+import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.buildCaseData;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Address;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Appointee;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Contact;
+import uk.gov.hmcts.reform.sscs.ccd.domain.HearingOptions;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Identity;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Name;
+import uk.gov.hmcts.reform.sscs.ccd.domain.Representative;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.robotics.RoboticsJsonMapper;
+import uk.gov.hmcts.reform.sscs.robotics.RoboticsJsonValidator;
+import uk.gov.hmcts.reform.sscs.robotics.RoboticsWrapper;
+
+/**
+ * Measures mapping a case to robotics JSON, validating it against the schema and serialising it for the email
+ * attachment, for a typical appeal and for one with every optional party and hearing requirement filled in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoboticsJsonBenchmark {
+
+    @Param({"typical", "worstCase"})
+    public String appeal;
+
+    private AnnotationConfigApplicationContext context;
+    private RoboticsJsonMapper mapper;
+    private RoboticsJsonValidator validator;
+    private RoboticsWrapper wrapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+            Map.of("robotics.schema.resource.location", "/schema/sscs-robotics.json")));
+        context.register(RoboticsConfig.class);
+        context.refresh();
+        mapper = context.getBean(RoboticsJsonMapper.class);
+        validator = context.getBean(RoboticsJsonValidator.class);
+
+        SscsCaseData caseData = "worstCase".equals(appeal) ? worstCase() : buildCaseData("Bloggs");
+        caseData.setCcdCaseId("1234567890123456");
+        wrapper = RoboticsWrapper.builder()
+            .sscsCaseData(caseData)
+            .ccdCaseId(1234567890123456L)
+            .evidencePresent("Yes")
+            .state(APPEAL_CREATED)
+            .build();
+
+        // the schema is loaded on first use, as it is at application start up
+        validator.validate(new JSONObject(), "benchmark-warm-up");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public JSONObject map() {
+        return mapper.map(wrapper);
+    }
+
+    @Benchmark
+    public void mapValidateAndSerialise(Blackhole blackhole) {
+        JSONObject json = mapper.map(wrapper);
+        Set<String> errors = validator.validate(json, "1234567890123456");
+        blackhole.consume(errors);
+        blackhole.consume(RoboticsService.toUtf8(json));
+    }
+
+    private static SscsCaseData worstCase() {
+        SscsCaseData caseData = buildCaseData("Bloggs-Featherstonehaugh");
+        Address address = Address.builder()
+            .line1("Flat 12, The Old Chapel House").line2("145 Long Meadow Industrial Estate Road")
+            .town("Newcastle-under-Lyme").county("Staffordshire").postcode("ST5 1AA").build();
+        Contact contact = Contact.builder().email("appointee@example.com").mobile("07900000000").phone("01782000000")
+            .build();
+
+        caseData.getAppeal().getAppellant().setIsAppointee("Yes");
+        caseData.getAppeal().getAppellant().setAppointee(Appointee.builder()
+            .name(Name.builder().title("Mrs").firstName("Siân").lastName("Ó Briain-Featherstonehaugh").build())
+            .address(address)
+            .contact(contact)
+            .identity(Identity.builder().nino("JT0123456B").dob("1960-01-01").build())
+            .build());
+        caseData.getAppeal().setRep(Representative.builder()
+            .hasRepresentative("Yes")
+            .name(Name.builder().title("Mr").firstName("Alexander").lastName("Worthington-Smythe").build())
+            .organisation("Citizens Advice Bureau, Newcastle-under-Lyme and District")
+            .address(address)
+            .contact(contact)
+            .build());
+        caseData.getAppeal().setHearingOptions(HearingOptions.builder()
+            .wantsToAttend("Yes")
+            .languageInterpreter("Yes")
+            .languages("Welsh")
+            .signLanguageType("British Sign Language")
+            .arrangements(Arrays.asList("signLanguageInterpreter", "hearingLoop", "disabledAccess"))
+            .other("Needs step free access, frequent breaks and a quiet waiting room. ".repeat(20))
+            .build());
+        return caseData;
+    }
+
+    @Configuration
+    @ComponentScan("uk.gov.hmcts.reform.sscs.robotics")
+    @Import(DwpAddressLookupService.class)
+    static class RoboticsConfig {
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.sscs.service.placeholders;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.sscs.BenchmarkFixtures;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.config.ExelaAddressConfig;
+import uk.gov.hmcts.reform.sscs.config.SpringConfig;
+import uk.gov.hmcts.reform.sscs.docmosis.config.PdfDocumentConfig;
+import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
+
+/**
+ * Measures building the letter placeholders for a recorded case: the shared {@link PlaceholderService#build} and
+ * the per party placeholders of the further evidence, generic letter and statement of reasons services.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaceholderBenchmark {
+
+    @Param({"issueFurtherEvidenceCallbackWithRep.json", "issueFurtherEvidenceCallbackWithMultipleOtherPartyRepEvidence.json"})
+    public String fixture;
+
+    private SscsCaseData caseData;
+    private PlaceholderService placeholderService;
+    private FurtherEvidencePlaceholderService furtherEvidencePlaceholderService;
+    private GenericLetterPlaceholderService genericLetterPlaceholderService;
+    private SorPlaceholderService sorPlaceholderService;
+
+    @Setup
+    public void setUp() {
+        caseData = new SpringConfig().sscsDeserializer()
+            .deserialize(BenchmarkFixtures.resource(fixture)).getCaseDetails().getCaseData();
+        if (caseData.getGenericLetterText() == null) {
+            caseData.setGenericLetterText("Please send us the further information requested by the tribunal judge.");
+        }
+
+        PdfDocumentConfig pdfDocumentConfig = mock(PdfDocumentConfig.class, withSettings().stubOnly());
+        when(pdfDocumentConfig.getHmctsImgKey()).thenReturn("hmcts");
+        when(pdfDocumentConfig.getHmctsImgVal()).thenReturn("[userImage:hmcts.png]");
+        when(pdfDocumentConfig.getHmctsWelshImgKey()).thenReturn("welshhmcts");
+        when(pdfDocumentConfig.getHmctsWelshImgVal()).thenReturn("[userImage:welshhmcts.png]");
+
+        ExelaAddressConfig exelaAddressConfig = new ExelaAddressConfig();
+        exelaAddressConfig.setAddressLine1("HMCTS SSCS");
+        exelaAddressConfig.setAddressLine2("PO BOX 12626");
+        exelaAddressConfig.setAddressLine3("Harlow");
+        exelaAddressConfig.setAddressPostcode("CM20 9QF");
+        exelaAddressConfig.setScottishAddressLine2("PO BOX 13150");
+        exelaAddressConfig.setScottishPostcode("CM20 9TT");
+
+        placeholderService = new PlaceholderService(pdfDocumentConfig, exelaAddressConfig, true);
+        furtherEvidencePlaceholderService = new FurtherEvidencePlaceholderService(placeholderService);
+        genericLetterPlaceholderService = new GenericLetterPlaceholderService(placeholderService);
+        sorPlaceholderService = new SorPlaceholderService(placeholderService);
+    }
+
+    @Benchmark
+    public Map<String, Object> placeholderServiceBuild() {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholderService.build(caseData, placeholders, caseData.getAppeal().getAppellant().getAddress(), "2019-07-17");
+        return placeholders;
+    }
+
+    @Benchmark
+    public Map<String, Object> furtherEvidenceAppellantLetter() {
+        return furtherEvidencePlaceholderService.populatePlaceholders(caseData,
+            FurtherEvidenceLetterType.APPELLANT_LETTER, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> genericLetterAppellantLetter() {
+        return genericLetterPlaceholderService.populatePlaceholders(caseData,
+            FurtherEvidenceLetterType.APPELLANT_LETTER, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> statementOfReasonsAppellantLetter() {
+        return sorPlaceholderService.populatePlaceholders(caseData, FurtherEvidenceLetterType.APPELLANT_LETTER,
+            "Appellant", null);
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.sscs.servicebus;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.sscs.BenchmarkFixtures;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.deserialisation.SscsCaseCallbackDeserializer;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.config.SpringConfig;
+
+/**
+ * Measures deserialising the recorded callbacks that {@link TopicConsumer} receives, using the deserializer
+ * configured in {@link SpringConfig}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallbackDeserializerBenchmark {
+
+    @Param({
+        "validAppealCreatedCallback.json",
+        "issueFurtherEvidenceCallback.json",
+        "issueFurtherEvidenceCallbackWithJointPartyAndEvidenceFromDwp.json",
+        "issueFurtherEvidenceCallbackWithMultipleOtherPartyRepEvidence.json"
+    })
+    public String fixture;
+
+    private SscsCaseCallbackDeserializer deserializer;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        deserializer = new SpringConfig().sscsDeserializer();
+        message = BenchmarkFixtures.resource(fixture);
+    }
+
+    @Benchmark
+    public Callback<SscsCaseData> deserialize() {
+        return deserializer.deserialize(message);
+    }
+}
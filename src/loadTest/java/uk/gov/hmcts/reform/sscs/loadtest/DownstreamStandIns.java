@@ -0,0 +1,279 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Local stand-ins for everything the service talks to. One WireMock server plays IDAM, S2S, CCD, dm-store,
+ * Docmosis, the PDF service and send-letter, and GreenMail accepts the robotics and translation emails. Every
+ * request is counted by downstream; the request journal is off so a long run does not fill the heap.
+ */
+@Slf4j
+public class DownstreamStandIns {
+
+    private static final String DOCUMENT_ID = "5e4f9c1a-6f1d-4e3b-9a57-4c9d6c0d7b21";
+    private static final String LETTER_ID = "8c7d2b4e-3a1f-4f6e-bd2a-1e9c5a7f0d34";
+
+    private final StandInProfile profile;
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final LongAdder emails = new LongAdder();
+    private final ScheduledExecutorService mailboxCleaner = Executors.newSingleThreadScheduledExecutor();
+    private WireMockServer server;
+    private GreenMail greenMail;
+    private Path workDir;
+
+    public DownstreamStandIns(StandInProfile profile) {
+        this.profile = profile;
+    }
+
+    public void start(String caseDetailsJson) {
+        server = new WireMockServer(options()
+            .dynamicPort()
+            .containerThreads(100)
+            .disableRequestJournal()
+            .extensions(new ErrorRateTransformer(profile.getErrorRate())));
+        server.addMockServiceRequestListener((request, response) ->
+            calls.computeIfAbsent(downstream(request.getUrl()), name -> new LongAdder()).increment());
+        server.start();
+        stub(caseDetailsJson.replace(Fixtures.DOCUMENT_HOST_PLACEHOLDER, baseUrl()), pdf(profile.getPdfPages()));
+
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        // the received emails are counted and dropped so that GreenMail does not hold every attachment in memory
+        mailboxCleaner.scheduleWithFixedDelay(this::clearMailboxes, 1, 1, TimeUnit.SECONDS);
+
+        try {
+            workDir = Files.createTempDirectory("sscs-evidence-share-loadtest");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Stand-ins started on {} and SMTP port {} with profile {}", baseUrl(),
+            greenMail.getSmtp().getPort(), profile);
+    }
+
+    public String baseUrl() {
+        return server.baseUrl();
+    }
+
+    /**
+     * Properties that point the application at the stand-ins.
+     */
+    public Map<String, Object> applicationProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        // the callbacks are fed straight to the topic consumer, so there is no service bus to listen to
+        properties.put("feature.bypass-evidence-share-service.enabled", true);
+        properties.put("spring.autoconfigure.exclude", "org.springframework.boot.autoconfigure.jms.JmsAutoConfiguration");
+        properties.put("idam.url", baseUrl());
+        properties.put("idam.api.url", baseUrl());
+        properties.put("idam.s2s-auth.url", baseUrl());
+        properties.put("idam.oauth2.jwkUrl", baseUrl() + "/o/jwks");
+        properties.put("core_case_data.api.url", baseUrl());
+        properties.put("document_management.url", baseUrl());
+        properties.put("case_document_am.url", baseUrl());
+        properties.put("send-letter.url", baseUrl());
+        properties.put("pdf.api.url", baseUrl());
+        properties.put("service.pdf-service.uri", baseUrl() + "/rs/render");
+        properties.put("service.pdf-service.health.uri", baseUrl() + "/rs/status");
+        properties.put("appeal.email.host", "localhost");
+        properties.put("appeal.email.port", greenMail.getSmtp().getPort());
+        properties.put("appeal.email.smtp.tls.enabled", false);
+        properties.put("send-grid.host", "localhost");
+        properties.put("send-grid.port", greenMail.getSmtp().getPort());
+        properties.put("appeal.email.outbox.dir", workDir.resolve("email-outbox").toString());
+        properties.put("send-letter.outbox.dir", workDir.resolve("bulk-print-outbox").toString());
+        properties.put("ld.snapshot-file", workDir.resolve("flags.json").toString());
+        return properties;
+    }
+
+    /**
+     * Returns the number of requests each downstream has had, including the emails sent over SMTP.
+     */
+    public Map<String, Long> callCounts() {
+        clearMailboxes();
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((downstream, count) -> counts.put(downstream, count.sum()));
+        counts.put("smtp", emails.sum());
+        return counts;
+    }
+
+    public void resetCounts() {
+        clearMailboxes();
+        calls.clear();
+        emails.reset();
+    }
+
+    public void stop() {
+        mailboxCleaner.shutdownNow();
+        if (greenMail != null) {
+            greenMail.stop();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private synchronized void clearMailboxes() {
+        try {
+            emails.add(greenMail.getReceivedMessages().length);
+            greenMail.purgeEmailFromAllMailboxes();
+        } catch (Exception e) {
+            log.warn("Unable to clear the stand-in mailboxes", e);
+        }
+    }
+
+    private void stub(String caseDetails, byte[] pdf) {
+        String json = "application/json";
+
+        // S2S and IDAM are never failed, a broken token would only stop every callback in the same place
+        server.stubFor(post(urlPathEqualTo("/lease")).willReturn(respond(false).withBody(serviceToken())));
+        server.stubFor(post(urlPathMatching("/(o|oauth2)/token")).willReturn(respond(false)
+            .withHeader("Content-Type", json)
+            .withBody("{\"access_token\":\"load-test-user-token\",\"token_type\":\"Bearer\",\"expires_in\":28800,"
+                + "\"scope\":\"openid profile roles\"}")));
+        server.stubFor(post(urlPathEqualTo("/oauth2/authorize")).willReturn(respond(false)
+            .withHeader("Content-Type", json).withBody("{\"code\":\"load-test-code\"}")));
+        server.stubFor(get(urlPathEqualTo("/o/userinfo")).willReturn(respond(false)
+            .withHeader("Content-Type", json)
+            .withBody("{\"sub\":\"system.update@hmcts.net\",\"uid\":\"load-test-user\",\"name\":\"System Update\","
+                + "\"given_name\":\"System\",\"family_name\":\"Update\",\"roles\":[\"caseworker\",\"caseworker-sscs\"]}")));
+        server.stubFor(get(urlPathEqualTo("/details")).willReturn(respond(false)
+            .withHeader("Content-Type", json)
+            .withBody("{\"id\":\"load-test-user\",\"email\":\"system.update@hmcts.net\",\"forename\":\"System\","
+                + "\"surname\":\"Update\",\"roles\":[\"caseworker\",\"caseworker-sscs\"]}")));
+
+        server.stubFor(get(urlPathMatching(".*/cases/[0-9]+")).willReturn(respond(true)
+            .withHeader("Content-Type", json).withBody(caseDetails)));
+        server.stubFor(get(urlPathMatching(".*/event-triggers/[^/]+(/token)?")).willReturn(respond(true)
+            .withHeader("Content-Type", json)
+            .withBody("{\"token\":\"load-test-event-token\",\"event_id\":\"caseUpdated\",\"case_details\":"
+                + caseDetails + "}")));
+        server.stubFor(post(urlPathMatching(".*/cases(/[0-9]+/events)?")).willReturn(respond(true)
+            .withHeader("Content-Type", json).withBody(caseDetails)));
+        server.stubFor(post(urlPathMatching(".*/searchCases")).willReturn(respond(true)
+            .withHeader("Content-Type", json).withBody("{\"total\":0,\"cases\":[]}")));
+
+        String documentUrl = baseUrl() + "/documents/" + DOCUMENT_ID;
+        server.stubFor(post(urlPathEqualTo("/documents")).willReturn(respond(true)
+            .withHeader("Content-Type", json)
+            .withBody("{\"_embedded\":{\"documents\":[{\"originalDocumentName\":\"load-test.pdf\",\"mimeType\":"
+                + "\"application/pdf\",\"size\":" + pdf.length + ",\"_links\":{\"self\":{\"href\":\"" + documentUrl
+                + "\"},\"binary\":{\"href\":\"" + documentUrl + "/binary\"}}}]}}")));
+        server.stubFor(get(urlPathMatching("/documents/[^/]+/binary")).willReturn(respond(true)
+            .withHeader("Content-Type", "application/pdf").withBody(pdf)));
+        server.stubFor(get(urlPathMatching("/documents/[^/]+")).willReturn(respond(true)
+            .withHeader("Content-Type", json)
+            .withBody("{\"originalDocumentName\":\"load-test.pdf\",\"mimeType\":\"application/pdf\",\"size\":"
+                + pdf.length + ",\"_links\":{\"self\":{\"href\":\"" + documentUrl + "\"},\"binary\":{\"href\":\""
+                + documentUrl + "/binary\"}}}")));
+
+        server.stubFor(post(urlPathEqualTo("/rs/render")).willReturn(respond(true)
+            .withHeader("Content-Type", "application/pdf").withBody(pdf)));
+        server.stubFor(get(urlPathEqualTo("/rs/status")).willReturn(respond(false)
+            .withHeader("Content-Type", json).withBody("{\"ready\":true}")));
+        server.stubFor(post(urlPathMatching("/pdfs.*")).willReturn(respond(true)
+            .withHeader("Content-Type", "application/pdf").withBody(pdf)));
+
+        server.stubFor(post(urlPathMatching("/letters.*")).willReturn(respond(true)
+            .withHeader("Content-Type", json).withBody("{\"letter_id\":\"" + LETTER_ID + "\"}")));
+
+        server.stubFor(any(anyUrl()).atPriority(10).willReturn(aResponse().withStatus(404)));
+    }
+
+    private ResponseDefinitionBuilder respond(boolean canFail) {
+        ResponseDefinitionBuilder response = aResponse().withStatus(200);
+        if (profile.getMedianLatencyMillis() > 0) {
+            response.withLogNormalRandomDelay(profile.getMedianLatencyMillis(), profile.getLatencySigma());
+        }
+        if (canFail) {
+            response.withTransformers(ErrorRateTransformer.NAME);
+        }
+        return response;
+    }
+
+    static String downstream(String url) {
+        if (url.startsWith("/lease")) {
+            return "s2s";
+        }
+        if (url.startsWith("/o/") || url.startsWith("/oauth2/") || url.startsWith("/details")) {
+            return "idam";
+        }
+        if (url.startsWith("/caseworkers/") || url.startsWith("/cases") || url.startsWith("/searchCases")) {
+            return "ccd";
+        }
+        if (url.startsWith("/documents")) {
+            return "dm-store";
+        }
+        if (url.startsWith("/rs/")) {
+            return "docmosis";
+        }
+        if (url.startsWith("/pdfs")) {
+            return "pdf-service";
+        }
+        if (url.startsWith("/letters")) {
+            return "send-letter";
+        }
+        return "other";
+    }
+
+    private static String serviceToken() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        long exp = Instant.now().plusSeconds(4 * 60 * 60).getEpochSecond();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(UTF_8)) + "."
+            + encoder.encodeToString(("{\"sub\":\"sscs\",\"exp\":" + exp + "}").getBytes(UTF_8)) + "."
+            + encoder.encodeToString("load-test".getBytes(UTF_8));
+    }
+
+    private static byte[] pdf(int pages) {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.newLineAtOffset(50, 780);
+                    content.showText("Load test document page " + (i + 1));
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Answers a configurable fraction of the requests to the stubs it is attached to with a 503, keeping their delay so
+ * that failures cost as much time as successes.
+ */
+public class ErrorRateTransformer extends ResponseDefinitionTransformer {
+
+    public static final String NAME = "error-rate";
+
+    private final double errorRate;
+
+    public ErrorRateTransformer(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files,
+                                        Parameters parameters) {
+        if (errorRate <= 0 || ThreadLocalRandom.current().nextDouble() >= errorRate) {
+            return responseDefinition;
+        }
+        return ResponseDefinitionBuilder.like(responseDefinition)
+            .but()
+            .withStatus(503)
+            .withBody("Service unavailable (load test stand-in)")
+            .build();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The callbacks fed to the service, read from the integration test fixtures. Each is held as a template in which
+ * the document hosts point at the stand-ins and the case id is a marker, so that every message gets its own case id
+ * with a single string replace rather than a JSON round trip on the driver threads.
+ */
+public class Fixtures {
+
+    static final String DOCUMENT_HOST_PLACEHOLDER = "{{document-host}}";
+
+    private static final String CASE_ID_MARKER = String.valueOf(Long.MIN_VALUE);
+    private static final Pattern DOCUMENT_HOST =
+        Pattern.compile("(\"document_(?:binary_)?url\"\\s*:\\s*\")https?://[^/\"]+");
+
+    private final List<String> templates;
+    private final String caseDetails;
+
+    private Fixtures(List<String> templates, String caseDetails) {
+        this.templates = templates;
+        this.caseDetails = caseDetails;
+    }
+
+    public static Fixtures load(List<String> names) {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> templates = new ArrayList<>();
+        String caseDetails = null;
+        for (String name : names) {
+            JsonNode callback = read(mapper, name.trim());
+            ((ObjectNode) callback.get("case_details")).put("id", Long.MIN_VALUE);
+            if (callback.hasNonNull("case_details_before")) {
+                ((ObjectNode) callback.get("case_details_before")).put("id", Long.MIN_VALUE);
+            }
+            templates.add(withPlaceholderHosts(callback.toString()));
+            if (caseDetails == null) {
+                caseDetails = withPlaceholderHosts(callback.get("case_details").toString());
+            }
+        }
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("At least one fixture is needed");
+        }
+        return new Fixtures(templates, caseDetails);
+    }
+
+    /**
+     * Returns the fixtures with their documents served by the stand-ins at {@code baseUrl}.
+     */
+    public Fixtures servedFrom(String baseUrl) {
+        List<String> served = new ArrayList<>();
+        templates.forEach(template -> served.add(template.replace(DOCUMENT_HOST_PLACEHOLDER, baseUrl)));
+        return new Fixtures(Collections.unmodifiableList(served), caseDetails);
+    }
+
+    /**
+     * The case details CCD hands back, with the document hosts still to be filled in by the stand-ins.
+     */
+    public String caseDetails() {
+        return caseDetails.replace(CASE_ID_MARKER, "1000000000000000");
+    }
+
+    /**
+     * Returns the {@code sequence}th message, cycling through the fixtures, for a case id of its own.
+     */
+    public String message(long sequence) {
+        String template = templates.get((int) (sequence % templates.size()));
+        return template.replace(CASE_ID_MARKER, String.valueOf(1_000_000_000_000_000L + sequence));
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private static String withPlaceholderHosts(String json) {
+        return DOCUMENT_HOST.matcher(json).replaceAll("$1" + DOCUMENT_HOST_PLACEHOLDER);
+    }
+
+    private static JsonNode read(ObjectMapper mapper, String name) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Fixture " + name + " is not on the classpath");
+            }
+            return mapper.readTree(new String(in.readAllBytes(), UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
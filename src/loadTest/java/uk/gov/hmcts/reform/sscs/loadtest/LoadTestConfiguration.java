@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import com.launchdarkly.sdk.server.LDClient;
+import com.launchdarkly.sdk.server.LDConfig;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
+
+/**
+ * Swaps in the pieces that cannot be stood in for over HTTP, and times every callback handler.
+ */
+@Configuration
+public class LoadTestConfiguration {
+
+    /**
+     * LaunchDarkly in offline mode, so every flag is served its default. Overrides the application's client, which
+     * shares the bean name.
+     */
+    @Bean
+    public LDClient ldClient() {
+        return new LDClient("load-test", new LDConfig.Builder().offline(true).build());
+    }
+
+    /**
+     * Wraps each callback handler so the time it spends in {@code handle} is recorded against its class name. The
+     * dispatcher only sees handlers through {@link CallbackHandler}, so a JDK proxy is enough.
+     */
+    @Bean
+    public static BeanPostProcessor callbackHandlerTimer(ObjectProvider<LoadTestMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof CallbackHandler)) {
+                    return bean;
+                }
+                String handler = bean.getClass().getSimpleName();
+                return Proxy.newProxyInstance(bean.getClass().getClassLoader(), new Class<?>[] {CallbackHandler.class},
+                    (proxy, method, args) -> {
+                        if (!"handle".equals(method.getName())) {
+                            return invoke(bean, method, args);
+                        }
+                        long start = System.nanoTime();
+                        boolean failed = true;
+                        try {
+                            Object result = invoke(bean, method, args);
+                            failed = false;
+                            return result;
+                        } finally {
+                            metrics.getObject().recordHandler(handler, System.nanoTime() - start, failed);
+                        }
+                    });
+            }
+        };
+    }
+
+    private static Object invoke(Object bean, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies recorded during a load test, kept in a registry of their own so they are not mixed up with the
+ * application's metrics. Callback latency is measured from when the callback was due to be sent, so time spent
+ * queueing behind a saturated consumer counts against it.
+ */
+public class LoadTestMetrics {
+
+    public static final String BEAN_NAME = "loadTestMetrics";
+
+    private static final String CALLBACK = "loadtest.callback";
+    private static final String HANDLER = "loadtest.handler";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    public void recordCallback(long nanos) {
+        timer(CALLBACK, "all").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHandler(String handler, long nanos, boolean failed) {
+        timer(HANDLER, handler).record(nanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            Counter.builder(HANDLER + ".failures").tag("name", handler).register(registry).increment();
+        }
+    }
+
+    public Map<String, Object> callbacks() {
+        return summary(timer(CALLBACK, "all"));
+    }
+
+    public Map<String, Map<String, Object>> handlers() {
+        Map<String, Map<String, Object>> handlers = new TreeMap<>();
+        registry.find(HANDLER).timers().forEach(timer -> {
+            String name = timer.getId().getTag("name");
+            Map<String, Object> summary = summary(timer);
+            summary.put("failures", (long) registry.counter(HANDLER + ".failures", "name", name).count());
+            handlers.put(name, summary);
+        });
+        return handlers;
+    }
+
+    private Timer timer(String name, String tag) {
+        return Timer.builder(name)
+            .tag("name", tag)
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+
+    private static Map<String, Object> summary(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            summary.put("p" + Math.round(percentile.percentile() * 100) + "Millis",
+                percentile.value(TimeUnit.MILLISECONDS));
+        }
+        summary.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+        return summary;
+    }
+}
@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.sscs.SscsEvidenceShareApplication;
+import uk.gov.hmcts.reform.sscs.servicebus.TopicConsumer;
+
+/**
+ * Runs the service against local stand-ins and feeds it recorded callbacks through
+ * {@link TopicConsumer#onMessage} at a fixed rate, then reports throughput, latency per handler, the heap high-water
+ * mark and how often each downstream was called. Run with {@code ./gradlew loadTest}.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private final LoadTestSettings settings;
+    private final Fixtures fixtures;
+    private final TopicConsumer topicConsumer;
+    private final DownstreamStandIns standIns;
+    private final LoadTestMetrics metrics;
+
+    LoadTestRunner(LoadTestSettings settings, Fixtures fixtures, TopicConsumer topicConsumer,
+                   DownstreamStandIns standIns, LoadTestMetrics metrics) {
+        this.settings = settings;
+        this.fixtures = fixtures;
+        this.topicConsumer = topicConsumer;
+        this.standIns = standIns;
+        this.metrics = metrics;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Fixtures fixtures = Fixtures.load(settings.getFixtures());
+        DownstreamStandIns standIns = new DownstreamStandIns(settings.getProfile());
+        standIns.start(fixtures.caseDetails());
+
+        LoadTestMetrics metrics = new LoadTestMetrics();
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(SscsEvidenceShareApplication.class, LoadTestConfiguration.class)
+                .properties(standIns.applicationProperties())
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton(LoadTestMetrics.BEAN_NAME, metrics))
+                .run(args);
+
+            Map<String, Object> report = new LoadTestRunner(settings, fixtures.servedFrom(standIns.baseUrl()),
+                context.getBean(TopicConsumer.class), standIns, metrics).run();
+            write(settings, report);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            standIns.stop();
+        }
+        System.exit(0);
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        long total = Math.max(1, Math.round(settings.getRate() * settings.getDuration().toSeconds()));
+        long periodNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / settings.getRate());
+        log.info("Sending {} callbacks at {}/s from {} fixtures with {} consumers", total, settings.getRate(),
+            fixtures.size(), settings.getConcurrency());
+
+        ExecutorService consumers = Executors.newFixedThreadPool(settings.getConcurrency(),
+            new ThreadFactoryBuilder().setNameFormat("loadtest-consumer-%d").build());
+        ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("loadtest-sender").build());
+
+        standIns.resetCounts();
+        resetHeapPeak();
+        AtomicLong sent = new AtomicLong();
+        long start = System.nanoTime();
+        sender.scheduleAtFixedRate(() -> {
+            long sequence = sent.getAndIncrement();
+            if (sequence >= total) {
+                sender.shutdown();
+                return;
+            }
+            long due = start + sequence * periodNanos;
+            String message = fixtures.message(sequence);
+            consumers.execute(() -> {
+                topicConsumer.onMessage(message, "loadtest-" + sequence);
+                metrics.recordCallback(System.nanoTime() - due);
+            });
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        sender.awaitTermination(settings.getDuration().toMillis() * 2 + 1000, TimeUnit.MILLISECONDS);
+        consumers.shutdown();
+        boolean drained = consumers.awaitTermination(settings.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        if (!drained) {
+            log.warn("Callbacks still in progress after {}, reporting what has finished", settings.getDrainTimeout());
+            consumers.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> callbacks = metrics.callbacks();
+        long completed = (Long) callbacks.get("count");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", settings.getProfile());
+        report.put("targetRate", settings.getRate());
+        report.put("sent", Math.min(sent.get(), total));
+        report.put("completed", completed);
+        report.put("drained", drained);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("throughputPerSecond", completed / elapsedSeconds);
+        report.put("callbacks", callbacks);
+        report.put("handlers", metrics.handlers());
+        report.put("heapHighWaterMarkBytes", heapPeak());
+        report.put("downstreamCalls", standIns.callCounts());
+        return report;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    }
+
+    private static void resetHeapPeak() {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /**
+     * The sum of the heap pools' peaks. The pools peak at different times, so this is an upper bound on the heap in
+     * use at any one moment.
+     */
+    private static long heapPeak() {
+        return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private static void write(LoadTestSettings settings, Map<String, Object> report) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(settings.getReport().toAbsolutePath().getParent());
+        mapper.writeValue(settings.getReport().toFile(), report);
+        log.info("Load test report written to {}\n{}", settings.getReport(), mapper.writeValueAsString(report));
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties. The Gradle {@code loadTest} task passes any
+ * {@code -Ploadtest.*} project property through, for example {@code -Ploadtest.rate=20 -Ploadtest.profile=degraded}.
+ */
+@Value
+@Builder
+public class LoadTestSettings {
+
+    private static final String DEFAULT_FIXTURES = String.join(",",
+        "validAppealCreatedCallback.json",
+        "issueFurtherEvidenceCallback.json",
+        "issueFurtherEvidenceCallbackWithRep.json",
+        "issueFurtherEvidenceCallbackWithJointParty.json",
+        "issueFurtherEvidenceCallbackWithRepAndEvidenceFromDwp.json",
+        "issueFurtherEvidenceCallbackWithMultipleOtherPartyRepEvidence.json");
+
+    /** Callbacks fed to the topic consumer per second. */
+    double rate;
+    Duration duration;
+    /** Threads calling the topic consumer, standing in for the JMS listener's consumers. */
+    int concurrency;
+    /** How long to wait for callbacks still in progress once the last one has been sent. */
+    Duration drainTimeout;
+    List<String> fixtures;
+    StandInProfile profile;
+    Path report;
+
+    public static LoadTestSettings fromSystemProperties() {
+        StandInProfile profile = StandInProfile.named(System.getProperty("loadtest.profile", "realistic"));
+        profile = profile.toBuilder()
+            .medianLatencyMillis(Integer.getInteger("loadtest.latencyMillis", profile.getMedianLatencyMillis()))
+            .errorRate(Double.parseDouble(System.getProperty("loadtest.errorRate", String.valueOf(profile.getErrorRate()))))
+            .pdfPages(Integer.getInteger("loadtest.pdfPages", profile.getPdfPages()))
+            .build();
+
+        return LoadTestSettings.builder()
+            .rate(Double.parseDouble(System.getProperty("loadtest.rate", "5")))
+            .duration(Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 60L)))
+            .concurrency(Integer.getInteger("loadtest.concurrency", 4))
+            .drainTimeout(Duration.ofSeconds(Long.getLong("loadtest.drainSeconds", 120L)))
+            .fixtures(Arrays.asList(System.getProperty("loadtest.fixtures", DEFAULT_FIXTURES).split(",")))
+            .profile(profile)
+            .report(Paths.get(System.getProperty("loadtest.report", "build/reports/loadtest/report.json")))
+            .build();
+    }
+}
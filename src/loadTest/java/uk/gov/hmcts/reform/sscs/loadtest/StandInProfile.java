@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.sscs.loadtest;
+
+import java.util.Locale;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * How the downstream stand-ins behave: how long they take to answer, how often they fail and how big the documents
+ * they return are.
+ */
+@Value
+@Builder(toBuilder = true)
+public class StandInProfile {
+
+    String name;
+    /** Median response time; individual responses vary around it on a log-normal curve. */
+    int medianLatencyMillis;
+    double latencySigma;
+    /** Fraction of CCD, dm-store, Docmosis and send-letter calls answered with a 503. */
+    double errorRate;
+    /** Pages in every PDF the stand-ins hand back, from dm-store downloads and Docmosis renders. */
+    int pdfPages;
+
+    public static StandInProfile named(String name) {
+        switch (name.toLowerCase(Locale.UK)) {
+            case "fast":
+                return StandInProfile.builder().name("fast").medianLatencyMillis(0).latencySigma(0)
+                    .errorRate(0).pdfPages(1).build();
+            case "realistic":
+                return StandInProfile.builder().name("realistic").medianLatencyMillis(80).latencySigma(0.5)
+                    .errorRate(0.01).pdfPages(5).build();
+            case "degraded":
+                return StandInProfile.builder().name("degraded").medianLatencyMillis(400).latencySigma(0.8)
+                    .errorRate(0.05).pdfPages(20).build();
+            default:
+                throw new IllegalArgumentException("Unknown stand-in profile " + name
+                    + ", expected one of fast, realistic or degraded");
+        }
+    }
+}
@@ -5,27 +5,48 @@ import static java.util.Objects.requireNonNull;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
 import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
 import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
 import uk.gov.hmcts.reform.sscs.ccd.domain.CaseData;
 
 @Component
+@Slf4j
 public class CallbackDispatcher<T extends CaseData> {
 
     private final List<CallbackHandler<T>> callbackHandlers;
+    private final HandlerMetrics handlerMetrics;
 
-    public CallbackDispatcher(List<CallbackHandler<T>> callbackHandlers) {
+    public CallbackDispatcher(List<CallbackHandler<T>> callbackHandlers, HandlerMetrics handlerMetrics) {
         requireNonNull(callbackHandlers, "callbackHandlers must not be null");
         this.callbackHandlers = callbackHandlers;
+        this.handlerMetrics = handlerMetrics;
     }
 
     public void handle(CallbackType callbackType, Callback<T> callback) {
+        handle(callbackType, callback, HandlerCheckpoint.NONE);
+    }
+
+    /**
+     * Runs the handlers for the callback, skipping any the checkpoint records as already completed and recording
+     * each handler that completes. Handlers are only skipped by a retry in the same process, see
+     * {@link HandlerCheckpoint}.
+     */
+    public void handle(CallbackType callbackType, Callback<T> callback, HandlerCheckpoint checkpoint) {
         requireNonNull(callback, "callback must not be null");
-        Stream.of(DispatchPriority.values())
-            .forEach(dispatchPriority ->
-                dispatchToHandlers(callbackType, callback, getCallbackHandlersByPriority(dispatchPriority)));
+        HandlerMetrics.Dispatch dispatch = handlerMetrics.start(callback);
+        HandlerCheckpoint previous = HandlerCheckpoint.bind(checkpoint);
+        try {
+            Stream.of(DispatchPriority.values())
+                .forEach(dispatchPriority -> dispatchToHandlers(callbackType, callback,
+                    getCallbackHandlersByPriority(dispatchPriority), dispatch, checkpoint));
+        } finally {
+            HandlerCheckpoint.bind(previous);
+            dispatch.finish();
+        }
     }
 
     private List<CallbackHandler<T>> getCallbackHandlersByPriority(DispatchPriority dispatchPriority) {
@@ -35,9 +56,27 @@ public class CallbackDispatcher<T extends CaseData> {
     }
 
     private void dispatchToHandlers(CallbackType callbackType, Callback<T> callback,
-                                    List<CallbackHandler<T>> callbackHandlers) {
+                                    List<CallbackHandler<T>> callbackHandlers, HandlerMetrics.Dispatch dispatch,
+                                    HandlerCheckpoint checkpoint) {
         callbackHandlers.stream()
-            .filter(handler -> handler.canHandle(callbackType, callback))
-            .forEach(handler -> handler.handle(callbackType, callback));
+            .filter(handler -> dispatch.canHandle(handler, () -> handler.canHandle(callbackType, callback)))
+            .filter(handler -> notYetCompleted(handler, callback, checkpoint))
+            .forEach(handler -> {
+                dispatch.handle(handler, () -> handler.handle(callbackType, callback));
+                checkpoint.handlerCompleted(checkpointName(handler));
+            });
+    }
+
+    private boolean notYetCompleted(CallbackHandler<T> handler, Callback<T> callback, HandlerCheckpoint checkpoint) {
+        if (checkpoint.isEmpty() || !checkpoint.isHandlerCompleted(checkpointName(handler))) {
+            return true;
+        }
+        log.info("Skipping {} for case {}, it already completed for this message",
+            checkpointName(handler), callback.getCaseDetails().getId());
+        return false;
+    }
+
+    private static String checkpointName(CallbackHandler<?> handler) {
+        return ClassUtils.getUserClass(handler).getName();
     }
 }
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The handlers that have already completed for one message, so that a retry of the message can skip them and resume
+ * at the handler that failed, and the steps handlers record within it, such as each letter or email part sent.
+ *
+ * <p>Completed handlers are only skipped by a retry in the same process, which hands them the same callback and so
+ * the case data changes the completed handlers made. A redelivery after a restart runs every handler again, as those
+ * changes are lost with the process, and only the steps the handlers recorded are kept, so that what was already
+ * sent is not sent again.
+ */
+public final class HandlerCheckpoint {
+
+    /**
+     * A checkpoint that records nothing, for callbacks that do not come from a message.
+     */
+    public static final HandlerCheckpoint NONE = new HandlerCheckpoint(null, Set.of(), (key, handler) -> { });
+
+    private static final ThreadLocal<HandlerCheckpoint> CURRENT = new ThreadLocal<>();
+    private static final String HANDLER = "handler:";
+
+    private final String key;
+    private final Set<String> completed;
+    private final BiConsumer<String, String> onCompleted;
+
+    HandlerCheckpoint(String key, Set<String> completed, BiConsumer<String, String> onCompleted) {
+        this.key = key;
+        this.completed = completed;
+        this.onCompleted = onCompleted;
+    }
+
+    /**
+     * The checkpoint of the message being handled on this thread, or {@link #NONE} outside of a message. Lets a
+     * handler that sends to several parties record each one, so a retry only sends to the parties still to do.
+     */
+    public static HandlerCheckpoint current() {
+        HandlerCheckpoint checkpoint = CURRENT.get();
+        return checkpoint == null ? NONE : checkpoint;
+    }
+
+    static HandlerCheckpoint bind(HandlerCheckpoint checkpoint) {
+        HandlerCheckpoint previous = CURRENT.get();
+        if (checkpoint == null || checkpoint == NONE) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(checkpoint);
+        }
+        return previous;
+    }
+
+    /**
+     * Identifies the message, the same for every retry and redelivery of it; null for {@link #NONE}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isCompleted(String step) {
+        return completed.contains(step);
+    }
+
+    public void completed(String step) {
+        if (this != NONE && completed.add(step)) {
+            onCompleted.accept(key, step);
+        }
+    }
+
+    public boolean isEmpty() {
+        return completed.isEmpty();
+    }
+
+    boolean isHandlerCompleted(String handler) {
+        return completed.contains(HANDLER + handler);
+    }
+
+    void handlerCompleted(String handler) {
+        completed(HANDLER + handler);
+    }
+
+    /**
+     * Whether the step records a completed handler, which is only kept for retries in the same process.
+     */
+    static boolean isHandler(String step) {
+        return step.startsWith(HANDLER);
+    }
+}
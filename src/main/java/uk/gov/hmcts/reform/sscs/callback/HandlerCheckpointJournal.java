@@ -0,0 +1,142 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DSYNC;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Journal of the handlers that have completed for each message, and the steps they recorded, so that when a message
+ * is retried after a later handler fails the handlers that already succeeded are not run again. A message is
+ * identified by its message id together with a hash of its body.
+ *
+ * <p>The journal is kept in memory and, when file backing is enabled, the steps are also appended to a file per
+ * message, so that a redelivery after the service stops part way through the message does not send the same letters
+ * or email parts again. Completed handlers are not written to the file: the case data they changed is not kept, so
+ * after a restart they have to run again, see {@link HandlerCheckpoint}. A message's entry is dropped once the
+ * consumer has finished with it, whether it succeeded or was given up on; entries left behind by a crash expire after
+ * the configured time to live.
+ */
+@Component
+@Slf4j
+public class HandlerCheckpointJournal {
+
+    private static final String SUFFIX = ".journal";
+
+    private final boolean fileBacked;
+    private final Path dir;
+    private final Duration ttl;
+    private final Cache<String, Set<String>> journal;
+
+    public HandlerCheckpointJournal(@Value("${callback.checkpoint.file.enabled:false}") boolean fileBacked,
+                                    @Value("${callback.checkpoint.file.dir:}") String dir,
+                                    @Value("${callback.checkpoint.ttl:PT24H}") Duration ttl,
+                                    @Value("${callback.checkpoint.maxMessages:10000}") int maxMessages) {
+        if (fileBacked && (dir == null || dir.isBlank())) {
+            throw new IllegalStateException("The handler checkpoint journal is file backed but has no directory set, "
+                + "it must be set to a mounted volume");
+        }
+        this.fileBacked = fileBacked;
+        this.dir = Paths.get(dir);
+        this.ttl = ttl;
+        this.journal = CacheBuilder.newBuilder()
+            .expireAfterAccess(ttl.toMillis(), TimeUnit.MILLISECONDS)
+            .maximumSize(maxMessages)
+            .build();
+    }
+
+    /**
+     * Returns the checkpoint for a message, with any handlers recorded as completed by an earlier attempt.
+     */
+    public HandlerCheckpoint open(String messageId, String message) {
+        String key = Hashing.sha256().hashString(messageId + '\n' + message, UTF_8).toString();
+        Set<String> completed = journal.asMap().computeIfAbsent(key, this::load);
+        if (!completed.isEmpty()) {
+            log.info("Message id {} was partly handled before, {} handlers already completed", messageId,
+                completed.size());
+        }
+        return new HandlerCheckpoint(key, completed, this::append);
+    }
+
+    /**
+     * Forgets a message once the consumer has finished with it.
+     */
+    public void close(HandlerCheckpoint checkpoint) {
+        if (checkpoint == HandlerCheckpoint.NONE) {
+            return;
+        }
+        journal.invalidate(checkpoint.getKey());
+        if (fileBacked) {
+            try {
+                Files.deleteIfExists(file(checkpoint.getKey()));
+            } catch (IOException e) {
+                log.warn("Unable to delete handler checkpoint {}", checkpoint.getKey(), e);
+            }
+        }
+    }
+
+    private Set<String> load(String key) {
+        Set<String> completed = ConcurrentHashMap.newKeySet();
+        Path file = file(key);
+        if (fileBacked && Files.exists(file)) {
+            try {
+                Files.readAllLines(file, UTF_8).stream().filter(line -> !line.isBlank()).forEach(completed::add);
+            } catch (IOException e) {
+                log.warn("Unable to read handler checkpoint {}, the message will be handled from the start", key, e);
+            }
+        }
+        return completed;
+    }
+
+    private void append(String key, String step) {
+        if (!fileBacked || HandlerCheckpoint.isHandler(step)) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.write(file(key), (step + '\n').getBytes(UTF_8), CREATE, WRITE, APPEND, DSYNC);
+        } catch (IOException e) {
+            // the in memory journal still covers retries, only a redelivery after a restart would repeat the step
+            log.warn("Unable to save handler checkpoint {} for {}", key, step, e);
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + SUFFIX);
+    }
+
+    @Scheduled(fixedDelayString = "${callback.checkpoint.file.cleanupInterval:3600000}")
+    public void removeExpired() {
+        if (!fileBacked || !Files.isDirectory(dir)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to remove expired handler checkpoints from {}", dir, e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.jfr.CaseSpanEvent;
+import uk.gov.hmcts.reform.sscs.jfr.HandlerEvent;
+
+/**
+ * Records what each callback handler does with each event: how long {@code handle} takes, how often
+ * {@code canHandle} accepts the event and which exceptions are thrown. When any handler takes longer than the slow
+ * threshold, the time every handler spent on that callback is logged in one line, so a slow message can be pinned
+ * on a handler.
+ */
+@Component
+@Slf4j
+public class HandlerMetrics {
+
+    static final String HANDLE_TIMER = "callback.handler";
+    static final String CAN_HANDLE_COUNTER = "callback.handler.can_handle";
+    static final String EXCEPTION_COUNTER = "callback.handler.exceptions";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final Map<Class<?>, String> handlerNames = new ConcurrentHashMap<>();
+
+    public HandlerMetrics(MeterRegistry meterRegistry,
+                          @Value("${callback.handler.slowThreshold:PT10S}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public Dispatch start(Callback<?> callback) {
+        return new Dispatch(callback);
+    }
+
+    MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    private String nameOf(CallbackHandler<?> handler) {
+        return handlerNames.computeIfAbsent(handler.getClass(), type -> ClassUtils.getUserClass(type).getSimpleName());
+    }
+
+    /**
+     * The handlers run for one callback.
+     */
+    public final class Dispatch {
+
+        private final Callback<?> callback;
+        private final String event;
+        private final long start = System.nanoTime();
+        private final List<HandlerTiming> timings = new ArrayList<>();
+        private boolean slow;
+
+        private Dispatch(Callback<?> callback) {
+            this.callback = callback;
+            this.event = callback.getEvent() == null ? "unknown" : callback.getEvent().getCcdType();
+        }
+
+        private long caseId() {
+            return callback.getCaseDetails() == null ? 0 : callback.getCaseDetails().getId();
+        }
+
+        public boolean canHandle(CallbackHandler<?> handler, BooleanSupplier canHandle) {
+            String name = nameOf(handler);
+            boolean accepted = canHandle.getAsBoolean();
+            Counter.builder(CAN_HANDLE_COUNTER)
+                .tag("handler", name)
+                .tag("event", event)
+                .tag("result", String.valueOf(accepted))
+                .register(meterRegistry)
+                .increment();
+            return accepted;
+        }
+
+        public void handle(CallbackHandler<?> handler, Runnable handle) {
+            String name = nameOf(handler);
+            HandlerEvent handlerEvent = new HandlerEvent(name, caseId(), event);
+            handlerEvent.begin();
+            long handlerStart = System.nanoTime();
+            String outcome = CaseSpanEvent.SUCCESS;
+            try {
+                handle.run();
+            } catch (RuntimeException e) {
+                outcome = CaseSpanEvent.outcomeOf(e);
+                Counter.builder(EXCEPTION_COUNTER)
+                    .tag("handler", name)
+                    .tag("event", event)
+                    .tag("exception", outcome)
+                    .register(meterRegistry)
+                    .increment();
+                throw e;
+            } finally {
+                long took = System.nanoTime() - handlerStart;
+                Timer.builder(HANDLE_TIMER)
+                    .description("Time spent by each callback handler on each event")
+                    .tag("handler", name)
+                    .tag("event", event)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(took, TimeUnit.NANOSECONDS);
+                handlerEvent.finish(outcome);
+                timings.add(new HandlerTiming(name, took, outcome));
+                slow |= took >= slowThresholdNanos;
+            }
+        }
+
+        /**
+         * Logs the breakdown if any handler was slow. Called once every handler has run, or one has failed.
+         */
+        public void finish() {
+            if (!slow) {
+                return;
+            }
+            log.warn("Slow callback handling: caseId={} event={} totalMs={} thresholdMs={} handlers=[{}]",
+                caseId(), event,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos),
+                timings.stream().map(HandlerTiming::toString).collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static final class HandlerTiming {
+        private final String handler;
+        private final long nanos;
+        private final String outcome;
+
+        private HandlerTiming(String handler, long nanos, String outcome) {
+            this.handler = handler;
+            this.nanos = nanos;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public String toString() {
+            return handler + " ms=" + TimeUnit.NANOSECONDS.toMillis(nanos) + " outcome=" + outcome;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import static uk.gov.hmcts.reform.sscs.callback.HandlerMetrics.CAN_HANDLE_COUNTER;
+import static uk.gov.hmcts.reform.sscs.callback.HandlerMetrics.EXCEPTION_COUNTER;
+import static uk.gov.hmcts.reform.sscs.callback.HandlerMetrics.HANDLE_TIMER;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint, mapped to {@code /handlers/stats}, showing for each handler and event the recent handle time
+ * percentiles, how often {@code canHandle} accepted the event and how many exceptions were thrown. The percentiles
+ * cover a rolling window of the last couple of minutes; the counts are since startup.
+ */
+@Component
+@Endpoint(id = "handlers")
+public class HandlerStatsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public HandlerStatsEndpoint(HandlerMetrics handlerMetrics) {
+        this.meterRegistry = handlerMetrics.getMeterRegistry();
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Map<String, Object>>> stats() {
+        Map<String, Map<String, Map<String, Object>>> stats = new TreeMap<>();
+
+        for (Counter counter : meterRegistry.find(CAN_HANDLE_COUNTER).counters()) {
+            Map<String, Object> eventStats = eventStats(stats, counter.getId().getTag("handler"),
+                counter.getId().getTag("event"));
+            String key = Boolean.parseBoolean(counter.getId().getTag("result")) ? "accepted" : "declined";
+            eventStats.merge(key, (long) counter.count(), (a, b) -> (Long) a + (Long) b);
+        }
+
+        for (Timer timer : meterRegistry.find(HANDLE_TIMER).timers()) {
+            Map<String, Object> eventStats = eventStats(stats, timer.getId().getTag("handler"),
+                timer.getId().getTag("event"));
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            eventStats.put("handled", snapshot.count());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                eventStats.put("p" + Math.round(percentile.percentile() * 100) + "Ms",
+                    percentile.value(TimeUnit.MILLISECONDS));
+            }
+            eventStats.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        }
+
+        for (Counter counter : meterRegistry.find(EXCEPTION_COUNTER).counters()) {
+            Map<String, Object> eventStats = eventStats(stats, counter.getId().getTag("handler"),
+                counter.getId().getTag("event"));
+            eventStats.merge("exceptions", (long) counter.count(), (a, b) -> (Long) a + (Long) b);
+        }
+
+        stats.values().forEach(events -> events.values().forEach(eventStats -> {
+            long accepted = (Long) eventStats.getOrDefault("accepted", 0L);
+            long declined = (Long) eventStats.getOrDefault("declined", 0L);
+            if (accepted + declined > 0) {
+                eventStats.put("canHandleRatio", (double) accepted / (accepted + declined));
+            }
+        }));
+        return stats;
+    }
+
+    private static Map<String, Object> eventStats(Map<String, Map<String, Map<String, Object>>> stats,
+                                                  String handler, String event) {
+        return stats.computeIfAbsent(handler, name -> new TreeMap<>())
+            .computeIfAbsent(event, name -> new LinkedHashMap<>());
+    }
+}
@@ -1,16 +1,15 @@
 package uk.gov.hmcts.reform.sscs.callback.handlers;
 
 import static java.util.Objects.requireNonNull;
-import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerUtils.distinctByKey;
 import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.*;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.NO;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.YES;
 import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
 import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
@@ -23,6 +22,7 @@ import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
 import uk.gov.hmcts.reform.sscs.exception.IssueFurtherEvidenceException;
 import uk.gov.hmcts.reform.sscs.exception.PostIssueFurtherEvidenceTasksException;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.service.CaseDocumentIndex;
 import uk.gov.hmcts.reform.sscs.service.FurtherEvidenceService;
 
 @Service
@@ -32,13 +32,17 @@ public class IssueFurtherEvidenceHandler implements CallbackHandler<SscsCaseData
     private final FurtherEvidenceService furtherEvidenceService;
     private final CcdService ccdService;
     private final IdamService idamService;
+    private final boolean consolidatedFurtherEvidence;
 
     @Autowired
     public IssueFurtherEvidenceHandler(FurtherEvidenceService furtherEvidenceService, CcdService ccdService,
-                                       IdamService idamService) {
+                                       IdamService idamService,
+                                       @Value("${feature.consolidated-further-evidence.enabled:false}")
+                                       boolean consolidatedFurtherEvidence) {
         this.furtherEvidenceService = furtherEvidenceService;
         this.ccdService = ccdService;
         this.idamService = idamService;
+        this.consolidatedFurtherEvidence = consolidatedFurtherEvidence;
     }
 
     @Override
@@ -63,43 +67,65 @@ public class IssueFurtherEvidenceHandler implements CallbackHandler<SscsCaseData
     private void issueFurtherEvidence(SscsCaseData caseData) {
         List<DocumentType> documentTypes = Arrays.asList(APPELLANT_EVIDENCE, REPRESENTATIVE_EVIDENCE, DWP_EVIDENCE, JOINT_PARTY_EVIDENCE, HMCTS_EVIDENCE);
         List<FurtherEvidenceLetterType> allowedLetterTypes = Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER);
+        CaseDocumentIndex documentIndex = CaseDocumentIndex.of(caseData.getSscsDocument());
+        Map<String, Object> casePlaceholders = buildCasePlaceholders(caseData);
 
-        documentTypes.forEach(documentType -> issueEvidencePerDocumentType(caseData, allowedLetterTypes, documentType, null));
-        issueFurtherEvidenceForEachOtherPartyThatIsOriginalSender(caseData, allowedLetterTypes);
+        if (consolidatedFurtherEvidence) {
+            issueConsolidatedFurtherEvidence(caseData, documentIndex, casePlaceholders, documentTypes, allowedLetterTypes);
+            return;
+        }
+        documentTypes.forEach(documentType -> issueEvidencePerDocumentType(caseData, documentIndex, casePlaceholders, allowedLetterTypes, documentType, null));
+        issueFurtherEvidenceForEachOtherPartyThatIsOriginalSender(caseData, documentIndex, casePlaceholders, allowedLetterTypes);
     }
 
-    private void issueFurtherEvidenceForEachOtherPartyThatIsOriginalSender(SscsCaseData caseData, List<FurtherEvidenceLetterType> allowedLetterTypes) {
-        List<SscsDocument> groupedOtherPartyDocuments = findUniqueOtherPartyDocumentsByOtherPartyId(caseData.getSscsDocument());
+    private Map<String, Object> buildCasePlaceholders(SscsCaseData caseData) {
+        try {
+            return furtherEvidenceService.buildCasePlaceholders(caseData);
+        } catch (Exception e) {
+            throw issueFurtherEvidenceFailed(caseData, e);
+        }
+    }
 
-        if (groupedOtherPartyDocuments != null && !groupedOtherPartyDocuments.isEmpty()) {
-            groupedOtherPartyDocuments.forEach(doc -> issueEvidencePerDocumentType(caseData, allowedLetterTypes, DocumentType.fromValue(doc.getValue().getDocumentType()), doc.getValue().getOriginalSenderOtherPartyId()));
+    private void issueConsolidatedFurtherEvidence(SscsCaseData caseData, CaseDocumentIndex documentIndex, Map<String, Object> casePlaceholders,
+                                                  List<DocumentType> documentTypes, List<FurtherEvidenceLetterType> allowedLetterTypes) {
+        try {
+            log.info("Issuing consolidated further evidence for caseId {}", caseData.getCcdCaseId());
+            furtherEvidenceService.issueConsolidated(documentIndex, casePlaceholders, caseData, documentTypes, allowedLetterTypes);
+        } catch (Exception e) {
+            throw issueFurtherEvidenceFailed(caseData, e);
         }
+        log.info("Issued for caseId {}", caseData.getCcdCaseId());
     }
 
-    private List<SscsDocument> findUniqueOtherPartyDocumentsByOtherPartyId(List<SscsDocument> sscsDocuments) {
+    private void issueFurtherEvidenceForEachOtherPartyThatIsOriginalSender(SscsCaseData caseData, CaseDocumentIndex documentIndex,
+                                                                          Map<String, Object> casePlaceholders,
+                                                                          List<FurtherEvidenceLetterType> allowedLetterTypes) {
         // We need to find all the unissued other party documents for a given other party by Id, so we can iterate through and issue evidence for each other party that has unissued evidence.
         // To prevent multiple documents going to the same other party, we only need to find one distinct document as the document type and original sender id is all we care about here and they will always be the same if there were multiple documents for the same other party.
         // Further down the line, in the FurtherEvidenceService, we work out what documents to actually issue out.
-        return sscsDocuments.stream()
-            .filter(doc -> OTHER_PARTY_EVIDENCE.getValue().equals(doc.getValue().getDocumentType()) || OTHER_PARTY_REPRESENTATIVE_EVIDENCE.getValue().equals(doc.getValue().getDocumentType()))
-            .filter(d -> "No".equals(d.getValue().getEvidenceIssued()))
-            .filter(distinctByKey(p -> p.getValue().getOriginalSenderOtherPartyId()))
-            .collect(Collectors.toList());
+        documentIndex.firstNotIssuedPerOtherPartySender().forEach(doc -> issueEvidencePerDocumentType(caseData, documentIndex, casePlaceholders, allowedLetterTypes,
+            DocumentType.fromValue(doc.getValue().getDocumentType()), doc.getValue().getOriginalSenderOtherPartyId()));
     }
 
-    private void issueEvidencePerDocumentType(SscsCaseData caseData, List<FurtherEvidenceLetterType> allowedLetterTypes,
-                                                 DocumentType documentType, String otherPartyOriginalSenderId) {
+    private void issueEvidencePerDocumentType(SscsCaseData caseData, CaseDocumentIndex documentIndex,
+                                              Map<String, Object> casePlaceholders,
+                                              List<FurtherEvidenceLetterType> allowedLetterTypes,
+                                              DocumentType documentType, String otherPartyOriginalSenderId) {
         try {
             log.info("Issuing for {} for caseId {}", documentType.getValue(), caseData.getCcdCaseId());
-            furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, documentType, allowedLetterTypes, otherPartyOriginalSenderId);
+            furtherEvidenceService.issue(documentIndex, casePlaceholders, caseData, documentType, allowedLetterTypes, otherPartyOriginalSenderId);
         } catch (Exception e) {
-            handleIssueFurtherEvidenceException(caseData);
-            String errorMsg = "Failed sending further evidence for case(%s)...";
-            throw new IssueFurtherEvidenceException(String.format(errorMsg, caseData.getCcdCaseId()), e);
+            throw issueFurtherEvidenceFailed(caseData, e);
         }
         log.info("Issued for caseId {}", caseData.getCcdCaseId());
     }
 
+    private IssueFurtherEvidenceException issueFurtherEvidenceFailed(SscsCaseData caseData, Exception e) {
+        handleIssueFurtherEvidenceException(caseData);
+        String errorMsg = "Failed sending further evidence for case(%s)...";
+        return new IssueFurtherEvidenceException(String.format(errorMsg, caseData.getCcdCaseId()), e);
+    }
+
     private void postIssueFurtherEvidenceTasks(SscsCaseData caseData) {
         log.debug("Post Issue Tasks for caseId {}", caseData.getCcdCaseId());
         try {
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.sscs.callback.handlers;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
+import static uk.gov.hmcts.reform.sscs.domain.LetterTemplateType.GENERIC_LETTER;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderConstants.ADDRESS_NAME;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderConstants.LETTER_NAME;
 
@@ -23,11 +24,12 @@ import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
 import uk.gov.hmcts.reform.sscs.ccd.domain.OtherParty;
 import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
 import uk.gov.hmcts.reform.sscs.ccd.domain.YesNo;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
+import uk.gov.hmcts.reform.sscs.config.DocmosisTemplates;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
 import uk.gov.hmcts.reform.sscs.service.BulkPrintService;
 import uk.gov.hmcts.reform.sscs.service.CoverLetterService;
+import uk.gov.hmcts.reform.sscs.service.LetterFanOutJournal;
 import uk.gov.hmcts.reform.sscs.service.placeholders.GenericLetterPlaceholderService;
 import uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility;
 
@@ -40,25 +42,25 @@ public class IssueGenericLetterHandler implements CallbackHandler<SscsCaseData>
 
     private final CoverLetterService coverLetterService;
 
-    private final DocmosisTemplateConfig docmosisTemplateConfig;
+    private final DocmosisTemplates docmosisTemplates;
 
-    private final boolean canIssueGenericLetter;
-
-    private String docmosisTemplate;
+    private final LetterFanOutJournal letterFanOutJournal;
 
-    private String docmosisCoverSheetTemplate;
+    private final boolean canIssueGenericLetter;
 
     @Autowired
     public IssueGenericLetterHandler(BulkPrintService bulkPrintService,
                                      GenericLetterPlaceholderService genericLetterPlaceholderService,
                                      CoverLetterService coverLetterService,
-                                     DocmosisTemplateConfig docmosisTemplateConfig,
+                                     DocmosisTemplates docmosisTemplates,
+                                     LetterFanOutJournal letterFanOutJournal,
                                      @Value("${feature.issue-generic-letter.enabled}")
                                      boolean canIssueGenericLetter) {
         this.genericLetterPlaceholderService = genericLetterPlaceholderService;
         this.bulkPrintService = bulkPrintService;
         this.coverLetterService = coverLetterService;
-        this.docmosisTemplateConfig = docmosisTemplateConfig;
+        this.docmosisTemplates = docmosisTemplates;
+        this.letterFanOutJournal = letterFanOutJournal;
         this.canIssueGenericLetter = canIssueGenericLetter;
     }
 
@@ -85,55 +87,53 @@ public class IssueGenericLetterHandler implements CallbackHandler<SscsCaseData>
 
         SscsCaseData caseData = callback.getCaseDetails().getCaseData();
         long caseDetailsId = callback.getCaseDetails().getId();
-        docmosisTemplate = getDocmosisTemplate(caseData);
-        docmosisCoverSheetTemplate = getDocmosisCoverSheet(caseData);
 
         process(caseDetailsId, caseData);
     }
 
     private String getDocmosisTemplate(SscsCaseData caseData) {
-        return docmosisTemplateConfig.getTemplate().get(caseData.getLanguagePreference())
-            .get("generic-letter").get("name");
+        return docmosisTemplates.getTemplate(caseData.getLanguagePreference(), GENERIC_LETTER).getTemplateName();
     }
 
     private String getDocmosisCoverSheet(SscsCaseData caseData) {
-        return docmosisTemplateConfig.getTemplate().get(caseData.getLanguagePreference())
-            .get("generic-letter").get("cover");
+        return docmosisTemplates.getCoverSheet(caseData.getLanguagePreference(), GENERIC_LETTER).getTemplateName();
     }
 
     private void process(long caseId, SscsCaseData caseData) {
         log.info("Process the issue generic letter for the case : " + caseId);
         List<Pdf> documents = new ArrayList<>();
+        Map<String, Object> casePlaceholders = genericLetterPlaceholderService.buildCasePlaceholders(caseData);
 
         if (YesNo.isYes(caseData.getAddDocuments())) {
             documents.addAll(coverLetterService.getSelectedDocuments(caseData));
         }
 
         if (YesNo.isYes(caseData.getSendToAllParties())) {
-            sendToAllParties(caseId, caseData, documents);
+            sendToAllParties(caseId, caseData, casePlaceholders, documents);
             return;
         }
 
         if (YesNo.isYes(caseData.getSendToApellant())) {
-            sendToAppellant(caseId, caseData, documents);
+            sendToAppellant(caseId, caseData, casePlaceholders, documents);
         }
 
         if (YesNo.isYes(caseData.getSendToRepresentative())) {
-            sendToRepresentative(caseId, caseData, documents);
+            sendToRepresentative(caseId, caseData, casePlaceholders, documents);
         }
 
         if (YesNo.isYes(caseData.getSendToJointParty())) {
-            sendToJointParty(caseId, caseData, documents);
+            sendToJointParty(caseId, caseData, casePlaceholders, documents);
         }
 
         if (YesNo.isYes(caseData.getSendToOtherParties())) {
-            sendToOtherParties(caseId, caseData, documents);
+            sendToOtherParties(caseId, caseData, casePlaceholders, documents);
         }
 
         // TODO check if blank page on odd page ending is needed
     }
 
-    private void sendToOtherParties(long caseId, SscsCaseData caseData, List<Pdf> documents) {
+    private void sendToOtherParties(long caseId, SscsCaseData caseData, Map<String, Object> casePlaceholders,
+                                    List<Pdf> documents) {
         log.info("Sending letter to other party");
         var selectedOtherParties = caseData.getOtherPartySelection();
         List<CcdValue<OtherParty>> otherParties = caseData.getOtherParties();
@@ -145,9 +145,7 @@ public class IssueGenericLetterHandler implements CallbackHandler<SscsCaseData>
 
                 if (otherParty != null) {
                     FurtherEvidenceLetterType letterType = getLetterType(otherParty, entityId);
-                    String recipient = PlaceholderUtility.getName(caseData, letterType, entityId);
-                    List<Pdf> letter = getLetterPdfs(caseData, documents, letterType, entityId);
-                    bulkPrintService.sendToBulkPrint(caseId, caseData, letter, EventType.ISSUE_GENERIC_LETTER, recipient);
+                    sendLetter(caseId, caseData, casePlaceholders, documents, letterType, entityId);
                 }
             }
         }
@@ -159,41 +157,51 @@ public class IssueGenericLetterHandler implements CallbackHandler<SscsCaseData>
         return hasRepresentative ? FurtherEvidenceLetterType.OTHER_PARTY_REP_LETTER : FurtherEvidenceLetterType.OTHER_PARTY_LETTER;
     }
 
-    private void sendToJointParty(long caseId, SscsCaseData caseData, List<Pdf> documents) {
-        List<Pdf> letter = getLetterPdfs(caseData, documents, FurtherEvidenceLetterType.JOINT_PARTY_LETTER);
-        String recipient = PlaceholderUtility.getName(caseData, FurtherEvidenceLetterType.JOINT_PARTY_LETTER, null);
-        bulkPrintService.sendToBulkPrint(caseId, caseData, letter, EventType.ISSUE_GENERIC_LETTER, recipient);
+    private void sendToJointParty(long caseId, SscsCaseData caseData, Map<String, Object> casePlaceholders,
+                                  List<Pdf> documents) {
+        sendLetter(caseId, caseData, casePlaceholders, documents, FurtherEvidenceLetterType.JOINT_PARTY_LETTER, null);
     }
 
-    private void sendToRepresentative(long caseId, SscsCaseData caseData, List<Pdf> documents) {
-        List<Pdf> letter = getLetterPdfs(caseData, documents, FurtherEvidenceLetterType.REPRESENTATIVE_LETTER);
-        String recipient = PlaceholderUtility.getName(caseData, FurtherEvidenceLetterType.REPRESENTATIVE_LETTER, null);
-        bulkPrintService.sendToBulkPrint(caseId, caseData, letter, EventType.ISSUE_GENERIC_LETTER, recipient);
+    private void sendToRepresentative(long caseId, SscsCaseData caseData, Map<String, Object> casePlaceholders,
+                                      List<Pdf> documents) {
+        sendLetter(caseId, caseData, casePlaceholders, documents, FurtherEvidenceLetterType.REPRESENTATIVE_LETTER, null);
     }
 
-    private void sendToAppellant(long caseId, SscsCaseData caseData, List<Pdf> documents) {
-        List<Pdf> letter = getLetterPdfs(caseData, documents, FurtherEvidenceLetterType.APPELLANT_LETTER);
-        String recipient = PlaceholderUtility.getName(caseData, FurtherEvidenceLetterType.APPELLANT_LETTER, null);
-        bulkPrintService.sendToBulkPrint(caseId, caseData, letter, EventType.ISSUE_GENERIC_LETTER, recipient);
+    private void sendToAppellant(long caseId, SscsCaseData caseData, Map<String, Object> casePlaceholders,
+                                 List<Pdf> documents) {
+        sendLetter(caseId, caseData, casePlaceholders, documents, FurtherEvidenceLetterType.APPELLANT_LETTER, null);
+    }
+
+    private void sendLetter(long caseId, SscsCaseData caseData, Map<String, Object> casePlaceholders,
+                            List<Pdf> documents, FurtherEvidenceLetterType letterType, String entityId) {
+        String recipient = PlaceholderUtility.getName(caseData, letterType, entityId);
+        String letterKind = LetterFanOutJournal.recipientId(letterType, entityId);
+        if (letterFanOutJournal.isSent(String.valueOf(caseId), EventType.ISSUE_GENERIC_LETTER, recipient, letterKind)) {
+            return;
+        }
+        List<Pdf> letter = getLetterPdfs(casePlaceholders, caseData, documents, letterType, entityId);
+        bulkPrintService.sendToBulkPrint(caseId, caseData, letter, EventType.ISSUE_GENERIC_LETTER, recipient, letterKind);
+        letterFanOutJournal.recordSent(String.valueOf(caseId), EventType.ISSUE_GENERIC_LETTER, recipient, letterKind);
     }
 
     private static String getLetterName(Map<String, Object> placeholders) {
         return String.format(LETTER_NAME, placeholders.get(ADDRESS_NAME), LocalDateTime.now());
     }
 
-    private void sendToAllParties(long caseId, SscsCaseData caseData, List<Pdf> documents) {
-        sendToAppellant(caseId, caseData, documents);
+    private void sendToAllParties(long caseId, SscsCaseData caseData, Map<String, Object> casePlaceholders,
+                                  List<Pdf> documents) {
+        sendToAppellant(caseId, caseData, casePlaceholders, documents);
 
         if (caseData.isThereARepresentative()) {
-            sendToRepresentative(caseId, caseData, documents);
+            sendToRepresentative(caseId, caseData, casePlaceholders, documents);
         }
 
         if (caseData.isThereAJointParty()) {
-            sendToJointParty(caseId, caseData, documents);
+            sendToJointParty(caseId, caseData, casePlaceholders, documents);
         }
 
         if (isNotEmpty(caseData.getOtherParties())) {
-            sendToOtherParties(caseId, caseData, documents);
+            sendToOtherParties(caseId, caseData, casePlaceholders, documents);
         }
     }
 
@@ -210,21 +218,18 @@ public class IssueGenericLetterHandler implements CallbackHandler<SscsCaseData>
             || (o.hasAppointee() && entityId.contains(o.getAppointee().getId()));
     }
 
-    private List<Pdf> getLetterPdfs(SscsCaseData caseData, List<Pdf> documents, FurtherEvidenceLetterType furtherEvidenceLetterType) {
-        return getLetterPdfs(caseData, documents, furtherEvidenceLetterType, null);
-    }
-
-    private List<Pdf> getLetterPdfs(SscsCaseData caseData, List<Pdf> documents, FurtherEvidenceLetterType letterType, String entityId) {
-        var placeholders = genericLetterPlaceholderService.populatePlaceholders(caseData,
+    private List<Pdf> getLetterPdfs(Map<String, Object> casePlaceholders, SscsCaseData caseData, List<Pdf> documents,
+                                    FurtherEvidenceLetterType letterType, String entityId) {
+        var placeholders = genericLetterPlaceholderService.populatePlaceholders(casePlaceholders, caseData,
             letterType,
             entityId);
 
         String letterName = getLetterName(placeholders);
 
         var generatedPdf = coverLetterService.generateCoverLetterRetry(letterType,
-            docmosisTemplate, letterName, placeholders, 1);
+            getDocmosisTemplate(caseData), letterName, placeholders, 1);
 
-        var coverSheet = coverLetterService.generateCoverSheet(docmosisCoverSheetTemplate,
+        var coverSheet = coverLetterService.generateCoverSheet(getDocmosisCoverSheet(caseData),
             "coversheet", placeholders);
 
         var bundledLetter = bulkPrintService.buildBundledLetter(coverSheet, generatedPdf);
@@ -18,7 +18,7 @@ import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
 import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
-import uk.gov.hmcts.reform.sscs.service.RegionalProcessingCenterService;
+import uk.gov.hmcts.reform.sscs.service.RegionalProcessingCenterCache;
 import uk.gov.hmcts.reform.sscs.service.RoboticsService;
 
 @Slf4j
@@ -33,7 +33,7 @@ public class RoboticsCallbackHandler implements CallbackHandler<SscsCaseData> {
 
     private final IdamService idamService;
 
-    private final RegionalProcessingCenterService regionalProcessingCenterService;
+    private final RegionalProcessingCenterCache regionalProcessingCenterCache;
 
     @Value("${feature.gaps-switchover.enabled}")
     private boolean gapsSwitchOverFeature;
@@ -42,12 +42,12 @@ public class RoboticsCallbackHandler implements CallbackHandler<SscsCaseData> {
     public RoboticsCallbackHandler(RoboticsService roboticsService,
                                    CcdService ccdService,
                                    IdamService idamService,
-                                   RegionalProcessingCenterService regionalProcessingCenterService
+                                   RegionalProcessingCenterCache regionalProcessingCenterCache
     ) {
         this.roboticsService = roboticsService;
         this.ccdService = ccdService;
         this.idamService = idamService;
-        this.regionalProcessingCenterService = regionalProcessingCenterService;
+        this.regionalProcessingCenterCache = regionalProcessingCenterCache;
         this.dispatchPriority = DispatchPriority.EARLIEST;
     }
 
@@ -135,7 +135,7 @@ public class RoboticsCallbackHandler implements CallbackHandler<SscsCaseData> {
         // We should update the case details before sending robotics.
         final SscsCaseData sscsCaseData = callback.getCaseDetails().getCaseData();
         if (sscsCaseData.getAppeal().getAppellant() != null && sscsCaseData.getAppeal().getAppellant().getAddress() != null && sscsCaseData.getAppeal().getAppellant().getAddress().getPostcode() != null) {
-            RegionalProcessingCenter rpc = regionalProcessingCenterService.getByPostcode(sscsCaseData.getAppeal().getAppellant().getAddress().getPostcode());
+            RegionalProcessingCenter rpc = regionalProcessingCenterCache.getByPostcode(sscsCaseData.getAppeal().getAppellant().getAddress().getPostcode());
             sscsCaseData.setRegionalProcessingCenter(rpc);
 
             if (rpc != null) {
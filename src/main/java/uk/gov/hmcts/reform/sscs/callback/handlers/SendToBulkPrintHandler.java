@@ -208,7 +208,8 @@ public class SendToBulkPrintHandler implements CallbackHandler<SscsCaseData> {
 
             List<Pdf> existingCasePdfs = toPdf(sscsDocuments);
             String recipient = PlaceholderUtility.getName(caseData, FurtherEvidenceLetterType.DWP_LETTER, null);
-            Optional<UUID> id = bulkPrintService.sendToBulkPrint(existingCasePdfs, caseData, recipient);
+            Optional<UUID> id = bulkPrintService.sendToBulkPrint(existingCasePdfs, caseData, sscsCaseDataCallback.getEvent(),
+                recipient, holder.getTemplate().getTemplateName());
 
             if (id.isPresent()) {
                 BulkPrintInfo info = BulkPrintInfo.builder()
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.sscs.callback.handlers;
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.isYes;
+import static uk.gov.hmcts.reform.sscs.domain.LetterTemplateType.POST_HEARING_APP_SOR_WRITTEN;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderConstants.*;
 
 import java.time.LocalDateTime;
@@ -19,23 +20,19 @@ import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
 import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
 import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
+import uk.gov.hmcts.reform.sscs.config.DocmosisTemplates;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
 import uk.gov.hmcts.reform.sscs.service.BulkPrintService;
 import uk.gov.hmcts.reform.sscs.service.CoverLetterService;
+import uk.gov.hmcts.reform.sscs.service.LetterFanOutJournal;
 import uk.gov.hmcts.reform.sscs.service.PdfStoreService;
 import uk.gov.hmcts.reform.sscs.service.placeholders.SorPlaceholderService;
 
 @Slf4j
 @Service
 public class SorWriteHandler implements CallbackHandler<SscsCaseData> {
-    public static final String POST_HEARING_APP_SOR_WRITTEN = "postHearingAppSorWritten";
-    private String docmosisTemplate;
-
-    private String docmosisCoverSheetTemplate;
-
-    private final DocmosisTemplateConfig docmosisTemplateConfig;
+    private final DocmosisTemplates docmosisTemplates;
 
     private final SorPlaceholderService sorPlaceholderService;
 
@@ -45,14 +42,18 @@ public class SorWriteHandler implements CallbackHandler<SscsCaseData> {
 
     private final PdfStoreService pdfStoreService;
 
+    private final LetterFanOutJournal letterFanOutJournal;
+
     @Autowired
-    public SorWriteHandler(DocmosisTemplateConfig docmosisTemplateConfig, SorPlaceholderService sorPlaceholderService,
-                           BulkPrintService bulkPrintService, CoverLetterService coverLetterService, PdfStoreService pdfStoreService) {
-        this.docmosisTemplateConfig = docmosisTemplateConfig;
+    public SorWriteHandler(DocmosisTemplates docmosisTemplates, SorPlaceholderService sorPlaceholderService,
+                           BulkPrintService bulkPrintService, CoverLetterService coverLetterService, PdfStoreService pdfStoreService,
+                           LetterFanOutJournal letterFanOutJournal) {
+        this.docmosisTemplates = docmosisTemplates;
         this.sorPlaceholderService = sorPlaceholderService;
         this.bulkPrintService = bulkPrintService;
         this.coverLetterService = coverLetterService;
         this.pdfStoreService = pdfStoreService;
+        this.letterFanOutJournal = letterFanOutJournal;
     }
 
     @Override
@@ -75,20 +76,29 @@ public class SorWriteHandler implements CallbackHandler<SscsCaseData> {
     }
 
     private void sendLetters(SscsCaseData caseData) {
-        var template = docmosisTemplateConfig.getTemplate();
         LanguagePreference languagePreference = caseData.getLanguagePreference();
-        docmosisTemplate = template.get(languagePreference).get(POST_HEARING_APP_SOR_WRITTEN).get("name");
-        docmosisCoverSheetTemplate = template.get(languagePreference).get(POST_HEARING_APP_SOR_WRITTEN).get("cover");
+        String docmosisTemplate = docmosisTemplates.getTemplate(languagePreference, POST_HEARING_APP_SOR_WRITTEN)
+            .getTemplateName();
+        String docmosisCoverSheetTemplate = docmosisTemplates.getCoverSheet(languagePreference, POST_HEARING_APP_SOR_WRITTEN)
+            .getTemplateName();
 
         LinkedHashMap<Entity, FurtherEvidenceLetterType> parties = getParties(caseData);
+        Map<String, Object> casePlaceholders = sorPlaceholderService.buildCasePlaceholders(caseData);
         for (Map.Entry<Entity, FurtherEvidenceLetterType> entry: parties.entrySet()) {
             Entity party = entry.getKey();
             var partyId = party instanceof OtherParty || entry.getValue() == FurtherEvidenceLetterType.OTHER_PARTY_REP_LETTER ? party.getId() : null;
-            var placeholders = sorPlaceholderService.populatePlaceholders(caseData,
+            var placeholders = sorPlaceholderService.populatePlaceholders(casePlaceholders, caseData,
                 entry.getValue(),
                 party.getClass().getSimpleName(),
                 partyId);
 
+            String recipient = (String) placeholders.get(NAME);
+            String letterKind = entry.getValue().getValue() + " " + party.getClass().getSimpleName() + " " + party.getId();
+            if (letterFanOutJournal.isSent(caseData.getCcdCaseId(), EventType.POST_HEARING_APP_SOR_WRITTEN, recipient,
+                letterKind)) {
+                continue;
+            }
+
             String letterName = String.format(LETTER_NAME, placeholders.get(ADDRESS_NAME), LocalDateTime.now());
 
             var generatedPdf = coverLetterService.generateCoverLetterRetry(entry.getValue(),
@@ -106,7 +116,6 @@ public class SorWriteHandler implements CallbackHandler<SscsCaseData> {
             List<Pdf> letter = new ArrayList<>();
             letter.add(pdf);
 
-            String recipient = (String) placeholders.get(NAME);
             log.info("Party {} {}", party, party.getName());
             log.info("Sending letter to {}", recipient);
             log.info("Appellant name {} entity type {} name {}",
@@ -114,7 +123,9 @@ public class SorWriteHandler implements CallbackHandler<SscsCaseData> {
                 placeholders.get(ENTITY_TYPE),
                 placeholders.get(NAME));
             bulkPrintService.sendToBulkPrint(Long.parseLong(caseData.getCcdCaseId()), caseData, letter,
-                EventType.POST_HEARING_APP_SOR_WRITTEN, recipient);
+                EventType.POST_HEARING_APP_SOR_WRITTEN, recipient, letterKind);
+            letterFanOutJournal.recordSent(caseData.getCcdCaseId(), EventType.POST_HEARING_APP_SOR_WRITTEN, recipient,
+                letterKind);
         }
     }
 
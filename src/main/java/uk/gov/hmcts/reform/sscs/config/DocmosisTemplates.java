@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import static java.util.Collections.emptyMap;
+import static org.apache.commons.lang3.StringUtils.stripToNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.ccd.domain.LanguagePreference;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.domain.LetterTemplateType;
+
+/**
+ * Docmosis templates resolved once from {@link DocmosisTemplateConfig} for every language and letter type.
+ * Startup fails if any combination is missing from the config, rather than the letter failing when it is sent.
+ */
+@Component
+@Slf4j
+public class DocmosisTemplates {
+
+    private static final String NAME = "name";
+    private static final String COVER = "cover";
+
+    private final Map<LanguagePreference, Map<LetterTemplateType, Template>> templates =
+        new EnumMap<>(LanguagePreference.class);
+    private final Map<LanguagePreference, Map<LetterTemplateType, Template>> coverSheets =
+        new EnumMap<>(LanguagePreference.class);
+
+    public DocmosisTemplates(DocmosisTemplateConfig docmosisTemplateConfig) {
+        Map<LanguagePreference, Map<String, Map<String, String>>> config =
+            docmosisTemplateConfig.getTemplate() != null ? docmosisTemplateConfig.getTemplate() : emptyMap();
+        List<String> missing = new ArrayList<>();
+
+        for (LanguagePreference languagePreference : LanguagePreference.values()) {
+            Map<String, Map<String, String>> languageTemplates = config.getOrDefault(languagePreference, emptyMap());
+            Map<LetterTemplateType, Template> names = new EnumMap<>(LetterTemplateType.class);
+            Map<LetterTemplateType, Template> covers = new EnumMap<>(LetterTemplateType.class);
+
+            for (LetterTemplateType type : LetterTemplateType.values()) {
+                Map<String, String> entry = languageTemplates.getOrDefault(type.getValue(), emptyMap());
+                resolve(entry, NAME, languagePreference, type, names, missing);
+                if (type.isCoverSheetRequired()) {
+                    resolve(entry, COVER, languagePreference, type, covers, missing);
+                }
+            }
+
+            templates.put(languagePreference, names);
+            coverSheets.put(languagePreference, covers);
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing docmosis template config: " + String.join(", ", missing));
+        }
+        log.info("Resolved docmosis templates for {} languages and {} letter types",
+            LanguagePreference.values().length, LetterTemplateType.values().length);
+    }
+
+    private static void resolve(Map<String, String> entry, String attribute, LanguagePreference languagePreference,
+                                LetterTemplateType type, Map<LetterTemplateType, Template> resolved,
+                                List<String> missing) {
+        String templateName = stripToNull(entry.get(attribute));
+        if (templateName == null) {
+            missing.add(String.format("docmosis.template.%s.%s.%s",
+                languagePreference.name().toLowerCase(), type.getValue(), attribute));
+        } else {
+            resolved.put(type, new Template(templateName, type.getValue()));
+        }
+    }
+
+    public Template getTemplate(LanguagePreference languagePreference, LetterTemplateType type) {
+        return templates.get(languagePreference).get(type);
+    }
+
+    public Template getCoverSheet(LanguagePreference languagePreference, LetterTemplateType type) {
+        return coverSheets.get(languagePreference).get(type);
+    }
+}
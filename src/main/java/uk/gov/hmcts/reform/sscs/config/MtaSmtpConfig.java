@@ -1,11 +1,12 @@
 package uk.gov.hmcts.reform.sscs.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Properties;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 @Configuration
 public class MtaSmtpConfig {
@@ -22,9 +23,15 @@ public class MtaSmtpConfig {
     @Value("${appeal.email.smtp.ssl.trust}")
     private String smtpSslTrust;
 
+    @Value("${appeal.email.pool.size:2}")
+    private int poolSize;
+
+    @Value("${appeal.email.pool.borrow-timeout:PT30S}")
+    private Duration poolBorrowTimeout;
+
     @Bean("mtaMailSender")
-    public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+    public JavaMailSender javaMailSender(MeterRegistry meterRegistry) {
+        PooledJavaMailSender javaMailSender = new PooledJavaMailSender("mta", poolSize, poolBorrowTimeout, meterRegistry);
         javaMailSender.setHost(emailHost);
         javaMailSender.setPort(emailPort);
         Properties properties = new Properties();
@@ -0,0 +1,200 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sendletter.api.LetterWithPdfsRequest;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
+import uk.gov.hmcts.reform.sscs.jfr.DownstreamCallEvent;
+
+/**
+ * Times every call to a downstream service, so that the time a message spends can be broken down by where it went.
+ * Each call is recorded in the {@code outbound.call} timer, tagged with the dependency, the operation and the
+ * outcome, and the bytes sent and received are recorded in {@code outbound.call.bytes}.
+ *
+ * <p>The outcome is {@code success}, {@code failure} or {@code retry}, where {@code retry} is a call that succeeded
+ * after the same operation failed on the same thread within the retry window. Failures are also tagged with the
+ * exception's class. Each call is also raised as a {@link DownstreamCallEvent} for flight recordings.
+ *
+ * <p>Calls are timed where this application makes them, through the Spring proxies of the client beans, including
+ * send-letter's Feign client. A call a client makes to another of its own methods does not go through the proxy, so
+ * it is not timed on its own but as part of the call that made it: the token calls {@code IdamService.getIdamTokens}
+ * makes are in its time, say, rather than under {@code getIdamOauth2Token} and
+ * {@code generateServiceAuthorization}.
+ */
+@Aspect
+@Component
+public class OutboundCallMetrics {
+
+    static final String CALL_TIMER = "outbound.call";
+    static final String BYTES_SUMMARY = "outbound.call.bytes";
+
+    private final MeterRegistry meterRegistry;
+    private final long retryWindowNanos;
+    private final ThreadLocal<FailedCall> lastFailure = new ThreadLocal<>();
+
+    public OutboundCallMetrics(MeterRegistry meterRegistry,
+                               @Value("${outbound.metrics.retryWindow:PT1M}") Duration retryWindow) {
+        this.meterRegistry = meterRegistry;
+        this.retryWindowNanos = retryWindow.toNanos();
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.sscs.ccd.service.CcdService.getByCaseId(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.ccd.service.CcdService.updateCase(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.ccd.service.CcdService.findCaseBy(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.ccd.service.CcdService.setSupplementaryData(..))")
+    public Object ccd(ProceedingJoinPoint call) throws Throwable {
+        return measure("ccd", call);
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.sscs.idam.IdamService.getIdamTokens(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.idam.IdamService.getIdamOauth2Token(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.idam.IdamService.generateServiceAuthorization(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.idam.IdamService.getUserDetails(..))")
+    public Object idam(ProceedingJoinPoint call) throws Throwable {
+        return measure("idam", call);
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.sscs.service.PdfStoreService.download(..))"
+        + " || execution(* uk.gov.hmcts.reform.sscs.service.PdfStoreService.storeDocument(..))")
+    public Object pdfStore(ProceedingJoinPoint call) throws Throwable {
+        return measure("dm-store", call);
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.sscs.docmosis.service.PdfGenerationService.generatePdf(..))")
+    public Object pdfGeneration(ProceedingJoinPoint call) throws Throwable {
+        return measure("docmosis", call);
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.sendletter.api.SendLetterApi.sendLetter(..))")
+    public Object sendLetter(ProceedingJoinPoint call) throws Throwable {
+        return measure("send-letter", call);
+    }
+
+    @Around("execution(* uk.gov.hmcts.reform.sscs.service.CcdNotificationsPdfService.merge*(..))")
+    public Object ccdNotificationsPdf(ProceedingJoinPoint call) throws Throwable {
+        return measure("ccd-notifications-pdf", call);
+    }
+
+    @Around("execution(* org.springframework.mail.javamail.JavaMailSender.send(..))")
+    public Object smtp(ProceedingJoinPoint call) throws Throwable {
+        return measure("smtp", call);
+    }
+
+    Object measure(String dependency, ProceedingJoinPoint call) throws Throwable {
+        String operation = call.getSignature().getName();
+        long bytesSent = sizeOf(call.getArgs());
+        record(dependency, operation, "sent", bytesSent);
+        DownstreamCallEvent event = new DownstreamCallEvent(dependency, operation, bytesSent);
+        event.begin();
+
+        long start = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            long end = System.nanoTime();
+            String outcome = isRetry(dependency, operation, end) ? "retry" : "success";
+            timer(dependency, operation, outcome, "none").record(end - start, TimeUnit.NANOSECONDS);
+            long bytesReceived = sizeOf(result);
+            record(dependency, operation, "received", bytesReceived);
+            event.setBytesReceived(bytesReceived);
+            event.finish(outcome);
+            return result;
+        } catch (Throwable e) {
+            long end = System.nanoTime();
+            lastFailure.set(new FailedCall(dependency, operation, end));
+            timer(dependency, operation, "failure", exceptionName(e))
+                .record(end - start, TimeUnit.NANOSECONDS);
+            event.finish(exceptionName(e));
+            throw e;
+        }
+    }
+
+    private boolean isRetry(String dependency, String operation, long now) {
+        FailedCall failed = lastFailure.get();
+        if (failed == null) {
+            return false;
+        }
+        lastFailure.remove();
+        return failed.dependency.equals(dependency) && failed.operation.equals(operation)
+            && now - failed.at <= retryWindowNanos;
+    }
+
+    private Timer timer(String dependency, String operation, String outcome, String exception) {
+        return Timer.builder(CALL_TIMER)
+            .description("Time spent in calls to downstream services")
+            .tag("dependency", dependency)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private void record(String dependency, String operation, String direction, long bytes) {
+        if (bytes > 0) {
+            DistributionSummary.builder(BYTES_SUMMARY)
+                .description("Size of the documents sent to and received from downstream services")
+                .baseUnit("bytes")
+                .tag("dependency", dependency)
+                .tag("operation", operation)
+                .tag("direction", direction)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(bytes);
+        }
+    }
+
+    /**
+     * Adds up the documents in a call's arguments or result. Only document content is counted, such as PDF bytes or
+     * the base64 letters sent to bulk print, as that is what makes one call slower than the next.
+     */
+    static long sizeOf(Object payload) {
+        if (payload instanceof byte[]) {
+            return ((byte[]) payload).length;
+        }
+        if (payload instanceof Pdf) {
+            return sizeOf(((Pdf) payload).getContent());
+        }
+        long size = 0;
+        if (payload instanceof LetterWithPdfsRequest) {
+            // the letters are sent base64 encoded, which is ASCII, so one character is one byte
+            for (Object document : ((LetterWithPdfsRequest) payload).getDocuments()) {
+                size += document instanceof String ? ((String) document).length() : sizeOf(document);
+            }
+        } else if (payload instanceof Object[]) {
+            for (Object element : (Object[]) payload) {
+                size += sizeOf(element);
+            }
+        } else if (payload instanceof Collection) {
+            for (Object element : (Collection<?>) payload) {
+                size += sizeOf(element);
+            }
+        }
+        return size;
+    }
+
+    private static String exceptionName(Throwable e) {
+        String name = e.getClass().getSimpleName();
+        return name.isEmpty() ? e.getClass().getName() : name;
+    }
+
+    private static final class FailedCall {
+        private final String dependency;
+        private final String operation;
+        private final long at;
+
+        private FailedCall(String dependency, String operation, long at) {
+            this.dependency = dependency;
+            this.operation = operation;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.mail.Address;
+import javax.mail.AuthenticationFailedException;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps a small pool of connected and authenticated SMTP transports rather than
+ * opening, authenticating and closing a new connection for every email. Transports are checked with a NOOP when
+ * borrowed and replaced if the server has dropped them.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final String name;
+    private final Duration borrowTimeout;
+    private final Semaphore permits;
+    private final BlockingDeque<Transport> idle = new LinkedBlockingDeque<>();
+    private final Timer sendTimer;
+    private final Counter connectionsOpened;
+    private final Counter connectionsDiscarded;
+
+    public PooledJavaMailSender(String name, int maxConnections, Duration borrowTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+
+        this.sendTimer = Timer.builder("smtp.send")
+            .tag("sender", name)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.connectionsOpened = Counter.builder("smtp.pool.connections.opened").tag("sender", name)
+            .register(meterRegistry);
+        this.connectionsDiscarded = Counter.builder("smtp.pool.connections.discarded").tag("sender", name)
+            .register(meterRegistry);
+        Gauge.builder("smtp.pool.idle", idle, BlockingDeque::size).tag("sender", name).register(meterRegistry);
+        Gauge.builder("smtp.pool.active", permits, p -> maxConnections - p.availablePermits()).tag("sender", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Timer.Sample sample = Timer.start();
+        Transport transport = borrow();
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    if (transport == null) {
+                        transport = open();
+                    }
+                    prepare(mimeMessage);
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    Address[] recipients = addresses != null ? addresses : new Address[0];
+                    try {
+                        transport.sendMessage(mimeMessage, recipients);
+                    } catch (MessagingException ex) {
+                        if (transport.isConnected()) {
+                            throw ex;
+                        }
+                        log.info("SMTP connection for {} was closed while sending, reconnecting", name);
+                        discard(transport);
+                        transport = null;
+                        transport = open();
+                        transport.sendMessage(mimeMessage, recipients);
+                    }
+                } catch (Exception ex) {
+                    Object original = originalMessages != null ? originalMessages[i] : mimeMessage;
+                    failedMessages.put(original, ex);
+                }
+            }
+        } finally {
+            release(transport);
+            sample.stop(sendTimer);
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private static void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    private Transport borrow() {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException(String.format("Timed out waiting for an SMTP connection for %s", name));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted waiting for an SMTP connection", e);
+        }
+
+        try {
+            Transport transport;
+            while ((transport = idle.pollFirst()) != null) {
+                if (transport.isConnected()) {
+                    return transport;
+                }
+                discard(transport);
+            }
+            return open();
+        } catch (AuthenticationFailedException ex) {
+            permits.release();
+            throw new MailAuthenticationException(ex);
+        } catch (Exception ex) {
+            permits.release();
+            throw new MailSendException("Mail server connection failed", ex);
+        }
+    }
+
+    private Transport open() throws MessagingException {
+        Transport transport = connectTransport();
+        connectionsOpened.increment();
+        return transport;
+    }
+
+    private void release(Transport transport) {
+        if (transport != null) {
+            idle.offerFirst(transport);
+        }
+        permits.release();
+    }
+
+    private void discard(Transport transport) {
+        connectionsDiscarded.increment();
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection for {}", name, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Transport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            discard(transport);
+        }
+    }
+}
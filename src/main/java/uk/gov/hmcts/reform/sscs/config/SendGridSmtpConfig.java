@@ -1,12 +1,13 @@
 package uk.gov.hmcts.reform.sscs.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Properties;
 import javax.validation.constraints.NotEmpty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.validation.annotation.Validated;
 
 @Validated
@@ -19,6 +20,8 @@ public class SendGridSmtpConfig {
     private int port;
     @NotEmpty
     private String apiKey;
+    private int poolSize = 2;
+    private Duration poolBorrowTimeout = Duration.ofSeconds(30);
 
     public String getHost() {
         return host;
@@ -44,9 +47,26 @@ public class SendGridSmtpConfig {
         this.apiKey = apiKey;
     }
 
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public Duration getPoolBorrowTimeout() {
+        return poolBorrowTimeout;
+    }
+
+    public void setPoolBorrowTimeout(Duration poolBorrowTimeout) {
+        this.poolBorrowTimeout = poolBorrowTimeout;
+    }
+
     @Bean("sendGridMailSender")
-    public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+    public JavaMailSender javaMailSender(MeterRegistry meterRegistry) {
+        PooledJavaMailSender javaMailSender = new PooledJavaMailSender("sendgrid", poolSize, poolBorrowTimeout,
+            meterRegistry);
         javaMailSender.setHost(host);
         javaMailSender.setPort(port);
         javaMailSender.setUsername("apikey");
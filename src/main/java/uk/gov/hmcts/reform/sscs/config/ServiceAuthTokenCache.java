@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+
+/**
+ * The service-to-service token generator, with a way to drop the cached token. The token is not cached here: the
+ * library's auto-refreshing generator already holds it until shortly before it expires, and parsing the expiry out
+ * of the token again would only duplicate that. The library generator fetches a new token from within
+ * {@link #generate()} though, so {@link #refresh()} calls it in the background to keep that round trip off the
+ * callers. {@link #invalidate()} is for when a downstream service such as send-letter rejects the current token with
+ * a 401 before it is due to expire, which the library generator has no way to handle.
+ */
+@Slf4j
+public class ServiceAuthTokenCache implements AuthTokenGenerator {
+
+    private final Supplier<AuthTokenGenerator> generatorFactory;
+
+    private volatile AuthTokenGenerator generator;
+
+    public ServiceAuthTokenCache(Supplier<AuthTokenGenerator> generatorFactory) {
+        this.generatorFactory = generatorFactory;
+        this.generator = generatorFactory.get();
+    }
+
+    @Override
+    public String generate() {
+        return generator.generate();
+    }
+
+    /**
+     * Drops the cached token so the next call to {@link #generate()} fetches a new one. The library generator has no
+     * way to clear its token, so it is replaced with a new one.
+     */
+    public void invalidate() {
+        generator = generatorFactory.get();
+    }
+
+    /**
+     * Regenerates the token in the background when it is close to expiring, or after {@link #invalidate()}, so that
+     * callers are handed a cached token. A failure is left for the next call to {@link #generate()} to report.
+     */
+    @Scheduled(fixedDelayString = "${idam.s2s-auth.refreshInterval:60000}")
+    public void refresh() {
+        try {
+            generator.generate();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the service authorization token in the background", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.sscs.domain;
+
+import lombok.Getter;
+
+@Getter
+public enum LetterTemplateType {
+
+    DL6("dl6", false),
+    DL16("dl16", false),
+    D609_97("d609-97", false),
+    D609_98("d609-98", false),
+    GENERIC_LETTER("generic-letter", true),
+    POST_HEARING_APP_SOR_WRITTEN("postHearingAppSorWritten", true);
+
+    private final String value;
+    private final boolean coverSheetRequired;
+
+    LetterTemplateType(String value, boolean coverSheetRequired) {
+        this.value = value;
+        this.coverSheetRequired = coverSheetRequired;
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.sscs.exception;
+
+public class UnconfirmedBulkPrintException extends BulkPrintException {
+    public static final long serialVersionUID = 4383105766519250632L;
+
+    public UnconfirmedBulkPrintException(String message, Throwable exception) {
+        super(message, exception);
+    }
+
+    public UnconfirmedBulkPrintException(String message) {
+        super(message);
+    }
+}
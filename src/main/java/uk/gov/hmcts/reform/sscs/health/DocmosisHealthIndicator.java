@@ -1,17 +1,24 @@
 package uk.gov.hmcts.reform.sscs.health;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Reports the last Docmosis status seen by a background poll rather than calling Docmosis on every probe,
+ * so liveness and readiness probes are answered immediately whatever state Docmosis is in.
+ */
 @Component
 public class DocmosisHealthIndicator implements HealthIndicator {
 
@@ -20,6 +27,8 @@ public class DocmosisHealthIndicator implements HealthIndicator {
     private final String docmosisStatusUri;
     private final RestTemplate restTemplate;
 
+    private volatile DocmosisStatus lastStatus;
+
     public DocmosisHealthIndicator(
         @Value("${service.pdf-service.health.uri}") String docmosisStatusUri,
         RestTemplate restTemplate
@@ -28,7 +37,40 @@ public class DocmosisHealthIndicator implements HealthIndicator {
         this.restTemplate = restTemplate;
     }
 
+    @Scheduled(
+        initialDelayString = "${service.pdf-service.health.initial-delay:0}",
+        fixedDelayString = "${service.pdf-service.health.poll-interval:30000}"
+    )
+    public void refresh() {
+        long start = System.nanoTime();
+        Health health = checkDocmosis();
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        lastStatus = new DocmosisStatus(health, System.currentTimeMillis(), latencyMillis);
+    }
+
     public Health health() {
+        DocmosisStatus status = lastStatus;
+
+        if (status == null) {
+            return new Health.Builder().unknown().withDetail("reason", "Docmosis status not yet polled").build();
+        }
+
+        return new Health.Builder(status.getHealth().getStatus(), status.getHealth().getDetails())
+            .withDetail("ageMillis", System.currentTimeMillis() - status.getCheckedAt())
+            .withDetail("latencyMillis", status.getLatencyMillis())
+            .build();
+    }
+
+    /**
+     * Whether the last background poll found Docmosis ready. Cheap enough to call on the request path.
+     */
+    public boolean isDocmosisUp() {
+        DocmosisStatus status = lastStatus;
+        return status != null && Status.UP.equals(status.getHealth().getStatus());
+    }
+
+    private Health checkDocmosis() {
 
         try {
 
@@ -57,4 +99,11 @@ public class DocmosisHealthIndicator implements HealthIndicator {
             return new Health.Builder().down(e).build();
         }
     }
+
+    @lombok.Value
+    private static class DocmosisStatus {
+        Health health;
+        long checkedAt;
+        long latencyMillis;
+    }
 }
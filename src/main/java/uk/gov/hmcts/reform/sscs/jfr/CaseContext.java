@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import java.util.function.Supplier;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+
+/**
+ * The case and event the current thread is working on, so that flight recorder events raised deep in a call, such as
+ * a dm-store download, can be tied back to the message that caused them.
+ */
+public final class CaseContext {
+
+    private static final ThreadLocal<CaseContext> CURRENT = new ThreadLocal<>();
+
+    private final long caseId;
+    private final String eventType;
+
+    private CaseContext(long caseId, String eventType) {
+        this.caseId = caseId;
+        this.eventType = eventType;
+    }
+
+    public static void set(Callback<?> callback) {
+        if (callback != null && callback.getCaseDetails() != null) {
+            CURRENT.set(new CaseContext(callback.getCaseDetails().getId(),
+                callback.getEvent() == null ? null : callback.getEvent().getCcdType()));
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task that is handed to another thread, such as a download pool, so that it runs with the case of the
+     * thread that created it.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        CaseContext context = CURRENT.get();
+        return () -> {
+            CaseContext previous = CURRENT.get();
+            bind(context);
+            try {
+                return task.get();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    private static void bind(CaseContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    static CaseContext current() {
+        return CURRENT.get();
+    }
+
+    long getCaseId() {
+        return caseId;
+    }
+
+    String getEventType() {
+        return eventType;
+    }
+}
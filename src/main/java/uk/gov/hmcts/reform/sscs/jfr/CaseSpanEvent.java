@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base for the service's flight recorder events, each of which times one span of work for a case. The events are
+ * recorded only while a recording that enables them is running, for example one started with
+ * {@code jcmd <pid> JFR.start}, and otherwise cost no more than a check of whether they are enabled.
+ *
+ * <p>Call {@link #begin()} when the work starts and {@link #finish(String)} when it ends. The case id and event type
+ * are taken from the {@link CaseContext} unless they have been set on the event.
+ */
+@Category({"SSCS", "Evidence Share"})
+public abstract class CaseSpanEvent extends Event {
+
+    public static final String SUCCESS = "success";
+
+    @Label("Case Id")
+    protected long caseId;
+
+    @Label("Event Type")
+    protected String eventType;
+
+    @Label("Outcome")
+    protected String outcome;
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            CaseContext context = CaseContext.current();
+            if (context != null) {
+                if (caseId == 0) {
+                    caseId = context.getCaseId();
+                }
+                if (eventType == null) {
+                    eventType = context.getEventType();
+                }
+            }
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    public static String outcomeOf(Throwable e) {
+        return e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.hmcts.sscs.DownstreamCall")
+@Label("Downstream Call")
+public class DownstreamCallEvent extends CaseSpanEvent {
+
+    @Label("Dependency")
+    private String dependency;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    private long bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    private long bytesReceived;
+
+    public DownstreamCallEvent(String dependency, String operation, long bytesSent) {
+        this.dependency = dependency;
+        this.operation = operation;
+        this.bytesSent = bytesSent;
+    }
+
+    public void setBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.hmcts.sscs.Handler")
+@Label("Callback Handler")
+public class HandlerEvent extends CaseSpanEvent {
+
+    @Label("Handler")
+    private String handler;
+
+    public HandlerEvent(String handler, long caseId, String eventType) {
+        this.handler = handler;
+        this.caseId = caseId;
+        this.eventType = eventType;
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.hmcts.sscs.Message")
+@Label("Message")
+public class MessageEvent extends CaseSpanEvent {
+
+    @Label("Message Id")
+    private String messageId;
+
+    @Label("Message Size")
+    @DataAmount
+    private long bytes;
+
+    public MessageEvent(String messageId, long bytes) {
+        this.messageId = messageId;
+        this.bytes = bytes;
+    }
+}
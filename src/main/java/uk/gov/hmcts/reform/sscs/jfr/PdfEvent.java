@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("uk.gov.hmcts.sscs.Pdf")
+@Label("PDF Processing")
+public class PdfEvent extends CaseSpanEvent {
+
+    public static final String RESIZE = "resize";
+    public static final String MERGE = "merge";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Bytes In")
+    @DataAmount
+    private long bytesIn;
+
+    @Label("Bytes Out")
+    @DataAmount
+    private long bytesOut;
+
+    public PdfEvent(String operation, long bytesIn) {
+        this.operation = operation;
+        this.bytesIn = bytesIn;
+    }
+
+    public void setBytesOut(long bytesOut) {
+        this.bytesOut = bytesOut;
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.sscs.model;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class BulkPrintOutboxEntry {
+    String id;
+    long caseId;
+    String ccdCaseId;
+    String appellantName;
+    String recipient;
+    EventType eventType;
+    List<String> encodedData;
+    boolean sending;
+    UUID letterId;
+    int attempts;
+}
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment;
+
+/**
+ * Reads the size of an email attachment without reading its content. {@link Resource#contentLength()} only knows
+ * the size of in-memory and file resources; for anything else it reads the whole stream, which for a one-shot
+ * resource such as an {@code InputStreamResource} leaves nothing to send. The size of those is unknown.
+ */
+@Slf4j
+final class AttachmentSizes {
+
+    private AttachmentSizes() {
+    }
+
+    static OptionalLong sizeOf(EmailAttachment attachment) {
+        InputStreamSource data = attachment.getData();
+        if (data instanceof ByteArrayResource || data instanceof FileSystemResource) {
+            return contentLength((Resource) data, attachment);
+        }
+        if (data instanceof Resource && ((Resource) data).isFile()) {
+            try {
+                return OptionalLong.of(((Resource) data).getFile().length());
+            } catch (IOException e) {
+                log.warn("Cannot read size of attachment {}", attachment.getFilename());
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    private static OptionalLong contentLength(Resource resource, EmailAttachment attachment) {
+        try {
+            return OptionalLong.of(resource.contentLength());
+        } catch (IOException e) {
+            log.warn("Cannot read size of attachment {}", attachment.getFilename());
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+
+/**
+ * Remembers the letters sent to send-letter, so that a retry or redelivery of the same letter does not print it
+ * again. A letter is identified by the case, the event, the recipient and the kind of letter, together with either
+ * the message it is sent for or, outside of a message, a hash of its content. Within a message the message pins the
+ * evidence being sent, and the content is left out because cover letters are generated again on a retry and are
+ * never byte for byte the same. Outside of a message there is nothing else to tell two letters of the same kind
+ * apart, a second batch of evidence for the same party say, so the content is what identifies the letter.
+ *
+ * <p>A letter is marked as pending before it is first sent, and recorded as sent once send-letter accepts it. A send
+ * that fails without saying whether send-letter accepted the letter, such as a read timeout, leaves it pending. A
+ * pending letter is not sent again but logged and counted, so that it can be checked against send-letter. The key is
+ * also sent to send-letter in the letter's additional data, so the letter can be found there. Pending letters are
+ * also recorded in the {@link HandlerCheckpoint} of the message, so that a redelivery after a restart does not send
+ * them again either when the checkpoint journal is file backed; everything else is held in memory.
+ */
+@Component
+@Slf4j
+public class BulkPrintDuplicateFilter {
+
+    private static final String PENDING = "letter-pending:";
+    private static final String SETTLED = "letter-settled:";
+
+    private final Cache<String, UUID> sentLetters;
+    private final Cache<String, Boolean> pendingLetters;
+    private final Counter suppressed;
+    private final Counter unconfirmed;
+
+    @Autowired
+    public BulkPrintDuplicateFilter(MeterRegistry meterRegistry,
+                                    @Value("${send-letter.duplicates.windowMinutes:1440}") long windowMinutes,
+                                    @Value("${send-letter.duplicates.maxSize:10000}") long maxSize) {
+        this.sentLetters = CacheBuilder.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(windowMinutes))
+            .maximumSize(maxSize)
+            .build();
+        this.pendingLetters = CacheBuilder.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(windowMinutes))
+            .maximumSize(maxSize)
+            .build();
+        this.suppressed = Counter.builder("bulk_print.duplicates.suppressed")
+            .description("Letters not sent to send-letter because the same letter was already accepted")
+            .register(meterRegistry);
+        this.unconfirmed = Counter.builder("bulk_print.duplicates.unconfirmed")
+            .description("Letters not sent, or not sent again, because send-letter may already have accepted them")
+            .register(meterRegistry);
+    }
+
+    public String letterKey(String ccdCaseId, EventType event, String recipient, String letterKind,
+                            List<String> encodedData) {
+        String message = HandlerCheckpoint.current().getKey();
+        Hasher hasher = Hashing.sha256().newHasher()
+            .putString(String.valueOf(ccdCaseId), UTF_8).putByte((byte) 0)
+            .putString(event.getCcdType(), UTF_8).putByte((byte) 0)
+            .putString(String.valueOf(recipient), UTF_8).putByte((byte) 0)
+            .putString(String.valueOf(letterKind), UTF_8).putByte((byte) 0);
+        if (message != null) {
+            hasher.putString(message, UTF_8);
+        } else {
+            encodedData.forEach(pdf -> hasher.putString(pdf, UTF_8).putByte((byte) 0));
+        }
+        return hasher.hash().toString();
+    }
+
+    public Optional<UUID> findSent(String letterKey) {
+        UUID letterId = sentLetters.getIfPresent(letterKey);
+        if (letterId != null) {
+            suppressed.increment();
+        }
+        return Optional.ofNullable(letterId);
+    }
+
+    /**
+     * Whether an earlier send of the letter failed without saying whether send-letter accepted it.
+     */
+    public boolean isPending(String letterKey) {
+        HandlerCheckpoint checkpoint = HandlerCheckpoint.current();
+        return pendingLetters.getIfPresent(letterKey) != null
+            || checkpoint.isCompleted(PENDING + letterKey) && !checkpoint.isCompleted(SETTLED + letterKey);
+    }
+
+    public void markPending(String letterKey) {
+        pendingLetters.put(letterKey, Boolean.TRUE);
+        HandlerCheckpoint.current().completed(PENDING + letterKey);
+    }
+
+    public void recordSent(String letterKey, UUID letterId) {
+        sentLetters.put(letterKey, letterId);
+        settle(letterKey);
+    }
+
+    /**
+     * Records that send-letter did not accept the letter, so that it can be sent again.
+     */
+    public void recordNotSent(String letterKey) {
+        settle(letterKey);
+    }
+
+    /**
+     * Counts a letter that is not sent, or not sent again, because a send of it failed without saying whether
+     * send-letter accepted it. The letter is left pending.
+     */
+    public void recordUnconfirmed(String letterKey) {
+        unconfirmed.increment();
+        log.error("Letter {} may or may not have been accepted by send-letter, it is not sent again and needs "
+            + "checking against send-letter", letterKey);
+    }
+
+    private void settle(String letterKey) {
+        pendingLetters.invalidate(letterKey);
+        HandlerCheckpoint checkpoint = HandlerCheckpoint.current();
+        if (checkpoint.isCompleted(PENDING + letterKey)) {
+            checkpoint.completed(SETTLED + letterKey);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.exception.BulkPrintException;
+import uk.gov.hmcts.reform.sscs.exception.NonPdfBulkPrintException;
+import uk.gov.hmcts.reform.sscs.exception.UnconfirmedBulkPrintException;
+import uk.gov.hmcts.reform.sscs.model.BulkPrintOutboxEntry;
+
+/**
+ * File backed outbox for letters going to send-letter. A letter is written to the {@link FileSpool} and the caller
+ * returns straight away; the spool delivers it, retrying with a delay, and moves it to the failed directory if it
+ * cannot be printed or runs out of attempts.
+ *
+ * <p>Each letter is stored under the key of the letter it holds, so a letter submitted again while it is still
+ * queued, by a redelivered message say, is not queued twice. The attempts made are kept in the letter, so they carry
+ * over a restart.
+ */
+@Component
+@Slf4j
+public class BulkPrintOutbox {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FileSpool spool;
+
+    public BulkPrintOutbox(@Value("${send-letter.outbox.enabled:false}") boolean enabled,
+                           @Value("${send-letter.outbox.dir:}") String dir,
+                           @Value("${send-letter.outbox.workers:2}") int workers,
+                           @Value("${send-letter.outbox.maxAttempts:5}") int maxAttempts,
+                           @Value("${send-letter.outbox.retryDelay:60000}") long retryDelayMillis,
+                           MeterRegistry meterRegistry) {
+        this.spool = new FileSpool("bulk-print", enabled, dir, ".json", workers, maxAttempts, retryDelayMillis,
+            meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return spool.isEnabled();
+    }
+
+    /**
+     * Registers the delivery step and resubmits anything left on disk, by a previous run or submitted before the
+     * outbox was started.
+     */
+    public void start(Consumer<BulkPrintOutboxEntry> delivery) {
+        spool.start(new LetterDelivery(delivery));
+    }
+
+    public void submit(BulkPrintOutboxEntry entry) {
+        boolean queued;
+        try {
+            queued = spool.submit(entry.getId(), out -> out.write(objectMapper.writeValueAsBytes(entry)));
+        } catch (IOException e) {
+            throw new BulkPrintException("Unable to write letter " + entry.getId() + " to the bulk print outbox", e);
+        }
+        if (queued) {
+            log.info("Letter {} for case {} queued for bulk print", entry.getId(), entry.getCaseId());
+        } else {
+            log.info("Letter {} for case {} is already queued for bulk print", entry.getId(), entry.getCaseId());
+        }
+    }
+
+    /**
+     * Records that the letter is being sent, so that a delivery cut short before send-letter answers, by a restart
+     * say, is not sent again without first checking whether send-letter accepted it.
+     */
+    public void markSending(BulkPrintOutboxEntry entry) {
+        update(entry.toBuilder().sending(true).build());
+    }
+
+    /**
+     * Records that send-letter did not accept the letter, so that the retry sends it.
+     */
+    public void markNotSent(BulkPrintOutboxEntry entry) {
+        update(entry.toBuilder().sending(false).build());
+    }
+
+    /**
+     * Records that send-letter has accepted the letter, so a retry of a later step does not print it again.
+     */
+    public void markSent(BulkPrintOutboxEntry entry) {
+        update(entry);
+    }
+
+    private void update(BulkPrintOutboxEntry entry) {
+        try {
+            spool.update(entry.getId(), out -> out.write(objectMapper.writeValueAsBytes(entry)));
+        } catch (IOException e) {
+            throw new BulkPrintException("Unable to write letter " + entry.getId() + " to the bulk print outbox", e);
+        }
+    }
+
+    private BulkPrintOutboxEntry read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), BulkPrintOutboxEntry.class);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        spool.stop();
+    }
+
+    private class LetterDelivery implements FileSpool.Delivery {
+
+        private final Consumer<BulkPrintOutboxEntry> delivery;
+
+        LetterDelivery(Consumer<BulkPrintOutboxEntry> delivery) {
+            this.delivery = delivery;
+        }
+
+        @Override
+        public void deliver(Path file) throws IOException {
+            delivery.accept(read(file));
+        }
+
+        @Override
+        public boolean isRetryable(Exception failure) {
+            // an unreadable entry or a letter send-letter rejects will fail the same way every time, and a letter
+            // send-letter may already have accepted must be checked before it is sent again
+            return !(failure instanceof IOException || failure instanceof NonPdfBulkPrintException
+                || failure instanceof UnconfirmedBulkPrintException);
+        }
+
+        @Override
+        public int attempts(Path file) {
+            try {
+                return read(file).getAttempts();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public void retrying(Path file, int attempts) throws IOException {
+            update(read(file).toBuilder().attempts(attempts).build());
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package uk.gov.hmcts.reform.sscs.service;
 
 import static java.lang.String.format;
+import static java.util.Base64.getDecoder;
 import static java.util.Base64.getEncoder;
 
+import feign.FeignException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
 import java.util.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.multipdf.PDFMergerUtility;
@@ -12,17 +16,24 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import uk.gov.hmcts.reform.sendletter.api.LetterWithPdfsRequest;
 import uk.gov.hmcts.reform.sendletter.api.SendLetterApi;
 import uk.gov.hmcts.reform.sendletter.api.SendLetterResponse;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
+import uk.gov.hmcts.reform.sscs.config.ServiceAuthTokenCache;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
 import uk.gov.hmcts.reform.sscs.exception.BulkPrintException;
 import uk.gov.hmcts.reform.sscs.exception.NonPdfBulkPrintException;
+import uk.gov.hmcts.reform.sscs.exception.UnconfirmedBulkPrintException;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.jfr.CaseSpanEvent;
+import uk.gov.hmcts.reform.sscs.jfr.PdfEvent;
+import uk.gov.hmcts.reform.sscs.model.BulkPrintOutboxEntry;
 
 @Service
 @Slf4j
@@ -33,6 +44,7 @@ public class BulkPrintService implements PrintService {
     private static final String CASE_IDENTIFIER = "caseIdentifier";
     private static final String LETTER_TYPE_KEY = "letterType";
     private static final String APPELLANT_NAME = "appellantName";
+    private static final String IDEMPOTENCY_KEY = "idempotencyKey";
     public static final String RECIPIENTS = "recipients";
 
     private final SendLetterApi sendLetterApi;
@@ -41,52 +53,82 @@ public class BulkPrintService implements PrintService {
     private final Integer maxRetryAttempts;
     private final BulkPrintServiceHelper bulkPrintServiceHelper;
     private final CcdNotificationService ccdNotificationService;
+    private final BulkPrintOutbox bulkPrintOutbox;
+    private final BulkPrintDuplicateFilter bulkPrintDuplicateFilter;
+    private final ServiceAuthTokenCache serviceAuthTokenCache;
 
     @Autowired
     public BulkPrintService(SendLetterApi sendLetterApi,
                             IdamService idamService,
                             BulkPrintServiceHelper bulkPrintServiceHelper,
                             @Value("${send-letter.enabled}") boolean sendLetterEnabled,
-                            @Value("${send-letter.maxRetryAttempts}")Integer maxRetryAttempts, CcdNotificationService ccdNotificationService) {
+                            @Value("${send-letter.maxRetryAttempts}")Integer maxRetryAttempts, CcdNotificationService ccdNotificationService,
+                            BulkPrintOutbox bulkPrintOutbox, BulkPrintDuplicateFilter bulkPrintDuplicateFilter,
+                            ServiceAuthTokenCache serviceAuthTokenCache) {
         this.idamService = idamService;
         this.bulkPrintServiceHelper = bulkPrintServiceHelper;
         this.sendLetterApi = sendLetterApi;
         this.sendLetterEnabled = sendLetterEnabled;
         this.maxRetryAttempts = maxRetryAttempts;
         this.ccdNotificationService = ccdNotificationService;
+        this.bulkPrintOutbox = bulkPrintOutbox;
+        this.bulkPrintDuplicateFilter = bulkPrintDuplicateFilter;
+        this.serviceAuthTokenCache = serviceAuthTokenCache;
     }
 
-    public Optional<UUID> sendToBulkPrint(List<Pdf> pdfs, final SscsCaseData sscsCaseData, FurtherEvidenceLetterType letterType, EventType event, String recipient) {
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOutbox() {
+        bulkPrintOutbox.start(this::deliver);
+    }
+
+    public Optional<UUID> sendToBulkPrint(List<Pdf> pdfs, final SscsCaseData sscsCaseData, FurtherEvidenceLetterType letterType,
+                                          EventType event, String recipient, String letterKind) {
         if (bulkPrintServiceHelper.sendForReasonableAdjustment(sscsCaseData, letterType)) {
             log.info("Sending to bulk print service {} reasonable adjustments", sscsCaseData.getCcdCaseId());
             bulkPrintServiceHelper.saveAsReasonableAdjustment(sscsCaseData, pdfs, letterType);
         } else {
-            return sendToBulkPrint(pdfs, sscsCaseData, recipient);
+            return sendToBulkPrint(pdfs, sscsCaseData, event, recipient, letterKind);
         }
 
         return Optional.empty();
     }
 
-    public Optional<UUID> sendToBulkPrint(List<Pdf> pdfs, final SscsCaseData sscsCaseData, String recipient)
-        throws BulkPrintException {
+    public Optional<UUID> sendToBulkPrint(List<Pdf> pdfs, final SscsCaseData sscsCaseData, EventType event, String recipient,
+                                          String letterKind) throws BulkPrintException {
         if (sendLetterEnabled) {
-            List<String> encodedData = new ArrayList<>();
-            for (Pdf pdf : pdfs) {
-                encodedData.add(getEncoder().encodeToString(pdf.getContent()));
-            }
-            final String authToken = idamService.generateServiceAuthorization();
-            return sendLetterWithRetry(authToken, sscsCaseData, encodedData, 1, recipient);
+            List<String> encodedData = encode(pdfs);
+            String letterKey = bulkPrintDuplicateFilter.letterKey(sscsCaseData.getCcdCaseId(), event, recipient, letterKind,
+                encodedData);
+            return submitLetter(letterKey, sscsCaseData.getCcdCaseId(), getAppellantName(sscsCaseData), recipient, encodedData);
         }
         return Optional.empty();
     }
 
-    public Optional<UUID> sendToBulkPrint(long caseId, SscsCaseData caseData, List<Pdf> pdfs, EventType eventType, String recipient) {
-        Optional<UUID> id = sendToBulkPrint(pdfs, caseData, recipient);
+    /**
+     * Sends the letter and records it as correspondence on the case. When the bulk print outbox is enabled the
+     * letter is only queued here, so no send-letter id is returned.
+     */
+    public Optional<UUID> sendToBulkPrint(long caseId, SscsCaseData caseData, List<Pdf> pdfs, EventType eventType, String recipient,
+                                          String letterKind) {
+        if (sendLetterEnabled && bulkPrintOutbox.isEnabled()) {
+            List<String> encodedData = encode(pdfs);
+            bulkPrintOutbox.submit(BulkPrintOutboxEntry.builder()
+                .id(bulkPrintDuplicateFilter.letterKey(caseData.getCcdCaseId(), eventType, recipient, letterKind, encodedData))
+                .caseId(caseId)
+                .ccdCaseId(caseData.getCcdCaseId())
+                .appellantName(getAppellantName(caseData))
+                .recipient(recipient)
+                .eventType(eventType)
+                .encodedData(encodedData)
+                .build());
+            return Optional.empty();
+        }
+
+        Optional<UUID> id = sendToBulkPrint(pdfs, caseData, eventType, recipient, letterKind);
         Pdf letter = pdfs.get(0);
 
         if (id.isPresent()) {
-            ccdNotificationService.storeNotificationLetterIntoCcd(eventType, letter.getContent(), caseId, recipient);
-            log.info("Letter was sent for event {} and case {}, send-letter-service id {}", eventType.getCcdType(), caseId, id.get());
+            storeLetter(caseId, eventType, letter.getContent(), recipient, id.get());
         } else {
             log.error("Failed to send to bulk print for case {}. No print id returned", caseId);
         }
@@ -94,9 +136,44 @@ public class BulkPrintService implements PrintService {
         return id;
     }
 
+    void deliver(BulkPrintOutboxEntry entry) {
+        BulkPrintOutboxEntry sent = entry;
+        if (entry.getLetterId() == null) {
+            if (entry.isSending()) {
+                // an earlier delivery, before a restart say, stopped without saying whether the letter was accepted
+                throw unconfirmed(entry.getId(), entry.getCcdCaseId(), null);
+            }
+            bulkPrintOutbox.markSending(entry);
+            UUID letterId;
+            try {
+                letterId = submitLetter(entry.getId(), entry.getCcdCaseId(), entry.getAppellantName(),
+                    entry.getRecipient(), entry.getEncodedData())
+                    .orElseThrow(() -> new BulkPrintException("No print id returned for case " + entry.getCcdCaseId()));
+            } catch (UnconfirmedBulkPrintException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                bulkPrintOutbox.markNotSent(entry);
+                throw e;
+            }
+            sent = entry.toBuilder().letterId(letterId).build();
+            bulkPrintOutbox.markSent(sent);
+        }
+
+        byte[] letter = getDecoder().decode(sent.getEncodedData().get(0));
+        storeLetter(sent.getCaseId(), sent.getEventType(), letter, sent.getRecipient(), sent.getLetterId());
+    }
+
+    private void storeLetter(long caseId, EventType eventType, byte[] letter, String recipient, UUID letterId) {
+        ccdNotificationService.storeNotificationLetterIntoCcd(eventType, letter, caseId, recipient);
+        log.info("Letter was sent for event {} and case {}, send-letter-service id {}", eventType.getCcdType(), caseId, letterId);
+    }
+
     public byte[] buildBundledLetter(byte[] coverSheet, byte[] letter) {
         if (coverSheet != null) {
             PDDocument bundledLetter;
+            PdfEvent event = new PdfEvent(PdfEvent.MERGE,
+                (long) coverSheet.length + (letter == null ? 0 : letter.length));
+            event.begin();
 
             try {
                 bundledLetter = PDDocument.load(letter);
@@ -109,8 +186,11 @@ public class BulkPrintService implements PrintService {
                 bundledLetter.save(baos);
                 bundledLetter.close();
 
+                event.setBytesOut(baos.size());
+                event.finish(CaseSpanEvent.SUCCESS);
                 return baos.toByteArray();
             } catch (IOException e) {
+                event.finish(CaseSpanEvent.outcomeOf(e));
                 log.info("Failed to merge letter and coversheet with exception {}", e.getMessage());
             }
         }
@@ -118,47 +198,132 @@ public class BulkPrintService implements PrintService {
         return letter;
     }
 
-    private Optional<UUID> sendLetterWithRetry(String authToken, SscsCaseData sscsCaseData, List<String> encodedData,
-                                               Integer reTryNumber, String recipient) {
+    private Optional<UUID> submitLetter(String letterKey, String ccdCaseId, String appellantName, String recipient,
+                                        List<String> encodedData) {
+        Optional<UUID> previous = findSent(letterKey, ccdCaseId);
+        if (previous.isPresent()) {
+            return previous;
+        }
+        if (bulkPrintDuplicateFilter.isPending(letterKey)) {
+            throw unconfirmed(letterKey, ccdCaseId, null);
+        }
+
+        bulkPrintDuplicateFilter.markPending(letterKey);
+        final String authToken = idamService.generateServiceAuthorization();
+        return sendLetterWithRetry(authToken, letterKey, ccdCaseId, appellantName, encodedData, 1, recipient, false);
+    }
+
+    private Optional<UUID> findSent(String letterKey, String ccdCaseId) {
+        Optional<UUID> previous = bulkPrintDuplicateFilter.findSent(letterKey);
+        previous.ifPresent(letterId -> log.info(
+            "Letter for case {} was already accepted by send-letter with id {}, not sending it again", ccdCaseId, letterId));
+        return previous;
+    }
+
+    private Optional<UUID> sendLetterWithRetry(String authToken, String letterKey, String ccdCaseId, String appellantName,
+                                               List<String> encodedData, Integer reTryNumber, String recipient,
+                                               boolean tokenRefreshed) {
         try {
-            return sendLetter(authToken, sscsCaseData, encodedData, recipient);
+            Optional<UUID> id = sendLetter(authToken, letterKey, ccdCaseId, appellantName, encodedData, recipient);
+            id.ifPresent(letterId -> bulkPrintDuplicateFilter.recordSent(letterKey, letterId));
+            return id;
+        } catch (HttpClientErrorException.Unauthorized | FeignException.Unauthorized e) {
+            if (tokenRefreshed) {
+                bulkPrintDuplicateFilter.recordNotSent(letterKey);
+                throw new BulkPrintException(format("Failed to send to bulk print for case %s with error %s.",
+                    ccdCaseId, e.getMessage()), e);
+            }
+            log.info("Service authorization rejected by send-letter for case {}, refreshing token and retrying once",
+                ccdCaseId);
+            serviceAuthTokenCache.invalidate();
+            return sendLetterWithRetry(idamService.generateServiceAuthorization(), letterKey, ccdCaseId, appellantName,
+                encodedData, reTryNumber, recipient, true);
         } catch (HttpClientErrorException e) {
+            bulkPrintDuplicateFilter.recordNotSent(letterKey);
             log.info(format("Failed to send to bulk print for case %s with error %s. Non-pdf's/broken pdf's seen in list of documents, please correct.",
-                sscsCaseData.getCcdCaseId(), e.getMessage()));
+                ccdCaseId, e.getMessage()));
             throw new NonPdfBulkPrintException(e);
 
         } catch (Exception e) {
+            if (!wasNotAccepted(e)) {
+                // a read timeout, say, after send-letter may already have accepted the letter, so sending it again
+                // could print it twice
+                throw unconfirmed(letterKey, ccdCaseId, e);
+            }
             if (reTryNumber > maxRetryAttempts) {
+                bulkPrintDuplicateFilter.recordNotSent(letterKey);
                 String message = format("Failed to send to bulk print for case %s with error %s.",
-                    sscsCaseData.getCcdCaseId(), e.getMessage());
+                    ccdCaseId, e.getMessage());
                 throw new BulkPrintException(message, e);
             }
             log.info(String.format("Caught recoverable error %s, retrying %s out of %s",
                 e.getMessage(), reTryNumber, maxRetryAttempts));
-            return sendLetterWithRetry(authToken, sscsCaseData, encodedData, reTryNumber + 1, recipient);
+            return sendLetterWithRetry(authToken, letterKey, ccdCaseId, appellantName, encodedData, reTryNumber + 1, recipient,
+                tokenRefreshed);
+        }
+    }
+
+    /**
+     * Whether the failure shows send-letter did not accept the letter: it could not be reached, or it answered with a
+     * client error or as unavailable. Anything else, a read timeout or a server error say, could have come after the
+     * letter was accepted.
+     */
+    private static boolean wasNotAccepted(Exception failure) {
+        if (failure instanceof FeignException) {
+            int status = ((FeignException) failure).status();
+            if (status >= 400 && status < 500 || status == 503) {
+                return true;
+            }
         }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private Optional<UUID> sendLetter(String authToken, SscsCaseData sscsCaseData, List<String> encodedData, String recipient) {
+    private UnconfirmedBulkPrintException unconfirmed(String letterKey, String ccdCaseId, Exception cause) {
+        bulkPrintDuplicateFilter.recordUnconfirmed(letterKey);
+        return new UnconfirmedBulkPrintException(format("An earlier send of letter %s for case %s failed without saying "
+            + "whether send-letter accepted it, it is not sent again", letterKey, ccdCaseId), cause);
+    }
+
+    private Optional<UUID> sendLetter(String authToken, String letterKey, String ccdCaseId, String appellantName,
+                                      List<String> encodedData, String recipient) {
         SendLetterResponse sendLetterResponse = sendLetterApi.sendLetter(
             authToken,
             new LetterWithPdfsRequest(
                 encodedData,
                 XEROX_TYPE_PARAMETER,
-                getAdditionalData(sscsCaseData, recipient)
+                getAdditionalData(letterKey, ccdCaseId, appellantName, recipient)
             )
         );
         log.info("Letter service produced the following letter Id {} for case {}",
-            sendLetterResponse.letterId, sscsCaseData.getCcdCaseId());
+            sendLetterResponse.letterId, ccdCaseId);
 
         return Optional.of(sendLetterResponse.letterId);
     }
 
-    private static Map<String, Object> getAdditionalData(final SscsCaseData sscsCaseData, String recipient) {
+    private static List<String> encode(List<Pdf> pdfs) {
+        List<String> encodedData = new ArrayList<>();
+        for (Pdf pdf : pdfs) {
+            encodedData.add(getEncoder().encodeToString(pdf.getContent()));
+        }
+        return encodedData;
+    }
+
+    private static String getAppellantName(final SscsCaseData sscsCaseData) {
+        return sscsCaseData.getAppeal().getAppellant().getName().getFullNameNoTitle();
+    }
+
+    private static Map<String, Object> getAdditionalData(String letterKey, String ccdCaseId, String appellantName,
+                                                         String recipient) {
         Map<String, Object> additionalData = new HashMap<>();
         additionalData.put(LETTER_TYPE_KEY, "sscs-data-pack");
-        additionalData.put(CASE_IDENTIFIER, sscsCaseData.getCcdCaseId());
-        additionalData.put(APPELLANT_NAME, sscsCaseData.getAppeal().getAppellant().getName().getFullNameNoTitle());
+        additionalData.put(IDEMPOTENCY_KEY, letterKey);
+        additionalData.put(CASE_IDENTIFIER, ccdCaseId);
+        additionalData.put(APPELLANT_NAME, appellantName);
         additionalData.put(RECIPIENTS, getRecipients(recipient));
         return additionalData;
     }
@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.OTHER_PARTY_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.OTHER_PARTY_REPRESENTATIVE_EVIDENCE;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.AbstractDocument;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsDocument;
+
+/**
+ * Index over a case's documents, built in one pass, for issuing further evidence. Issuing looks up the documents not
+ * yet issued for each document type and other party sender, and the case document for each resized document by its
+ * binary url; without the index each of those lookups scanned every document on the case. Documents keep the order
+ * they have on the case. The index is not updated if the documents change after it is built.
+ */
+@SuppressWarnings("rawtypes")
+public final class CaseDocumentIndex {
+
+    private static final String NOT_ISSUED = "No";
+
+    private final List<? extends AbstractDocument> documents;
+    private final Map<String, List<AbstractDocument>> notIssuedByType = new HashMap<>();
+    private final Map<String, Map<String, List<AbstractDocument>>> notIssuedByTypeAndSender = new HashMap<>();
+    private final Map<String, AbstractDocument> firstNotIssuedByOtherPartySender = new LinkedHashMap<>();
+    private final Map<String, SscsDocument> byBinaryUrl = new HashMap<>();
+
+    private CaseDocumentIndex(List<? extends AbstractDocument> documents) {
+        this.documents = documents == null ? Collections.emptyList() : documents;
+        for (AbstractDocument document : this.documents) {
+            if (document != null && document.getValue() != null) {
+                add(document);
+            }
+        }
+    }
+
+    public static CaseDocumentIndex of(List<? extends AbstractDocument> documents) {
+        return new CaseDocumentIndex(documents);
+    }
+
+    private void add(AbstractDocument document) {
+        String type = document.getValue().getDocumentType();
+        if (type != null && NOT_ISSUED.equals(document.getValue().getEvidenceIssued())) {
+            String sender = document.getValue().getOriginalSenderOtherPartyId();
+            notIssuedByType.computeIfAbsent(type, key -> new ArrayList<>()).add(document);
+            notIssuedByTypeAndSender.computeIfAbsent(type, key -> new HashMap<>())
+                .computeIfAbsent(sender, key -> new ArrayList<>()).add(document);
+            if (OTHER_PARTY_EVIDENCE.getValue().equals(type) || OTHER_PARTY_REPRESENTATIVE_EVIDENCE.getValue().equals(type)) {
+                firstNotIssuedByOtherPartySender.putIfAbsent(sender, document);
+            }
+        }
+        if (document instanceof SscsDocument && document.getValue().getDocumentLink() != null) {
+            String binaryUrl = document.getValue().getDocumentLink().getDocumentBinaryUrl();
+            if (binaryUrl != null) {
+                byBinaryUrl.putIfAbsent(binaryUrl, (SscsDocument) document);
+            }
+        }
+    }
+
+    public List<? extends AbstractDocument> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * The documents of the type not yet issued, only those sent by the other party when an other party id is given.
+     */
+    public List<AbstractDocument> notIssued(DocumentType documentType, String otherPartyOriginalSenderId) {
+        if (otherPartyOriginalSenderId == null) {
+            return notIssuedByType.getOrDefault(documentType.getValue(), Collections.emptyList());
+        }
+        return notIssuedByTypeAndSender.getOrDefault(documentType.getValue(), Collections.emptyMap())
+            .getOrDefault(otherPartyOriginalSenderId, Collections.emptyList());
+    }
+
+    /**
+     * One not yet issued other party or other party representative document for each original sender.
+     */
+    public Collection<AbstractDocument> firstNotIssuedPerOtherPartySender() {
+        return firstNotIssuedByOtherPartySender.values();
+    }
+
+    public Optional<SscsDocument> findByBinaryUrl(String binaryUrl) {
+        return Optional.ofNullable(byBinaryUrl.get(binaryUrl));
+    }
+}
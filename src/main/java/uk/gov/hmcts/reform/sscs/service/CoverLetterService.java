@@ -84,6 +84,21 @@ public class CoverLetterService {
         return generateCoverLetterRetry(letterType, templateName, hmctsDocName, placeholders, 1);
     }
 
+    public byte[] generateCoverLetter(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                      FurtherEvidenceLetterType letterType, String templateName,
+                                      String hmctsDocName, String otherPartyId) {
+
+        requireNonNull(caseData, "caseData must not be null");
+
+        Map<String, Object> placeholders = furtherEvidencePlaceholderService.populatePlaceholders(casePlaceholders,
+            caseData, letterType, otherPartyId);
+        return generateCoverLetterRetry(letterType, templateName, hmctsDocName, placeholders, 1);
+    }
+
+    public Map<String, Object> buildCasePlaceholders(SscsCaseData caseData) {
+        return furtherEvidencePlaceholderService.buildCasePlaceholders(caseData);
+    }
+
     public byte[] generateCoverLetterRetry(FurtherEvidenceLetterType letterType, String templateName,
                                            String hmctsDocName, Map<String, Object> placeholders, int retries) {
         try {
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment;
+
+/**
+ * The documents downloaded from dm-store for one email, each written to a temporary file as soon as it arrives.
+ * {@link PdfStoreService} hands back a whole document as a byte array, so a download is still read into memory, but
+ * only until it is written out; the documents for a case are not all held in memory while the rest are downloaded
+ * and the email is built and sent. The attachments read the files when the email is written, and are sized from
+ * them. The files are deleted on close, which is once the email has been sent or written to the email outbox.
+ */
+@Slf4j
+final class DownloadSpool implements AutoCloseable {
+
+    private final List<Path> files = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * Writes a download to a temporary file, or returns null when nothing was downloaded.
+     */
+    Resource write(byte[] content) {
+        if (content == null) {
+            return null;
+        }
+        Path file;
+        try {
+            file = Files.createTempFile("dm-store-", ".download");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create a file for the download", e);
+        }
+        try {
+            Files.write(file, content);
+        } catch (IOException e) {
+            delete(file);
+            throw new UncheckedIOException("Unable to write the download to " + file, e);
+        }
+        synchronized (this) {
+            if (!closed) {
+                files.add(file);
+                return new FileSystemResource(file);
+            }
+        }
+        // the email was given up on while this was downloading
+        delete(file);
+        throw new CancellationException("The download is no longer needed");
+    }
+
+    static EmailAttachment attachment(Resource download, String filename) {
+        return EmailAttachment.builder()
+            .data(download)
+            .contentType(URLConnection.guessContentTypeFromName(filename))
+            .filename(filename)
+            .build();
+    }
+
+    static EmailAttachment pdfAttachment(Resource download, String filename) {
+        return EmailAttachment.builder()
+            .data(download)
+            .contentType("application/pdf")
+            .filename(filename)
+            .build();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        files.forEach(DownloadSpool::delete);
+        files.clear();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete downloaded document {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.model.dwp.OfficeMapping;
+
+/**
+ * Index of DWP office mappings by benefit code and office name, in front of {@link DwpAddressLookupService}, which
+ * searches the office config with string comparisons on every call. An office is resolved once and every later
+ * lookup is two hash map reads. The index is cleared when the office config changes.
+ */
+@Component
+@Slf4j
+public class DwpOfficeIndex {
+
+    private final DwpAddressLookupService dwpAddressLookupService;
+    private final int maxOfficesPerBenefit;
+    private final Map<String, Map<String, Optional<OfficeMapping>>> officesByBenefit = new ConcurrentHashMap<>();
+
+    public DwpOfficeIndex(DwpAddressLookupService dwpAddressLookupService,
+                          @Value("${dwp.officeIndex.maxOfficesPerBenefit:500}") int maxOfficesPerBenefit) {
+        this.dwpAddressLookupService = dwpAddressLookupService;
+        this.maxOfficesPerBenefit = maxOfficesPerBenefit;
+    }
+
+    /**
+     * Returns the mapping for the office as {@link DwpAddressLookupService#getDwpMappingByOffice} would. Office
+     * names come from case data, so they are trimmed before they are resolved and keyed ignoring case, the way the
+     * lookup service matches them; "DWP PIP (1)", "dwp pip (1)" and "DWP PIP (1) " share one entry.
+     */
+    public Optional<OfficeMapping> getDwpMappingByOffice(String benefitCode, String office) {
+        if (benefitCode == null || office == null) {
+            return dwpAddressLookupService.getDwpMappingByOffice(benefitCode, office);
+        }
+
+        String trimmed = office.trim();
+        String key = trimmed.toLowerCase(Locale.ROOT);
+        Map<String, Optional<OfficeMapping>> offices = officesByBenefit.get(benefitCode);
+        if (offices != null) {
+            Optional<OfficeMapping> mapping = offices.get(key);
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+        return resolve(benefitCode, trimmed, key);
+    }
+
+    private Optional<OfficeMapping> resolve(String benefitCode, String office, String key) {
+        Optional<OfficeMapping> mapping = dwpAddressLookupService.getDwpMappingByOffice(benefitCode, office);
+        Map<String, Optional<OfficeMapping>> offices =
+            officesByBenefit.computeIfAbsent(benefitCode, benefit -> new ConcurrentHashMap<>());
+        // office names come from case data, so stop adding rather than let unexpected values grow the index
+        if (offices.size() < maxOfficesPerBenefit) {
+            offices.put(key, mapping);
+        }
+        return mapping;
+    }
+
+    /**
+     * Drops every resolved office so the next lookups are resolved against the current office config.
+     */
+    public void reload() {
+        officesByBenefit.clear();
+        log.info("DWP office index cleared");
+    }
+
+    @EventListener(EnvironmentChangeEvent.class)
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith("dwp"))) {
+            reload();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import javax.mail.util.SharedFileInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.exception.EmailSendFailedException;
+
+/**
+ * File backed spool for outgoing emails. The built MIME message is written to the {@link FileSpool} and the caller
+ * returns as soon as the write is durable; the spool sends it over SMTP, retrying with a delay, and deletes it once
+ * the mail server has accepted it, or moves it to the failed directory once it runs out of attempts.
+ */
+@Component
+@Slf4j
+public class EmailOutbox {
+
+    private final EmailSenderProvider emailSenderProvider;
+    private final FileSpool spool;
+
+    public EmailOutbox(EmailSenderProvider emailSenderProvider,
+                       @Value("${appeal.email.outbox.enabled:false}") boolean enabled,
+                       @Value("${appeal.email.outbox.dir:}") String dir,
+                       @Value("${appeal.email.outbox.workers:2}") int workers,
+                       @Value("${appeal.email.outbox.maxAttempts:5}") int maxAttempts,
+                       @Value("${appeal.email.outbox.retryDelay:60000}") long retryDelayMillis,
+                       MeterRegistry meterRegistry) {
+        this.emailSenderProvider = emailSenderProvider;
+        this.spool = new FileSpool("email", enabled, dir, ".eml", workers, maxAttempts, retryDelayMillis, meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return spool.isEnabled();
+    }
+
+    /**
+     * Creates the spool directories and resubmits anything left on disk, by a previous run or submitted before the
+     * outbox was started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        spool.start(this::send);
+    }
+
+    public void submit(long caseId, MimeMessage message) {
+        String id = caseId + "-" + UUID.randomUUID();
+        try {
+            spool.submit(id, out -> {
+                try {
+                    message.writeTo(out);
+                } catch (MessagingException e) {
+                    throw new IOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new EmailSendFailedException("Unable to write email " + id + " to the email outbox", e);
+        }
+        log.info("Case [{}] email queued for sending as {}", caseId, id);
+    }
+
+    private void send(Path file) throws IOException, MessagingException {
+        JavaMailSender mailSender = emailSenderProvider.getMailSender();
+        // a SharedFileInputStream lets the message read its body straight from the spool file while it is
+        // written to the SMTP connection, rather than copying it into memory first
+        try (SharedFileInputStream in = new SharedFileInputStream(file.toFile())) {
+            MimeMessage message = mailSender.createMimeMessage(in);
+            mailSender.send(message);
+        }
+        log.info("Email {} sent", file.getFileName());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        spool.stop();
+    }
+}
@@ -1,11 +1,10 @@
 package uk.gov.hmcts.reform.sscs.service;
 
+import java.util.OptionalLong;
 import javax.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.InputStreamSource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.retry.annotation.Backoff;
@@ -21,7 +20,12 @@ import uk.gov.hmcts.reform.sscs.exception.EmailSendFailedException;
 public class EmailService {
 
     private final EmailSenderProvider emailSenderProvider;
+    private final EmailOutbox emailOutbox;
 
+    /**
+     * Builds the email and sends it, or hands it to the email outbox when that is enabled so the caller only
+     * waits for the spool write.
+     */
     @Retryable(value = EmailSendFailedException.class,
         backoff = @Backoff(delay = 100, maxDelay = 500))
     public void sendEmail(long caseId, final Email email) {
@@ -38,11 +42,12 @@ public class EmailService {
             long attachmentsSize = 0;
             if (email.hasAttachments()) {
                 for (EmailAttachment emailAttachment : email.getAttachments()) {
-                    InputStreamSource data = emailAttachment.getData();
-                    if (data instanceof ByteArrayResource) {
-                        attachmentsSize += ((ByteArrayResource) data).contentLength();
+                    OptionalLong size = AttachmentSizes.sizeOf(emailAttachment);
+                    if (size.isPresent()) {
+                        attachmentsSize += size.getAsLong();
                     } else {
-                        log.error("Cannot calculate attachment size as not a ByteArrayResource when expected to be.");
+                        log.info("Size of attachment {} is not known before it is sent",
+                            emailAttachment.getFilename());
                     }
                     mimeMessageHelper.addAttachment(emailAttachment.getFilename(),
                         emailAttachment.getData(),
@@ -52,7 +57,11 @@ public class EmailService {
 
             log.info("Case [{}] sending email with subject [{}] of [{}] bytes with [{}] bytes of attachments.",
                 caseId, email.getSubject(), message.getSize(), attachmentsSize);
-            mailSender.send(message);
+            if (emailOutbox.isEnabled()) {
+                emailOutbox.submit(caseId, message);
+            } else {
+                mailSender.send(message);
+            }
         } catch (Exception e) {
             log.error("Error while sending email {} ", e.getMessage(), e);
             throw new EmailSendFailedException("Error while sending email", e);
@@ -1,31 +1,126 @@
 package uk.gov.hmcts.reform.sscs.service;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.launchdarkly.sdk.LDContext;
-import com.launchdarkly.sdk.server.LDClient;
+import com.launchdarkly.sdk.server.interfaces.DataSourceStatusProvider;
+import com.launchdarkly.sdk.server.interfaces.LDClientInterface;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Serves feature flags from an immutable snapshot rather than asking LaunchDarkly on every call. The snapshot is
+ * filled when the service starts and replaced whenever LaunchDarkly reports a flag change, and every snapshot is saved
+ * to a file. If LaunchDarkly cannot be reached at startup the flags are read back from that file, and failing that
+ * the defaults are used until LaunchDarkly comes back.
+ */
 @Service
+@Slf4j
 public class FeatureToggleService {
 
-    private final LDClient ldClient;
-    private final String ldUserKey;
+    static final String SEND_GRID = "send-grid";
+
+    private static final Map<String, Boolean> DEFAULTS = Map.of(SEND_GRID, false);
+    private static final TypeReference<Map<String, Boolean>> FLAGS_TYPE = new TypeReference<>() {};
+
+    private final LDClientInterface ldClient;
+    private final LDContext context;
+    private final Path snapshotFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Map<String, Boolean> flags;
+    private volatile boolean connected;
 
     @Autowired
-    public FeatureToggleService(LDClient ldClient, @Value("${ld.user-key}") String ldUserKey) {
+    public FeatureToggleService(LDClientInterface ldClient,
+                                @Value("${ld.user-key}") String ldUserKey,
+                                @Value("${ld.snapshot-file:/tmp/sscs-evidence-share-flags.json}") String snapshotFile) {
         this.ldClient = ldClient;
-        this.ldUserKey = ldUserKey;
+        this.context = LDContext.create(ldUserKey);
+        this.snapshotFile = Paths.get(snapshotFile);
+
+        if (ldClient.isInitialized()) {
+            refresh();
+        } else {
+            flags = loadLastKnownGood();
+        }
+
+        DEFAULTS.keySet().forEach(flag -> ldClient.getFlagTracker().addFlagValueChangeListener(flag, context,
+            event -> update(flag, event.getNewValue().booleanValue())));
+        ldClient.getDataSourceStatusProvider().addStatusListener(this::onStatusChange);
     }
 
     public boolean isSendGridEnabled() {
-        return ldClient.boolVariation("send-grid", createLdContext(), false);
+        return flags.get(SEND_GRID);
+    }
+
+    private void onStatusChange(DataSourceStatusProvider.Status status) {
+        boolean valid = status.getState() == DataSourceStatusProvider.State.VALID;
+        if (valid && !connected) {
+            log.info("LaunchDarkly connection is back, refreshing feature flags");
+            refresh();
+        } else if (!valid && connected) {
+            log.warn("LaunchDarkly connection is {}, serving the last known feature flags", status.getState());
+            connected = false;
+        }
     }
 
-    private LDContext createLdContext() {
-        var contextBuilder = LDContext.builder(ldUserKey)
-            .set("timestamp", String.valueOf(System.currentTimeMillis()));
+    private synchronized void refresh() {
+        Map<String, Boolean> current = new HashMap<>();
+        DEFAULTS.forEach((flag, defaultValue) -> current.put(flag, ldClient.boolVariation(flag, context, defaultValue)));
+        connected = true;
+        publish(current);
+    }
+
+    private synchronized void update(String flag, boolean value) {
+        log.info("Feature flag {} changed to {}", flag, value);
+        Map<String, Boolean> current = new HashMap<>(flags);
+        current.put(flag, value);
+        publish(current);
+    }
+
+    private void publish(Map<String, Boolean> current) {
+        flags = Map.copyOf(current);
+        saveLastKnownGood(flags);
+    }
+
+    private Map<String, Boolean> loadLastKnownGood() {
+        Map<String, Boolean> loaded = new HashMap<>(DEFAULTS);
+        if (Files.exists(snapshotFile)) {
+            try {
+                objectMapper.readValue(snapshotFile.toFile(), FLAGS_TYPE).forEach((flag, value) -> {
+                    if (DEFAULTS.containsKey(flag) && value != null) {
+                        loaded.put(flag, value);
+                    }
+                });
+                log.warn("LaunchDarkly is not available, using feature flags last saved to {}", snapshotFile);
+            } catch (IOException e) {
+                log.error("Unable to read feature flags from {}, using defaults", snapshotFile, e);
+            }
+        } else {
+            log.warn("LaunchDarkly is not available and no saved feature flags were found, using defaults");
+        }
+        return Map.copyOf(loaded);
+    }
 
-        return contextBuilder.build();
+    private void saveLastKnownGood(Map<String, Boolean> current) {
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), current);
+            Files.move(tmp, snapshotFile, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Unable to save feature flags to {}", snapshotFile, e);
+        }
     }
 }
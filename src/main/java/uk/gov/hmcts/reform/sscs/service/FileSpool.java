@@ -0,0 +1,235 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * File backed queue behind the bulk print and email outboxes. An item is written to a temporary file, forced to disk
+ * and renamed into place, so the caller can return as soon as the write is durable and a crash never leaves half an
+ * item to deliver. A small worker pool hands each item to the outbox's delivery, retrying with a delay, and deletes
+ * it once delivered. Items that cannot be delivered, or run out of attempts, are moved to a {@code failed} directory
+ * and counted in {@code outbox.dead_lettered} so they can be alerted on and dealt with by hand. Items still on disk
+ * when the service stops are delivered on the next start, so the directory must be on a volume that outlives the pod.
+ */
+@Slf4j
+final class FileSpool {
+
+    interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    interface Delivery {
+        void deliver(Path file) throws Exception;
+
+        /**
+         * Whether a failed item is worth trying again; if not it goes straight to the failed directory.
+         */
+        default boolean isRetryable(Exception failure) {
+            return true;
+        }
+
+        /**
+         * The attempts already made to deliver the item, for outboxes that keep the count in the item so that it
+         * carries over a restart.
+         */
+        default int attempts(Path file) {
+            return 0;
+        }
+
+        /**
+         * Called before a failed item is scheduled to be tried again.
+         */
+        default void retrying(Path file, int attempts) throws IOException {
+        }
+    }
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final String name;
+    private final boolean enabled;
+    private final Path pendingDir;
+    private final Path failedDir;
+    private final String suffix;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Counter deadLettered;
+    private final Map<Path, Integer> attempts = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor;
+
+    private volatile Delivery delivery;
+
+    FileSpool(String name, boolean enabled, String dir, String suffix, int workers, int maxAttempts,
+              long retryDelayMillis, MeterRegistry meterRegistry) {
+        if (enabled && (dir == null || dir.isBlank())) {
+            throw new IllegalStateException("The " + name + " outbox is enabled but has no directory set, "
+                + "it must be set to a mounted volume");
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.pendingDir = Paths.get(dir == null ? "" : dir);
+        this.failedDir = pendingDir.resolve("failed");
+        this.suffix = suffix;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.deadLettered = Counter.builder("outbox.dead_lettered")
+            .tag("outbox", name)
+            .description("Outbox items moved to the failed directory because they could not be delivered")
+            .register(meterRegistry);
+        if (enabled) {
+            executor = new ScheduledThreadPoolExecutor(workers,
+                new ThreadFactoryBuilder().setNameFormat(name + "-outbox-%d").setDaemon(true).build());
+            // items waiting for a retry stay on disk and are picked up on the next start
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        } else {
+            executor = null;
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers the delivery step and queues everything on disk, whether left by a previous run or submitted before
+     * the spool was started.
+     */
+    synchronized void start(Delivery delivery) {
+        if (!enabled || this.delivery != null) {
+            return;
+        }
+        this.delivery = delivery;
+
+        try {
+            Files.createDirectories(failedDir);
+            int recovered = 0;
+            try (DirectoryStream<Path> pending = Files.newDirectoryStream(pendingDir, "*" + suffix)) {
+                for (Path file : pending) {
+                    schedule(file, 0);
+                    recovered++;
+                }
+            }
+            log.info("The {} outbox started in {}, {} pending items recovered", name, pendingDir, recovered);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the " + name + " outbox " + pendingDir, e);
+        }
+    }
+
+    /**
+     * Writes the item and queues it for delivery, unless an item with the same id is already queued.
+     *
+     * @return false if an item with the same id was already queued
+     */
+    boolean submit(String id, Content content) throws IOException {
+        Path file = file(id);
+        // under the same lock as start, so an item is either recovered by start or scheduled here, never both
+        synchronized (this) {
+            if (Files.exists(file)) {
+                return false;
+            }
+            write(id, content);
+            if (delivery == null) {
+                return true;
+            }
+        }
+        schedule(file, 0);
+        return true;
+    }
+
+    /**
+     * Replaces a queued item, so that progress made by a delivery that goes on to fail is kept for the retry.
+     */
+    void update(String id, Content content) throws IOException {
+        write(id, content);
+    }
+
+    private Path file(String id) {
+        return pendingDir.resolve(id + suffix);
+    }
+
+    private void write(String id, Content content) throws IOException {
+        Path tmp = pendingDir.resolve(id + TMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            content.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file(id), ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    private void schedule(Path file, long delayMillis) {
+        executor.schedule(() -> process(file), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void process(Path file) {
+        try {
+            delivery.deliver(file);
+            Files.deleteIfExists(file);
+            attempts.remove(file);
+        } catch (Exception e) {
+            retry(file, e);
+        }
+    }
+
+    private void retry(Path file, Exception cause) {
+        if (!delivery.isRetryable(cause)) {
+            deadLetter(file, "cannot be delivered", cause);
+            return;
+        }
+        int attempt = attempts.compute(file, (key, made) -> (made == null ? delivery.attempts(key) : made) + 1);
+        if (attempt >= maxAttempts) {
+            deadLetter(file, "failed after " + attempt + " attempts", cause);
+            return;
+        }
+        log.warn("The {} outbox item {} failed on attempt {} of {}, retrying in {}ms: {}",
+            name, file.getFileName(), attempt, maxAttempts, retryDelayMillis, cause.getMessage());
+        try {
+            delivery.retrying(file, attempt);
+        } catch (IOException e) {
+            log.warn("Unable to record attempt {} of {}", attempt, file.getFileName(), e);
+        }
+        schedule(file, retryDelayMillis);
+    }
+
+    private void deadLetter(Path file, String reason, Exception cause) {
+        attempts.remove(file);
+        deadLettered.increment();
+        log.error("The {} outbox item {} {}, moving it to {}", name, file.getFileName(), reason, failedDir, cause);
+        try {
+            Files.move(file, failedDir.resolve(file.getFileName()), REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Unable to move {} to {}", file, failedDir, e);
+        }
+    }
+
+    void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("The {} outbox did not stop in time, pending items will be delivered on the next start", name);
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -6,7 +6,9 @@ import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.*;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -15,9 +17,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
+import uk.gov.hmcts.reform.sscs.config.DocmosisTemplates;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
+import uk.gov.hmcts.reform.sscs.domain.LetterTemplateType;
 import uk.gov.hmcts.reform.sscs.model.PdfDocument;
 import uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility;
 
@@ -25,7 +28,7 @@ import uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility;
 @Slf4j
 public class FurtherEvidenceService {
 
-    private DocmosisTemplateConfig docmosisTemplateConfig;
+    private DocmosisTemplates docmosisTemplates;
 
     private CoverLetterService coverLetterService;
 
@@ -33,82 +36,173 @@ public class FurtherEvidenceService {
 
     private PrintService bulkPrintService;
 
+    private LetterFanOutJournal letterFanOutJournal;
+
     public FurtherEvidenceService(@Autowired CoverLetterService coverLetterService,
                                   @Autowired SscsDocumentService sscsDocumentService,
                                   @Autowired PrintService bulkPrintService,
-                                  @Autowired DocmosisTemplateConfig docmosisTemplateConfig) {
+                                  @Autowired DocmosisTemplates docmosisTemplates,
+                                  @Autowired LetterFanOutJournal letterFanOutJournal) {
         this.coverLetterService = coverLetterService;
         this.sscsDocumentService = sscsDocumentService;
         this.bulkPrintService = bulkPrintService;
-        this.docmosisTemplateConfig =  docmosisTemplateConfig;
+        this.docmosisTemplates = docmosisTemplates;
+        this.letterFanOutJournal = letterFanOutJournal;
     }
 
     public void issue(List<? extends AbstractDocument> sscsDocuments, SscsCaseData caseData, DocumentType documentType,
                       List<FurtherEvidenceLetterType> allowedLetterTypes, String otherPartyOriginalSenderId) {
         List<PdfDocument> pdfDocument = sscsDocumentService.getPdfsForGivenDocTypeNotIssued(sscsDocuments, documentType, isYes(caseData.getIsConfidentialCase()), otherPartyOriginalSenderId);
+        issue(pdfDocument, CaseDocumentIndex.of(caseData.getSscsDocument()), buildCasePlaceholders(caseData), caseData,
+            documentType, allowedLetterTypes, otherPartyOriginalSenderId);
+    }
+
+    /**
+     * The placeholders common to every cover letter on the case, built once by callers that issue evidence for several
+     * document types or senders and passed to each issue.
+     */
+    public Map<String, Object> buildCasePlaceholders(SscsCaseData caseData) {
+        return coverLetterService.buildCasePlaceholders(caseData);
+    }
+
+    /**
+     * Issues the further evidence using an index and case placeholders built once for the case, so that issuing for
+     * several document types and senders does not search every document on the case or rebuild the placeholders each
+     * time.
+     */
+    public void issue(CaseDocumentIndex documentIndex, Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                      DocumentType documentType, List<FurtherEvidenceLetterType> allowedLetterTypes,
+                      String otherPartyOriginalSenderId) {
+        List<PdfDocument> pdfDocument = sscsDocumentService.getPdfsForGivenDocTypeNotIssued(documentIndex, documentType, isYes(caseData.getIsConfidentialCase()), otherPartyOriginalSenderId);
+        issue(pdfDocument, documentIndex, casePlaceholders, caseData, documentType, allowedLetterTypes, otherPartyOriginalSenderId);
+    }
+
+    private void issue(List<PdfDocument> pdfDocument, CaseDocumentIndex documentIndex, Map<String, Object> casePlaceholders,
+                       SscsCaseData caseData, DocumentType documentType, List<FurtherEvidenceLetterType> allowedLetterTypes,
+                       String otherPartyOriginalSenderId) {
         List<PdfDocument> sizeNormalisedPdfDocuments = sscsDocumentService.sizeNormalisePdfs(pdfDocument);
-        updateCaseDocuments(sizeNormalisedPdfDocuments.stream().map(PdfDocument::getDocument).collect(Collectors.toList()), caseData, documentType);
+        List<AbstractDocument> documents = sizeNormalisedPdfDocuments.stream().map(PdfDocument::getDocument).collect(Collectors.toList());
+        updateCaseDocuments(documents, documentIndex, caseData, documentType);
         List<Pdf> pdfs = sizeNormalisedPdfDocuments.stream().map(PdfDocument::getPdf).collect(Collectors.toList());
 
         if (!pdfs.isEmpty()) {
-            send609_97_OriginalSender(caseData, documentType, pdfs, allowedLetterTypes, otherPartyOriginalSenderId);
-            send609_98_partiesOnCase(caseData, documentType, pdfs, allowedLetterTypes, otherPartyOriginalSenderId);
+            send609_97_OriginalSender(casePlaceholders, caseData, documentType, pdfs, allowedLetterTypes, otherPartyOriginalSenderId);
+            send609_98_partiesOnCase(casePlaceholders, caseData, documentType, pdfs, allowedLetterTypes, otherPartyOriginalSenderId);
             log.info("Sending documents to bulk print for ccd Id: {} and document type: {}", caseData.getCcdCaseId(), documentType);
         }
     }
 
+    /**
+     * Issues the further evidence of the given document types and of every other party that sent evidence, sending
+     * each party on the case a single 609-98 letter with all the evidence from other parties rather than one letter
+     * for each document type. Original senders still get the 609-97 letter for their own evidence.
+     */
+    public void issueConsolidated(CaseDocumentIndex documentIndex, Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                  List<DocumentType> documentTypes, List<FurtherEvidenceLetterType> allowedLetterTypes) {
+        Map<Map.Entry<FurtherEvidenceLetterType, String>, List<Pdf>> letterPacks = new LinkedHashMap<>();
+
+        List<Map.Entry<DocumentType, String>> evidence = new ArrayList<>();
+        documentTypes.forEach(documentType -> evidence.add(new SimpleImmutableEntry<>(documentType, null)));
+        documentIndex.firstNotIssuedPerOtherPartySender().forEach(doc -> evidence.add(new SimpleImmutableEntry<>(
+            DocumentType.fromValue(doc.getValue().getDocumentType()), doc.getValue().getOriginalSenderOtherPartyId())));
+
+        for (Map.Entry<DocumentType, String> sender : evidence) {
+            DocumentType documentType = sender.getKey();
+            String otherPartyOriginalSenderId = sender.getValue();
+            List<PdfDocument> sizeNormalisedPdfDocuments = sscsDocumentService.sizeNormalisePdfs(
+                sscsDocumentService.getPdfsForGivenDocTypeNotIssued(documentIndex, documentType, isYes(caseData.getIsConfidentialCase()), otherPartyOriginalSenderId));
+            updateCaseDocuments(sizeNormalisedPdfDocuments.stream().map(PdfDocument::getDocument).collect(Collectors.toList()), documentIndex, caseData, documentType);
+            List<Pdf> pdfs = sizeNormalisedPdfDocuments.stream().map(PdfDocument::getPdf).collect(Collectors.toList());
+
+            if (!pdfs.isEmpty()) {
+                send609_97_OriginalSender(casePlaceholders, caseData, documentType, pdfs, allowedLetterTypes, otherPartyOriginalSenderId);
+                for (Map.Entry<FurtherEvidenceLetterType, String> party : buildMapOfPartiesFor609_98(caseData, documentType, otherPartyOriginalSenderId).entries()) {
+                    if (allowedLetterTypes.contains(party.getKey())) {
+                        letterPacks.computeIfAbsent(new SimpleImmutableEntry<>(party), key -> new ArrayList<>()).addAll(pdfs);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<Map.Entry<FurtherEvidenceLetterType, String>, List<Pdf>> pack : letterPacks.entrySet()) {
+            send609_98(casePlaceholders, caseData, pack.getKey().getKey(), pack.getKey().getValue(), pack.getValue(), "consolidated");
+        }
+        log.info("Sent {} consolidated further evidence letters for ccd Id: {}", letterPacks.size(), caseData.getCcdCaseId());
+    }
+
     public void updateCaseDocuments(List<? extends AbstractDocument> documents, SscsCaseData caseData, DocumentType documentType) {
-        List<SscsDocument> sscsCaseDocuments = caseData.getSscsDocument();
+        updateCaseDocuments(documents, CaseDocumentIndex.of(caseData.getSscsDocument()), caseData, documentType);
+    }
 
+    private void updateCaseDocuments(List<? extends AbstractDocument> documents, CaseDocumentIndex caseDocuments,
+                                     SscsCaseData caseData, DocumentType documentType) {
         for (AbstractDocument<AbstractDocumentDetails> doc : documents) {
             if (doc.getValue() != null
                 && documentType.getValue().equals(doc.getValue().getDocumentType())
                 && doc.getValue().getResizedDocumentLink() != null) {
                 if (doc.getValue().getClass().isAssignableFrom(SscsDocumentDetails.class)) {
-                    sscsCaseDocuments
-                        .stream()
-                        .filter(d -> d.getValue().getDocumentLink().getDocumentBinaryUrl().equals(doc.getValue().getDocumentLink().getDocumentBinaryUrl()))
-                        .map(d -> {
+                    caseDocuments.findByBinaryUrl(doc.getValue().getDocumentLink().getDocumentBinaryUrl())
+                        .ifPresent(d -> {
                             DocumentLink resizedLink = doc.getValue().getResizedDocumentLink();
                             d.getValue().setResizedDocumentLink(resizedLink);
                             log.info("Sending resized document to bulk print link: DocumentLink(documentUrl= {} , documentFilename= {} and caseId {} )",
                                 resizedLink.getDocumentUrl(), resizedLink.getDocumentFilename(), caseData.getCcdCaseId());
-                            return d;
-                        }).findFirst();
+                        });
                 }
             }
         }
     }
 
 
-    protected void send609_97_OriginalSender(SscsCaseData caseData, DocumentType documentType, List<Pdf> pdfs,
+    protected void send609_97_OriginalSender(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                             DocumentType documentType, List<Pdf> pdfs,
                                              List<FurtherEvidenceLetterType> allowedLetterTypes, String otherPartyOriginalSenderId) {
         String docName = "609-97-template (original sender)";
         final FurtherEvidenceLetterType letterType = findLetterType(documentType);
 
         if (allowedLetterTypes.contains(letterType)) {
-            byte[] bulkPrintList60997 = buildPdfsFor609_97(caseData, letterType, docName, otherPartyOriginalSenderId);
             String recipient = PlaceholderUtility.getName(caseData, letterType, otherPartyOriginalSenderId);
-            bulkPrintService.sendToBulkPrint(buildPdfs(bulkPrintList60997, pdfs, docName), caseData, letterType, EventType.ISSUE_FURTHER_EVIDENCE, recipient);
+            String letterKind = letterKind(docName, documentType.getValue(), letterType, otherPartyOriginalSenderId);
+            if (letterFanOutJournal.isSent(caseData.getCcdCaseId(), EventType.ISSUE_FURTHER_EVIDENCE, recipient, letterKind)) {
+                return;
+            }
+            byte[] bulkPrintList60997 = buildPdfsFor609_97(casePlaceholders, caseData, letterType, docName, otherPartyOriginalSenderId);
+            bulkPrintService.sendToBulkPrint(buildPdfs(bulkPrintList60997, pdfs, docName), caseData, letterType, EventType.ISSUE_FURTHER_EVIDENCE, recipient, letterKind);
+            letterFanOutJournal.recordSent(caseData.getCcdCaseId(), EventType.ISSUE_FURTHER_EVIDENCE, recipient, letterKind);
         }
     }
 
-    protected void send609_98_partiesOnCase(SscsCaseData caseData, DocumentType documentType, List<Pdf> pdfs,
+    protected void send609_98_partiesOnCase(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                            DocumentType documentType, List<Pdf> pdfs,
                                          List<FurtherEvidenceLetterType> allowedLetterTypes, String otherPartyOriginalSenderId) {
         Multimap<FurtherEvidenceLetterType, String> otherPartiesMap = buildMapOfPartiesFor609_98(caseData, documentType, otherPartyOriginalSenderId);
 
         for (Map.Entry<FurtherEvidenceLetterType, String> party : otherPartiesMap.entries()) {
-            String docName = party.getKey() == DWP_LETTER ? "609-98-template (FTA)" : "609-98-template (other parties)";
-
             if (allowedLetterTypes.contains(party.getKey())) {
-                byte[] bulkPrintList60998 = buildPdfsFor609_98(caseData, party.getKey(), docName, party.getValue());
-                List<Pdf> pdfs60998 = buildPdfs(bulkPrintList60998, pdfs, docName);
-                String recipient = PlaceholderUtility.getName(caseData, party.getKey(), party.getValue());
-                bulkPrintService.sendToBulkPrint(pdfs60998, caseData, party.getKey(), EventType.ISSUE_FURTHER_EVIDENCE, recipient);
+                send609_98(casePlaceholders, caseData, party.getKey(), party.getValue(), pdfs, documentType.getValue());
             }
         }
     }
 
+    private void send609_98(Map<String, Object> casePlaceholders, SscsCaseData caseData, FurtherEvidenceLetterType letterType,
+                            String partyId, List<Pdf> pdfs, String evidence) {
+        String docName = letterType == DWP_LETTER ? "609-98-template (FTA)" : "609-98-template (other parties)";
+        String recipient = PlaceholderUtility.getName(caseData, letterType, partyId);
+        String letterKind = letterKind(docName, evidence, letterType, partyId);
+        if (letterFanOutJournal.isSent(caseData.getCcdCaseId(), EventType.ISSUE_FURTHER_EVIDENCE, recipient, letterKind)) {
+            return;
+        }
+        byte[] bulkPrintList60998 = buildPdfsFor609_98(casePlaceholders, caseData, letterType, docName, partyId);
+        List<Pdf> pdfs60998 = buildPdfs(bulkPrintList60998, pdfs, docName);
+        bulkPrintService.sendToBulkPrint(pdfs60998, caseData, letterType, EventType.ISSUE_FURTHER_EVIDENCE, recipient, letterKind);
+        letterFanOutJournal.recordSent(caseData.getCcdCaseId(), EventType.ISSUE_FURTHER_EVIDENCE, recipient, letterKind);
+    }
+
+    private static String letterKind(String docName, String evidence, FurtherEvidenceLetterType letterType,
+                                     String partyId) {
+        return docName + " " + evidence + " " + LetterFanOutJournal.recipientId(letterType, partyId);
+    }
+
     private Multimap<FurtherEvidenceLetterType, String> buildMapOfPartiesFor609_98(SscsCaseData caseData, DocumentType documentType, String otherPartyOriginalSenderId) {
         Multimap<FurtherEvidenceLetterType, String> partiesMap = LinkedHashMultimap.create();
 
@@ -181,14 +275,16 @@ public class FurtherEvidenceService {
         return pdfs;
     }
 
-    private byte[] buildPdfsFor609_97(SscsCaseData caseData, FurtherEvidenceLetterType letterType, String pdfName, String otherPartyId) {
-        return coverLetterService.generateCoverLetter(caseData, letterType,
-            getTemplateNameBasedOnLanguagePreference(caseData.getLanguagePreference(), "d609-97"), pdfName, otherPartyId);
+    private byte[] buildPdfsFor609_97(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                      FurtherEvidenceLetterType letterType, String pdfName, String otherPartyId) {
+        return coverLetterService.generateCoverLetter(casePlaceholders, caseData, letterType,
+            getTemplateNameBasedOnLanguagePreference(caseData.getLanguagePreference(), LetterTemplateType.D609_97), pdfName, otherPartyId);
     }
 
-    private byte[] buildPdfsFor609_98(SscsCaseData caseData, FurtherEvidenceLetterType letterType, String pdfName, String otherPartyId) {
-        return coverLetterService.generateCoverLetter(caseData, letterType,
-            getTemplateNameBasedOnLanguagePreference(caseData.getLanguagePreference(), "d609-98"), pdfName, otherPartyId);
+    private byte[] buildPdfsFor609_98(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                      FurtherEvidenceLetterType letterType, String pdfName, String otherPartyId) {
+        return coverLetterService.generateCoverLetter(casePlaceholders, caseData, letterType,
+            getTemplateNameBasedOnLanguagePreference(caseData.getLanguagePreference(), LetterTemplateType.D609_98), pdfName, otherPartyId);
     }
 
     public boolean canHandleAnyDocument(List<SscsDocument> sscsDocumentList) {
@@ -202,8 +298,7 @@ public class FurtherEvidenceService {
             && null != sscsDocument.getValue().getDocumentType();
     }
 
-    private String getTemplateNameBasedOnLanguagePreference(LanguagePreference languagePreference, String documentType) {
-        return docmosisTemplateConfig.getTemplate().get(languagePreference)
-                .get(documentType).get("name");
+    private String getTemplateNameBasedOnLanguagePreference(LanguagePreference languagePreference, LetterTemplateType type) {
+        return docmosisTemplates.getTemplate(languagePreference, type).getTemplateName();
     }
 }
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
+
+/**
+ * Records which parties have been sent their letter while a message is fanned out to every party on a case, so that
+ * when a later party fails and the message is retried or redelivered, the parties already done are not rendered and
+ * printed again. A letter is identified by the case, the event, the recipient and the kind of letter; all but the
+ * case are hashed, so no recipient's name is written to the journal file.
+ *
+ * <p>The entries are kept in the {@link HandlerCheckpoint} of the message being handled, so they are saved to disk
+ * with it when the checkpoint journal is file backed, and are dropped with it once the message is finished. Outside
+ * of a message nothing is recorded and every letter is sent.
+ */
+@Component
+@Slf4j
+public class LetterFanOutJournal {
+
+    private static final String PREFIX = "letter:";
+
+    private final Counter skipped;
+
+    public LetterFanOutJournal(MeterRegistry meterRegistry) {
+        this.skipped = Counter.builder("bulk_print.fan_out.skipped")
+            .description("Party letters not sent again on a retry because they were sent on an earlier attempt")
+            .register(meterRegistry);
+    }
+
+    public boolean isSent(String caseId, EventType event, String recipient, String letterKind) {
+        if (!HandlerCheckpoint.current().isCompleted(key(caseId, event, recipient, letterKind))) {
+            return false;
+        }
+        log.info("{} letter for case {} and event {} was already sent, not sending it again",
+            letterKind, caseId, event.getCcdType());
+        skipped.increment();
+        return true;
+    }
+
+    public void recordSent(String caseId, EventType event, String recipient, String letterKind) {
+        HandlerCheckpoint.current().completed(key(caseId, event, recipient, letterKind));
+    }
+
+    /**
+     * Identifies the party a letter is for, to be used in its kind. The appellant, representative, joint party and
+     * FTA are one to a case, so the letter type is enough; other parties and their representatives are told apart by
+     * their id.
+     */
+    public static String recipientId(FurtherEvidenceLetterType letterType, String partyId) {
+        return partyId == null || partyId.isBlank() ? letterType.getValue() : letterType.getValue() + ':' + partyId;
+    }
+
+    private static String key(String caseId, EventType event, String recipient, String letterKind) {
+        return PREFIX + caseId + ':' + Hashing.sha256().newHasher()
+            .putString(event.getCcdType(), UTF_8).putByte((byte) 0)
+            .putString(String.valueOf(recipient), UTF_8).putByte((byte) 0)
+            .putString(String.valueOf(letterKind), UTF_8)
+            .hash().toString();
+    }
+}
@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.ccd.domain.RegionalProcessingCenter;
+
+/**
+ * Caches {@link RegionalProcessingCenterService#getByPostcode} by outward postcode in a trie. The RPC depends only on
+ * the outward code, and the same outward codes come up again and again, so each is resolved once. Lookups walk the
+ * postcode as given, ignoring case, so a cached postcode is resolved in one pass over its outward code without
+ * building any strings. Postcodes that cannot be cached, such as ones with punctuation, go straight to the service.
+ */
+@Component
+@Slf4j
+public class RegionalProcessingCenterCache {
+
+    private static final int MIN_POSTCODE_LENGTH = 5;
+    private static final int INWARD_LENGTH = 3;
+    private static final int ALPHABET = 36;
+
+    private final RegionalProcessingCenterService regionalProcessingCenterService;
+    private final Node root = new Node();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unresolved;
+
+    @Autowired
+    public RegionalProcessingCenterCache(RegionalProcessingCenterService regionalProcessingCenterService,
+                                         MeterRegistry meterRegistry) {
+        this.regionalProcessingCenterService = regionalProcessingCenterService;
+        this.hits = Counter.builder("rpc.lookup").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("rpc.lookup").tag("result", "miss").register(meterRegistry);
+        this.unresolved = Counter.builder("rpc.lookup.unresolved")
+            .description("Postcodes for which no regional processing centre was found")
+            .register(meterRegistry);
+    }
+
+    public RegionalProcessingCenter getByPostcode(String postcode) {
+        int outwardLength = outwardLength(postcode);
+        if (outwardLength < 0) {
+            return resolve(postcode);
+        }
+
+        Node node = root;
+        for (int i = 0; i < outwardLength; i++) {
+            node = node.children.get(index(postcode.charAt(i)));
+            if (node == null) {
+                return cache(postcode, outwardLength);
+            }
+        }
+
+        Result result = node.result;
+        if (result == null) {
+            return cache(postcode, outwardLength);
+        }
+        hits.increment();
+        return result.rpc;
+    }
+
+    private RegionalProcessingCenter cache(String postcode, int outwardLength) {
+        misses.increment();
+        RegionalProcessingCenter rpc = resolve(postcode);
+
+        Node node = root;
+        for (int i = 0; i < outwardLength; i++) {
+            int index = index(postcode.charAt(i));
+            Node child = node.children.get(index);
+            if (child == null) {
+                node.children.compareAndSet(index, null, new Node());
+                child = node.children.get(index);
+            }
+            node = child;
+        }
+        node.result = new Result(rpc);
+        return rpc;
+    }
+
+    private RegionalProcessingCenter resolve(String postcode) {
+        RegionalProcessingCenter rpc = regionalProcessingCenterService.getByPostcode(postcode);
+        if (rpc == null) {
+            unresolved.increment();
+            log.warn("No regional processing centre found for postcode starting {}",
+                postcode == null ? null : postcode.substring(0, Math.min(postcode.length(), 2)));
+        }
+        return rpc;
+    }
+
+    /**
+     * Returns the length of the outward code, or -1 if the postcode is not one the trie can hold. Only postcodes
+     * written without a space, or with a single space before the inward code, are cached, so that the outward code
+     * is always the one the service would take.
+     */
+    private static int outwardLength(String postcode) {
+        if (postcode == null) {
+            return -1;
+        }
+        int length = postcode.length();
+        int space = postcode.indexOf(' ');
+        if (space >= 0 && space != length - INWARD_LENGTH - 1) {
+            return -1;
+        }
+        int characters = space >= 0 ? length - 1 : length;
+        if (characters < MIN_POSTCODE_LENGTH) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (i != space && index(postcode.charAt(i)) < 0) {
+                return -1;
+            }
+        }
+        return characters - INWARD_LENGTH;
+    }
+
+    private static int index(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 10 + c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 10 + c - 'a';
+        }
+        return -1;
+    }
+
+    private static final class Node {
+        private final AtomicReferenceArray<Node> children = new AtomicReferenceArray<>(ALPHABET);
+        private volatile Result result;
+    }
+
+    private static final class Result {
+        private final RegionalProcessingCenter rpc;
+
+        private Result(RegionalProcessingCenter rpc) {
+            this.rpc = rpc;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package uk.gov.hmcts.reform.sscs.service;
 
-import static uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment.file;
 import static uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment.pdf;
 
 import java.util.*;
@@ -10,6 +9,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
@@ -25,7 +25,7 @@ import uk.gov.hmcts.reform.sscs.idam.UserDetails;
 public class RequestTranslationService {
 
     private final PdfStoreService pdfStoreService;
-    private final EmailService emailService;
+    private final SplitEmailSender splitEmailSender;
     private final RequestTranslationTemplate requestTranslationTemplate;
     private DocmosisPdfGenerationService pdfGenerationService;
     private final IdamService idamService;
@@ -38,12 +38,12 @@ public class RequestTranslationService {
     @Autowired
     public RequestTranslationService(
         PdfStoreService pdfStoreService,
-        EmailService emailService,
+        SplitEmailSender splitEmailSender,
         RequestTranslationTemplate requestTranslationTemplate,
         DocmosisPdfGenerationService pdfGenerationService,
         IdamService idamService) {
         this.pdfStoreService = pdfStoreService;
-        this.emailService = emailService;
+        this.splitEmailSender = splitEmailSender;
         this.requestTranslationTemplate = requestTranslationTemplate;
         this.pdfGenerationService = pdfGenerationService;
         this.idamService = idamService;
@@ -56,17 +56,20 @@ public class RequestTranslationService {
         Map<String, Object> placeholderMap = placeHolderMap(caseDetails);
 
         log.info("Downloading additional evidence for wlu for case id {} ", caseDetails.getId());
-        Map<String, byte[]> additionalEvidence = downloadEvidence(caseData, Long.valueOf(caseData.getCcdCaseId()));
-
-        if (!additionalEvidence.isEmpty()) {
-            log.info("Generate tranlsation request form from wlu for casedetails id {} ", caseDetails.getId());
-            byte[] wluRequestForm = pdfGenerationService.generatePdf(DocumentHolder.builder()
-                .template(new Template("TB-SCS-EML-ENG-00530.docx",
-                    "WLU Request Form")).placeholders(placeholderMap).build());
-
-            status = sendEmailToWlu(caseDetails.getId(), caseData, wluRequestForm, additionalEvidence);
-            log.info("Case {} successfully sent for benefit type {} to wlu", caseDetails.getId(),
-                caseData.getAppeal().getBenefitType().getCode());
+        try (DownloadSpool spool = new DownloadSpool()) {
+            Map<String, Resource> additionalEvidence =
+                downloadEvidence(caseData, Long.valueOf(caseData.getCcdCaseId()), spool);
+
+            if (!additionalEvidence.isEmpty()) {
+                log.info("Generate tranlsation request form from wlu for casedetails id {} ", caseDetails.getId());
+                byte[] wluRequestForm = pdfGenerationService.generatePdf(DocumentHolder.builder()
+                    .template(new Template("TB-SCS-EML-ENG-00530.docx",
+                        "WLU Request Form")).placeholders(placeholderMap).build());
+
+                status = sendEmailToWlu(caseDetails.getId(), caseData, wluRequestForm, additionalEvidence);
+                log.info("Case {} successfully sent for benefit type {} to wlu", caseDetails.getId(),
+                    caseData.getAppeal().getBenefitType().getCode());
+            }
         }
         return status;
     }
@@ -87,11 +90,11 @@ public class RequestTranslationService {
         return dataMap;
     }
 
-    private Map<String, byte[]> downloadEvidence(SscsCaseData sscsCaseData, Long caseId) {
+    private Map<String, Resource> downloadEvidence(SscsCaseData sscsCaseData, Long caseId, DownloadSpool spool) {
         if (hasEvidence(sscsCaseData)) {
-            Map<String, byte[]> map = new HashMap<>();
-            map = buildMapOfEvidence(sscsCaseData.getSscsDocument(), caseId, map);
-            map = buildMapOfEvidence(sscsCaseData.getDwpDocuments(), caseId, map);
+            Map<String, Resource> map = new HashMap<>();
+            map = buildMapOfEvidence(sscsCaseData.getSscsDocument(), caseId, map, spool);
+            map = buildMapOfEvidence(sscsCaseData.getDwpDocuments(), caseId, map, spool);
 
             return map;
         } else {
@@ -99,7 +102,8 @@ public class RequestTranslationService {
         }
     }
 
-    private Map<String, byte[]> buildMapOfEvidence(List<? extends AbstractDocument> docs, Long caseId, Map<String, byte[]> map) {
+    private Map<String, Resource> buildMapOfEvidence(List<? extends AbstractDocument> docs, Long caseId,
+                                                     Map<String, Resource> map, DownloadSpool spool) {
 
         ListUtils.emptyIfNull(docs).stream().filter(doc -> SscsDocumentTranslationStatus.TRANSLATION_REQUIRED.equals(doc.getValue().getDocumentTranslationStatus()))
             .forEach(doc -> {
@@ -107,12 +111,12 @@ public class RequestTranslationService {
                 if (doc instanceof SscsDocument) {
                     final String sscsFilename = getDocumentFileName.apply(doc.getValue());
                     if (sscsFilename != null) {
-                        map.put(sscsFilename, downloadBinary((SscsDocument) doc, caseId));
+                        map.put(sscsFilename, spool.write(downloadBinary((SscsDocument) doc, caseId)));
                     }
                 } else if (doc instanceof DwpDocument) {
                     final String sscsFilename = getDwpDocumentFileName.apply((DwpDocumentDetails) doc.getValue());
                     if (sscsFilename != null) {
-                        map.put(sscsFilename, downloadBinary((DwpDocument) doc, caseId));
+                        map.put(sscsFilename, spool.write(downloadBinary((DwpDocument) doc, caseId)));
                     }
                 }
             });
@@ -153,26 +157,28 @@ public class RequestTranslationService {
     }
 
     private boolean sendEmailToWlu(long caseId, SscsCaseData caseData, byte[] requestFormPdf,
-                                   Map<String, byte[]> additionalEvidence) {
+                                   Map<String, Resource> additionalEvidence) {
 
         log.info("Add request and sscs1 default attachments for case id {}", caseId);
         List<EmailAttachment> attachments = addDefaultAttachment(requestFormPdf, caseId);
+        int defaultAttachments = attachments.size();
         addAdditionalEvidenceAttachments(additionalEvidence, attachments);
         if (attachments.size() > 1) {
             log.info("Successfully email sent to wlu for CaseId {}, benefit type {} and number of attachments {}",
                 caseId, caseData.getAppeal().getBenefitType().getCode(), attachments.size());
-            emailService.sendEmail(caseId, requestTranslationTemplate.generateEmail(attachments, caseId));
+            splitEmailSender.sendEmail(caseId, requestTranslationTemplate.generateEmail(attachments, caseId),
+                defaultAttachments);
             return true;
         }
         return false;
     }
 
-    private void addAdditionalEvidenceAttachments(Map<String, byte[]> additionalEvidence,
+    private void addAdditionalEvidenceAttachments(Map<String, Resource> additionalEvidence,
                                                   List<EmailAttachment> attachments) {
         for (String filename : additionalEvidence.keySet()) {
-            byte[] content = additionalEvidence.get(filename);
+            Resource content = additionalEvidence.get(filename);
             if (content != null) {
-                attachments.add(file(content, filename.substring(0, filename.lastIndexOf("."))));
+                attachments.add(DownloadSpool.attachment(content, filename.substring(0, filename.lastIndexOf("."))));
             }
         }
     }
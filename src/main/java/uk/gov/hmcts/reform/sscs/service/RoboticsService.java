@@ -3,16 +3,36 @@ package uk.gov.hmcts.reform.sscs.service;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.State.READY_TO_LIST;
-import static uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment.*;
-
+import static uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment.json;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
 import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
@@ -21,6 +41,7 @@ import uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment;
 import uk.gov.hmcts.reform.sscs.domain.email.RoboticsEmailTemplate;
 import uk.gov.hmcts.reform.sscs.helper.EmailHelper;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.jfr.CaseContext;
 import uk.gov.hmcts.reform.sscs.model.dwp.OfficeMapping;
 import uk.gov.hmcts.reform.sscs.robotics.RoboticsJsonMapper;
 import uk.gov.hmcts.reform.sscs.robotics.RoboticsJsonValidator;
@@ -32,14 +53,16 @@ public class RoboticsService {
 
     private static final String GLASGOW = "GLASGOW";
     private static final String PIP_AE = "DWP PIP (AE)";
+    private static final String WARM_UP_CASE_ID = "1000000000000000";
+    private static final String WARM_UP_APPEAL = "/robotics/warm-up-appeal.json";
     private final PdfStoreService pdfStoreService;
-    private final EmailService emailService;
+    private final SplitEmailSender splitEmailSender;
     private final EmailHelper emailHelper;
     private final RoboticsJsonMapper roboticsJsonMapper;
     private final RoboticsJsonValidator roboticsJsonValidator;
     private final RoboticsEmailTemplate roboticsEmailTemplate;
     private final EvidenceShareConfig evidenceShareConfig;
-    private final DwpAddressLookupService dwpAddressLookupService;
+    private final DwpOfficeIndex dwpOfficeIndex;
     private final CcdService ccdService;
     private final IdamService idamService;
 
@@ -48,34 +71,68 @@ public class RoboticsService {
 
     private final Random rn;
 
+    private final ExecutorService downloadExecutor;
+
     @Autowired
     public RoboticsService(
         PdfStoreService pdfStoreService,
-        EmailService emailService,
+        SplitEmailSender splitEmailSender,
         EmailHelper emailHelper,
         RoboticsJsonMapper roboticsJsonMapper,
         RoboticsJsonValidator roboticsJsonValidator,
         RoboticsEmailTemplate roboticsEmailTemplate,
         EvidenceShareConfig evidenceShareConfig,
-        DwpAddressLookupService dwpAddressLookupService,
+        DwpOfficeIndex dwpOfficeIndex,
         CcdService ccdService,
         IdamService idamService,
         @Value("${robotics.englishCount}") int englishRoboticCount,
-        @Value("${robotics.scottishCount}") int scottishRoboticCount
+        @Value("${robotics.scottishCount}") int scottishRoboticCount,
+        @Value("${robotics.downloadParallelism:4}") int downloadParallelism
     ) {
         this.pdfStoreService = pdfStoreService;
-        this.emailService = emailService;
+        this.splitEmailSender = splitEmailSender;
         this.emailHelper = emailHelper;
         this.roboticsJsonMapper = roboticsJsonMapper;
         this.roboticsJsonValidator = roboticsJsonValidator;
         this.roboticsEmailTemplate = roboticsEmailTemplate;
         this.evidenceShareConfig = evidenceShareConfig;
-        this.dwpAddressLookupService = dwpAddressLookupService;
+        this.dwpOfficeIndex = dwpOfficeIndex;
         this.ccdService = ccdService;
         this.idamService = idamService;
         this.englishRoboticCount = englishRoboticCount;
         this.scottishRoboticCount = scottishRoboticCount;
         rn = new SecureRandom();
+        downloadExecutor = Executors.newFixedThreadPool(downloadParallelism,
+            new ThreadFactoryBuilder().setNameFormat("robotics-download-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Loads and compiles the robotics schema before the topic listener starts taking cases. The validator builds its
+     * schema on first use, so doing it here keeps the schema parse off the first robotics callback and stops
+     * concurrent callbacks from racing to build it. The validator can only be made to load its schema by validating
+     * something, so it is given the robotics JSON of a sample appeal.
+     */
+    @PostConstruct
+    public void loadRoboticsSchema() {
+        try (InputStream sample = RoboticsService.class.getResourceAsStream(WARM_UP_APPEAL)) {
+            if (sample == null) {
+                throw new IllegalStateException("Missing " + WARM_UP_APPEAL);
+            }
+            Set<String> errors = roboticsJsonValidator.validate(new JSONObject(new JSONTokener(sample)),
+                WARM_UP_CASE_ID);
+            if (errors.isEmpty()) {
+                log.info("Robotics JSON schema loaded");
+            } else {
+                log.info("Robotics JSON schema loaded, the sample appeal does not match it: {}", errors);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to load the robotics JSON schema at start up, it will be loaded for the first case", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        downloadExecutor.shutdown();
     }
 
     public JSONObject sendCaseToRobotics(CaseDetails<SscsCaseData> caseDetails) {
@@ -93,15 +150,29 @@ public class RoboticsService {
             .evidencePresent(caseData.getEvidencePresent())
             .state(caseDetails.getState()).build();
 
-        JSONObject roboticsJson = createRobotics(wrapper);
-
-        log.info("Downloading additional evidence for robotics for case id {} ", caseDetails.getId());
-        Map<SscsDocument, byte[]> additionalEvidence = downloadEvidence(caseData, Long.valueOf(caseData.getCcdCaseId()));
+        // the SSCS1 and evidence downloads run while the robotics JSON is mapped and validated
+        log.info("Downloading SSCS1 and additional evidence for robotics for case id {} ", caseDetails.getId());
+        Long caseId = Long.valueOf(caseData.getCcdCaseId());
+        JSONObject roboticsJson;
+        try (DownloadSpool spool = new DownloadSpool()) {
+            Downloads downloads = new Downloads();
+            CompletableFuture<Resource> sscs1Download = downloads.start(() -> downloadSscs1(caseData, caseId, spool));
+            Map<SscsDocument, CompletableFuture<Resource>> evidenceDownloads =
+                downloadEvidence(caseData, caseId, downloads, spool);
+
+            try {
+                roboticsJson = createRobotics(wrapper);
+            } catch (RuntimeException e) {
+                downloads.cancel();
+                throw e;
+            }
 
-        log.info("Downloading SSCS1 for robotics for case id {} ", caseDetails.getId());
-        byte[] sscs1Form = downloadSscs1(caseData, Long.valueOf(caseData.getCcdCaseId()));
+            Map<SscsDocument, Resource> additionalEvidence = new LinkedHashMap<>();
+            evidenceDownloads.forEach((doc, download) -> additionalEvidence.put(doc, downloads.join(download)));
+            Resource sscs1Form = downloads.join(sscs1Download);
 
-        sendJsonByEmail(caseDetails.getId(), caseData, roboticsJson, sscs1Form, additionalEvidence);
+            sendJsonByEmail(caseDetails.getId(), caseData, roboticsJson, sscs1Form, additionalEvidence);
+        }
 
         log.info("Case {} Robotics JSON successfully sent for benefit type {}", caseDetails.getId(),
             caseData.getAppeal().getBenefitType().getCode());
@@ -124,7 +195,7 @@ public class RoboticsService {
         String issuingOffice = sscsCaseData.getAppeal().getMrnDetails().getDwpIssuingOffice();
 
         if (issuingOffice != null) {
-            Optional<OfficeMapping> dwpIssuingOfficeMapping = dwpAddressLookupService.getDwpMappingByOffice(sscsCaseData.getAppeal().getBenefitType().getCode(), issuingOffice);
+            Optional<OfficeMapping> dwpIssuingOfficeMapping = dwpOfficeIndex.getDwpMappingByOffice(sscsCaseData.getAppeal().getBenefitType().getCode(), issuingOffice);
 
             if (dwpIssuingOfficeMapping.isPresent()) {
                 if (!dwpIssuingOfficeMapping.get().getMapping().getCcd().equals(issuingOffice)) {
@@ -140,7 +211,7 @@ public class RoboticsService {
         DynamicList originatingOffice = sscsCaseData.getDwpOriginatingOffice();
 
         if (originatingOffice != null && originatingOffice.getValue().getCode() != null) {
-            Optional<OfficeMapping> dwpOriginatingOfficeMapping = dwpAddressLookupService.getDwpMappingByOffice(sscsCaseData.getAppeal().getBenefitType().getCode(), originatingOffice.getValue().getCode());
+            Optional<OfficeMapping> dwpOriginatingOfficeMapping = dwpOfficeIndex.getDwpMappingByOffice(sscsCaseData.getAppeal().getBenefitType().getCode(), originatingOffice.getValue().getCode());
 
             if (dwpOriginatingOfficeMapping.isPresent()) {
                 if (!dwpOriginatingOfficeMapping.get().getMapping().getCcd().equals(originatingOffice.getValue().getCode())) {
@@ -157,7 +228,7 @@ public class RoboticsService {
         DynamicList presentingOffice = sscsCaseData.getDwpPresentingOffice();
 
         if (presentingOffice != null && presentingOffice.getValue().getCode() != null) {
-            Optional<OfficeMapping> dwpPresentingOfficeMapping = dwpAddressLookupService.getDwpMappingByOffice(sscsCaseData.getAppeal().getBenefitType().getCode(), presentingOffice.getValue().getCode());
+            Optional<OfficeMapping> dwpPresentingOfficeMapping = dwpOfficeIndex.getDwpMappingByOffice(sscsCaseData.getAppeal().getBenefitType().getCode(), presentingOffice.getValue().getCode());
 
             if (dwpPresentingOfficeMapping.isPresent()) {
                 if (!dwpPresentingOfficeMapping.get().getMapping().getCcd().equals(presentingOffice.getValue().getCode())) {
@@ -170,23 +241,24 @@ public class RoboticsService {
         return false;
     }
 
-    private byte[] downloadSscs1(SscsCaseData sscsCaseData, Long caseId) {
+    private Resource downloadSscs1(SscsCaseData sscsCaseData, Long caseId, DownloadSpool spool) {
         if (hasEvidence(sscsCaseData)) {
             for (SscsDocument doc : sscsCaseData.getSscsDocument()) {
                 if (doc.getValue().getDocumentType() != null && doc.getValue().getDocumentType().equalsIgnoreCase("sscs1")) {
-                    return downloadBinary(doc, caseId);
+                    return downloadBinary(doc, caseId, spool);
                 }
             }
         }
         return null;
     }
 
-    private Map<SscsDocument, byte[]> downloadEvidence(SscsCaseData sscsCaseData, Long caseId) {
+    private Map<SscsDocument, CompletableFuture<Resource>> downloadEvidence(SscsCaseData sscsCaseData, Long caseId,
+                                                                            Downloads downloads, DownloadSpool spool) {
         if (hasEvidence(sscsCaseData) && !isEvidenceSentForBulkPrint(sscsCaseData)) {
-            Map<SscsDocument, byte[]> map = new LinkedHashMap<>();
+            Map<SscsDocument, CompletableFuture<Resource>> map = new LinkedHashMap<>();
             for (SscsDocument doc : sscsCaseData.getSscsDocument()) {
                 if (doc.getValue().getDocumentType() == null || doc.getValue().getDocumentType().equalsIgnoreCase("appellantEvidence")) {
-                    map.put(doc, downloadBinary(doc, caseId));
+                    map.put(doc, downloads.start(() -> downloadBinary(doc, caseId, spool)));
                 }
             }
             return map;
@@ -195,6 +267,7 @@ public class RoboticsService {
         }
     }
 
+
     private boolean isEvidenceSentForBulkPrint(SscsCaseData caseData) {
         return nonNull(caseData)
             && nonNull(caseData.getAppeal())
@@ -203,12 +276,12 @@ public class RoboticsService {
             .anyMatch(caseData.getAppeal().getReceivedVia()::equalsIgnoreCase);
     }
 
-    private byte[] downloadBinary(SscsDocument doc, Long caseId) {
+    private Resource downloadBinary(SscsDocument doc, Long caseId, DownloadSpool spool) {
         log.info("About to download binary to attach to robotics for caseId {}", caseId);
         if (doc.getValue().getDocumentLink() != null) {
-            return pdfStoreService.download(doc.getValue().getDocumentLink().getDocumentUrl());
+            return spool.write(pdfStoreService.download(doc.getValue().getDocumentLink().getDocumentUrl()));
         } else {
-            return new byte[0];
+            return spool.write(new byte[0]);
         }
     }
 
@@ -231,7 +304,8 @@ public class RoboticsService {
         return roboticsAppeal;
     }
 
-    private void sendJsonByEmail(long caseId, SscsCaseData caseData, JSONObject json, byte[] pdf, Map<SscsDocument, byte[]> additionalEvidence) {
+    private void sendJsonByEmail(long caseId, SscsCaseData caseData, JSONObject json, Resource pdf,
+                                 Map<SscsDocument, Resource> additionalEvidence) {
         boolean isScottish = Optional.ofNullable(caseData.getRegionalProcessingCenter()).map(f -> equalsIgnoreCase(f.getName(), GLASGOW)).orElse(false);
         boolean isPipAeTo = Optional.ofNullable(caseData.getAppeal().getMrnDetails()).map(m -> equalsIgnoreCase(m.getDwpIssuingOffice(), PIP_AE)).orElse(false);
         boolean isDigitalCase = Optional.ofNullable(caseData.getCreatedInGapsFrom()).map(d -> equalsIgnoreCase(d, READY_TO_LIST.getId())).orElse(false);
@@ -242,6 +316,7 @@ public class RoboticsService {
 
         log.info("Add robotics default attachments for case id {}", caseId);
         List<EmailAttachment> attachments = addDefaultAttachment(json, pdf, appellantUniqueId);
+        int defaultAttachments = attachments.size();
 
         if (!isDigitalCase) {
             log.info("Add robotics additional evidence for non digital case and case id {}", caseId);
@@ -250,13 +325,14 @@ public class RoboticsService {
 
         String subject = buildSubject(appellantUniqueId, isScottish);
 
-        emailService.sendEmail(caseId,
+        splitEmailSender.sendEmail(caseId,
             roboticsEmailTemplate.generateEmail(
                 subject,
                 attachments,
                 isScottish,
                 isPipAeTo
-            )
+            ),
+            defaultAttachments
         );
 
         log.info("Case {} robotics JSON email with subject '{}' sent successfully for benefit type {} isScottish {} isPipAe {}",
@@ -270,28 +346,85 @@ public class RoboticsService {
         return appellantUniqueId + " for Robot [" + randomNumber + "]";
     }
 
-    private void addAdditionalEvidenceAttachments(Map<SscsDocument, byte[]> additionalEvidence, List<EmailAttachment> attachments) {
+    private void addAdditionalEvidenceAttachments(Map<SscsDocument, Resource> additionalEvidence, List<EmailAttachment> attachments) {
         for (SscsDocument sscsDocument : additionalEvidence.keySet()) {
             if (sscsDocument != null) {
                 if (sscsDocument.getValue().getDocumentLink().getDocumentFilename() != null) {
-                    byte[] content = additionalEvidence.get(sscsDocument);
+                    Resource content = additionalEvidence.get(sscsDocument);
                     if (content != null) {
-                        attachments.add(file(content, sscsDocument.getValue().getDocumentLink().getDocumentFilename()));
+                        attachments.add(DownloadSpool.attachment(content,
+                            sscsDocument.getValue().getDocumentLink().getDocumentFilename()));
                     }
                 }
             }
         }
     }
 
-    private List<EmailAttachment> addDefaultAttachment(JSONObject json, byte[] pdf, String appellantUniqueId) {
+    private List<EmailAttachment> addDefaultAttachment(JSONObject json, Resource pdf, String appellantUniqueId) {
         List<EmailAttachment> emailAttachments = new ArrayList<>();
 
-        emailAttachments.add(json(json.toString().getBytes(), appellantUniqueId + ".txt"));
+        emailAttachments.add(json(toUtf8(json), appellantUniqueId + ".txt"));
 
         if (pdf != null) {
-            emailAttachments.add(pdf(pdf, appellantUniqueId + ".pdf"));
+            emailAttachments.add(DownloadSpool.pdfAttachment(pdf, appellantUniqueId + ".pdf"));
         }
 
         return emailAttachments;
     }
+
+    static byte[] toUtf8(JSONObject json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            json.write(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The downloads for one case, run on the download pool with the case context of the calling thread. The first
+     * download to fail cancels the rest, as the case cannot be sent without it, and is the failure reported.
+     */
+    private final class Downloads {
+
+        private final List<CompletableFuture<Resource>> started = new CopyOnWriteArrayList<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        CompletableFuture<Resource> start(Supplier<Resource> download) {
+            CompletableFuture<Resource> future = CompletableFuture.supplyAsync(CaseContext.propagate(() -> {
+                if (failure.get() != null) {
+                    throw new CancellationException("Another download for the case failed");
+                }
+                try {
+                    return download.get();
+                } catch (RuntimeException e) {
+                    if (failure.compareAndSet(null, e)) {
+                        cancel();
+                    }
+                    throw e;
+                }
+            }), downloadExecutor);
+            started.add(future);
+            return future;
+        }
+
+        void cancel() {
+            started.forEach(download -> download.cancel(false));
+        }
+
+        Resource join(CompletableFuture<Resource> download) {
+            try {
+                return download.join();
+            } catch (CompletionException | CancellationException e) {
+                if (failure.get() != null) {
+                    throw failure.get();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.domain.email.Email;
+import uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment;
+import uk.gov.hmcts.reform.sscs.exception.EmailSendFailedException;
+
+/**
+ * Splits an email whose attachments add up to more than the configured limit into several emails, each marked
+ * "part n of m" in the subject, and sends the parts concurrently. Each part goes through
+ * {@link EmailService#sendEmail} on its own, so a failed part is retried without resending the others.
+ *
+ * <p>Each part sent is recorded in the {@link HandlerCheckpoint} of the message being handled, so when a part still
+ * fails after those retries and the message is retried or redelivered, only the parts not yet sent go again.
+ */
+@Service
+@Slf4j
+public class SplitEmailSender {
+
+    private static final String PART_SUBJECT = "%s (part %d of %d)";
+    private static final String PREFIX = "email-part:";
+
+    private final EmailService emailService;
+    private final long maxAttachmentBytes;
+    private final ExecutorService executor;
+
+    public SplitEmailSender(EmailService emailService,
+                            @Value("${appeal.email.split.maxAttachmentBytes:15728640}") long maxAttachmentBytes,
+                            @Value("${appeal.email.split.parallelism:3}") int parallelism) {
+        this.emailService = emailService;
+        this.maxAttachmentBytes = maxAttachmentBytes;
+        this.executor = Executors.newFixedThreadPool(parallelism,
+            new ThreadFactoryBuilder().setNameFormat("split-email-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Sends the email, split into parts if its attachments are too big for one. The first
+     * {@code leadingAttachments} attachments always stay together in part 1.
+     */
+    public void sendEmail(long caseId, Email email, int leadingAttachments) {
+        List<Email> parts = split(email, leadingAttachments, maxAttachmentBytes);
+        if (parts.size() == 1) {
+            emailService.sendEmail(caseId, parts.get(0));
+            return;
+        }
+
+        log.info("Case [{}] email with subject [{}] split into {} parts", caseId, email.getSubject(), parts.size());
+        // the checkpoint is bound to this thread, not the ones sending the parts
+        HandlerCheckpoint checkpoint = HandlerCheckpoint.current();
+        CompletableFuture<?>[] sends = parts.stream()
+            .filter(part -> !isSent(checkpoint, caseId, part))
+            .map(part -> CompletableFuture.runAsync(() -> {
+                emailService.sendEmail(caseId, part);
+                checkpoint.completed(key(caseId, part));
+            }, executor))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new EmailSendFailedException("Error while sending email", e.getCause());
+        }
+    }
+
+    private static boolean isSent(HandlerCheckpoint checkpoint, long caseId, Email part) {
+        if (!checkpoint.isCompleted(key(caseId, part))) {
+            return false;
+        }
+        log.info("Case [{}] email [{}] was already sent, not sending it again", caseId, part.getSubject());
+        return true;
+    }
+
+    /**
+     * Identifies a part by its subject, which holds its number, and its attachments. Hashed, as the subject can hold
+     * the appellant's name and the checkpoint may be written to disk.
+     */
+    private static String key(long caseId, Email part) {
+        Hasher hasher = Hashing.sha256().newHasher().putString(String.valueOf(part.getSubject()), UTF_8);
+        part.getAttachments().forEach(attachment -> hasher.putByte((byte) 0)
+            .putString(String.valueOf(attachment.getFilename()), UTF_8));
+        return PREFIX + caseId + ':' + hasher.hash();
+    }
+
+    /**
+     * Packs the attachments into as few emails as possible with no more than {@code maxAttachmentBytes} of
+     * attachments each, largest first. An attachment that is bigger than the limit on its own, or whose size
+     * is not known without reading it, gets an email to itself. Returns the original email when everything fits
+     * in one. Each size is read once, up front.
+     */
+    static List<Email> split(Email email, int leadingAttachments, long maxAttachmentBytes) {
+        if (email == null || !email.hasAttachments()) {
+            return Collections.singletonList(email);
+        }
+
+        List<EmailAttachment> attachments = email.getAttachments();
+        Map<EmailAttachment, Long> sizes = new IdentityHashMap<>();
+        attachments.forEach(attachment -> sizes.put(attachment, sizeOf(attachment)));
+
+        int leading = Math.min(leadingAttachments, attachments.size());
+        List<Part> parts = new ArrayList<>();
+        Part first = new Part();
+        attachments.subList(0, leading).forEach(attachment -> first.add(attachment, sizes.get(attachment)));
+        parts.add(first);
+
+        List<EmailAttachment> remaining = new ArrayList<>(attachments.subList(leading, attachments.size()));
+        remaining.sort(Comparator.comparingLong((EmailAttachment attachment) -> sizes.get(attachment)).reversed());
+        for (EmailAttachment attachment : remaining) {
+            long size = sizes.get(attachment);
+            Part part = parts.stream()
+                .filter(candidate -> candidate.fits(size, maxAttachmentBytes))
+                .findFirst()
+                .orElseGet(() -> {
+                    Part next = new Part();
+                    parts.add(next);
+                    return next;
+                });
+            part.add(attachment, size);
+        }
+        parts.removeIf(part -> part.attachments.isEmpty());
+
+        if (parts.size() == 1) {
+            return Collections.singletonList(email);
+        }
+
+        List<Email> emails = new ArrayList<>();
+        for (int i = 0; i < parts.size(); i++) {
+            emails.add(new Email(email.getFrom(), email.getTo(),
+                String.format(PART_SUBJECT, email.getSubject(), i + 1, parts.size()),
+                email.getMessage(), parts.get(i).attachments));
+        }
+        return emails;
+    }
+
+    private static long sizeOf(EmailAttachment attachment) {
+        return AttachmentSizes.sizeOf(attachment).orElse(Long.MAX_VALUE);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    private static final class Part {
+        private final List<EmailAttachment> attachments = new ArrayList<>();
+        private long size;
+
+        boolean fits(long attachmentSize, long maxBytes) {
+            return attachmentSize <= maxBytes - size;
+        }
+
+        void add(EmailAttachment attachment, long attachmentSize) {
+            attachments.add(attachment);
+            size = attachmentSize == Long.MAX_VALUE || size + attachmentSize < 0 ? Long.MAX_VALUE : size + attachmentSize;
+        }
+    }
+}
@@ -20,6 +20,8 @@ import uk.gov.hmcts.reform.sscs.ccd.domain.SscsDocument;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.exception.BulkPrintException;
 import uk.gov.hmcts.reform.sscs.helper.PdfHelper;
+import uk.gov.hmcts.reform.sscs.jfr.CaseSpanEvent;
+import uk.gov.hmcts.reform.sscs.jfr.PdfEvent;
 import uk.gov.hmcts.reform.sscs.model.PdfDocument;
 
 @Slf4j
@@ -46,6 +48,19 @@ public class SscsDocumentService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * As {@link #getPdfsForGivenDocTypeNotIssued(List, DocumentType, boolean, String)}, taking the documents from an
+     * index built once for the case instead of filtering every document again.
+     */
+    public List<PdfDocument> getPdfsForGivenDocTypeNotIssued(CaseDocumentIndex documentIndex, DocumentType documentType, boolean isConfidentialCase, String otherPartyOriginalSenderId) {
+        Objects.requireNonNull(documentIndex);
+        Objects.requireNonNull(documentType);
+
+        return documentIndex.notIssued(documentType, otherPartyOriginalSenderId).stream()
+            .map(doc -> PdfDocument.builder().pdf(toPdf(doc, isConfidentialCase)).document(doc).build())
+            .collect(Collectors.toList());
+    }
+
     private Pdf toPdf(AbstractDocument sscsDocument, boolean isConfidentialCase) {
         return new Pdf(getContentForGivenDoc(sscsDocument, isConfidentialCase), sscsDocument.getValue().getDocumentFileName());
     }
@@ -108,6 +123,8 @@ public class SscsDocumentService {
     }
 
     public Optional<Pdf> resizedPdf(Pdf originalPdf) throws BulkPrintException {
+        PdfEvent event = new PdfEvent(PdfEvent.RESIZE, originalPdf.getContent().length);
+        event.begin();
 
         try (PDDocument document = PDDocument.load(originalPdf.getContent())) {
             Optional<PDDocument> resizedDoc = pdfHelper.scaleToA4(document);
@@ -116,13 +133,17 @@ public class SscsDocumentService {
                 try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
                     try (PDDocument resized = resizedDoc.get()) {
                         resized.save(baos);
+                        event.setBytesOut(baos.size());
+                        event.finish(CaseSpanEvent.SUCCESS);
                         return Optional.of(new Pdf(baos.toByteArray(), originalPdf.getName()));
                     }
                 }
             } else {
+                event.finish("unchanged");
                 return Optional.empty();
             }
         } catch (Exception e) {
+            event.finish(CaseSpanEvent.outcomeOf(e));
             throw new BulkPrintException("Failed to check and resize PDF", e);
         }
     }
@@ -4,8 +4,8 @@ import static java.util.Objects.requireNonNull;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderConstants.NAME;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility.truncateAddressLine;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -23,18 +23,31 @@ public class FurtherEvidencePlaceholderService {
         this.placeholderService = placeholderService;
     }
 
+    public Map<String, Object> buildCasePlaceholders(SscsCaseData caseData) {
+        requireNonNull(caseData, "caseData must not be null");
+
+        return placeholderService.buildCasePlaceholders(caseData, null);
+    }
+
     public Map<String, Object> populatePlaceholders(SscsCaseData caseData, FurtherEvidenceLetterType letterType, String otherPartyId) {
         requireNonNull(caseData, "caseData must not be null");
 
-        Map<String, Object> placeholders = new ConcurrentHashMap<>();
+        return populatePlaceholders(buildCasePlaceholders(caseData), caseData, letterType, otherPartyId);
+    }
+
+    public Map<String, Object> populatePlaceholders(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                                    FurtherEvidenceLetterType letterType, String otherPartyId) {
+        requireNonNull(caseData, "caseData must not be null");
+
+        Map<String, Object> partyPlaceholders = new HashMap<>();
         Address address = PlaceholderUtility.getAddress(caseData, letterType, otherPartyId);
-        placeholderService.build(caseData, placeholders, address, null);
+        placeholderService.buildRecipientAddressPlaceholders(address, partyPlaceholders);
         String name = PlaceholderUtility.getName(caseData, letterType, otherPartyId);
 
         if (name != null) {
-            placeholders.put(NAME, truncateAddressLine(name));
+            partyPlaceholders.put(NAME, truncateAddressLine(name));
         }
 
-        return placeholders;
+        return PartyPlaceholders.of(casePlaceholders, partyPlaceholders);
     }
 }
@@ -8,6 +8,7 @@ import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility.d
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility.truncateAddressLine;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -30,31 +31,52 @@ public class GenericLetterPlaceholderService {
         this.placeholderService = placeholderService;
     }
 
-    public Map<String, Object> populatePlaceholders(SscsCaseData caseData, FurtherEvidenceLetterType letterType, String otherPartyId) {
+    public Map<String, Object> buildCasePlaceholders(SscsCaseData caseData) {
         var placeholders = new HashMap<String, Object>();
 
+        String appellantName = caseData.getAppeal().getAppellant().getName().getFullNameNoTitle();
+        placeholders.put(APPELLANT_NAME, appellantName);
+
+        placeholders.put(BENEFIT_NAME_ACRONYM_LITERAL, getBenefitAcronym(caseData));
+
+        placeholders.put(SSCS_URL_LITERAL, SSCS_URL);
+        placeholders.put(GENERATED_DATE_LITERAL, LocalDateTime.now().toLocalDate().toString());
+
+        if (placeholderService.hasRegionalProcessingCenter(caseData)) {
+            RegionalProcessingCenter rpc = caseData.getRegionalProcessingCenter();
+            placeholders.put(REGIONAL_OFFICE_PHONE_LITERAL, defaultToEmptyStringIfNull(rpc.getPhoneNumber()));
+        }
+
+        placeholders.put(APPEAL_REF, getAppealReference(caseData));
+        placeholders.put(INFO_REQUEST_DETAIL, caseData.getGenericLetterText());
+        placeholders.put(HMCTS2, HMCTS_IMG);
+        placeholders.put(CASE_ID_LITERAL, caseData.getCcdCaseId());
+
+        placeholderService.buildExcelaAddress(caseData.getIsScottishCase(), placeholders);
+
+        return Collections.unmodifiableMap(placeholders);
+    }
+
+    public Map<String, Object> populatePlaceholders(SscsCaseData caseData, FurtherEvidenceLetterType letterType, String otherPartyId) {
+        return populatePlaceholders(buildCasePlaceholders(caseData), caseData, letterType, otherPartyId);
+    }
+
+    public Map<String, Object> populatePlaceholders(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                                    FurtherEvidenceLetterType letterType, String otherPartyId) {
         Address address = PlaceholderUtility.getAddress(caseData, letterType, otherPartyId);
         String name = PlaceholderUtility.getName(caseData, letterType, otherPartyId);
 
-        placeholders.putAll(getAddressPlaceHolders(address));
+        var placeholders = getAddressPlaceHolders(address);
 
         if (name != null) {
             placeholders.put(ADDRESS_NAME, truncateAddressLine(name));
             placeholders.put(NAME, name);
         }
 
-        String appellantName = caseData.getAppeal().getAppellant().getName().getFullNameNoTitle();
-        placeholders.put(APPELLANT_NAME, appellantName);
-
-        placeholders.put(BENEFIT_NAME_ACRONYM_LITERAL, getBenefitAcronym(caseData));
-
-        placeholders.put(SSCS_URL_LITERAL, SSCS_URL);
-        placeholders.put(GENERATED_DATE_LITERAL, LocalDateTime.now().toLocalDate().toString());
         placeholders.put(IS_REPRESENTATIVE, "No");
 
         if (isRepresentativeLetter(letterType) || isOtherPartyLetter(letterType)) {
-            String representativeName = PlaceholderUtility.getName(caseData, letterType, otherPartyId);
-            placeholders.put(REPRESENTATIVE_NAME, representativeName);
+            placeholders.put(REPRESENTATIVE_NAME, name);
 
             if (isOtherPartyLetter(letterType)) {
                 placeholders.put(IS_OTHER_PARTY, "Yes");
@@ -63,20 +85,9 @@ public class GenericLetterPlaceholderService {
             }
         }
 
-        if (placeholderService.hasRegionalProcessingCenter(caseData)) {
-            RegionalProcessingCenter rpc = caseData.getRegionalProcessingCenter();
-            placeholders.put(REGIONAL_OFFICE_PHONE_LITERAL, defaultToEmptyStringIfNull(rpc.getPhoneNumber()));
-        }
-
         placeholders.put(JOINT, isJointPartyLetter(letterType) ? JOINT : "");
-        placeholders.put(APPEAL_REF, getAppealReference(caseData));
-        placeholders.put(INFO_REQUEST_DETAIL, caseData.getGenericLetterText());
-        placeholders.put(HMCTS2, HMCTS_IMG);
-        placeholders.put(CASE_ID_LITERAL, caseData.getCcdCaseId());
-
-        placeholderService.buildExcelaAddress(caseData.getIsScottishCase(), placeholders);
 
-        return placeholders;
+        return PartyPlaceholders.of(casePlaceholders, placeholders);
     }
 
     private static String getBenefitAcronym(SscsCaseData caseData) {
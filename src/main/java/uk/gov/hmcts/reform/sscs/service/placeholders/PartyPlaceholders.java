@@ -0,0 +1,71 @@
+package uk.gov.hmcts.reform.sscs.service.placeholders;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.Iterators;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of the case level placeholders, which are built once and shared by every letter on a case,
+ * overlaid with the few placeholders that differ per party (address, name and party flags).
+ * Party values win over case values for the same key.
+ */
+public final class PartyPlaceholders extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> casePlaceholders;
+    private final Map<String, Object> partyPlaceholders;
+    private final int size;
+
+    private PartyPlaceholders(Map<String, Object> casePlaceholders, Map<String, Object> partyPlaceholders) {
+        this.casePlaceholders = casePlaceholders;
+        this.partyPlaceholders = partyPlaceholders;
+        this.size = partyPlaceholders.size() + (int) casePlaceholders.keySet().stream()
+            .filter(key -> !partyPlaceholders.containsKey(key))
+            .count();
+    }
+
+    public static Map<String, Object> of(Map<String, Object> casePlaceholders, Map<String, Object> partyPlaceholders) {
+        requireNonNull(casePlaceholders, "casePlaceholders must not be null");
+        requireNonNull(partyPlaceholders, "partyPlaceholders must not be null");
+        return new PartyPlaceholders(Collections.unmodifiableMap(casePlaceholders),
+            Collections.unmodifiableMap(partyPlaceholders));
+    }
+
+    @Override
+    public Object get(Object key) {
+        return partyPlaceholders.containsKey(key) ? partyPlaceholders.get(key) : casePlaceholders.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return partyPlaceholders.containsKey(key) || casePlaceholders.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return Iterators.concat(
+                    partyPlaceholders.entrySet().iterator(),
+                    Iterators.filter(casePlaceholders.entrySet().iterator(),
+                        entry -> !partyPlaceholders.containsKey(entry.getKey())));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
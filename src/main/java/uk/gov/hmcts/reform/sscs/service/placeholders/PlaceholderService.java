@@ -6,6 +6,8 @@ import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility.d
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderUtility.truncateAddressLine;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -37,6 +39,16 @@ public class PlaceholderService {
     }
 
     public void build(SscsCaseData caseData, Map<String, Object> placeholders, Address address, String caseCreatedDate) {
+        placeholders.putAll(buildCasePlaceholders(caseData, caseCreatedDate));
+        buildRecipientAddressPlaceholders(address, placeholders);
+    }
+
+    /**
+     * Builds the placeholders that are the same for every party on the case. The result is immutable so it
+     * can be built once per message and shared across each party's letter.
+     */
+    public Map<String, Object> buildCasePlaceholders(SscsCaseData caseData, String caseCreatedDate) {
+        Map<String, Object> placeholders = new HashMap<>();
         Appeal appeal = caseData.getAppeal();
         String description = appeal.getBenefitType() != null ? appeal.getBenefitType().getDescription() : null;
 
@@ -77,7 +89,7 @@ public class PlaceholderService {
         buildExcelaAddress(caseData.getIsScottishCase(), placeholders);
 
         populateRpcPlaceHolders(caseData, placeholders);
-        buildRecipientAddressPlaceholders(address, placeholders);
+        return Collections.unmodifiableMap(placeholders);
     }
 
     public void buildExcelaAddress(String isScottish, Map<String, Object> placeholders) {
@@ -112,7 +124,7 @@ public class PlaceholderService {
             && nonNull(ccdResponse.getRegionalProcessingCenter().getName());
     }
 
-    private void buildRecipientAddressPlaceholders(Address address, Map<String, Object> placeholders) {
+    public void buildRecipientAddressPlaceholders(Address address, Map<String, Object> placeholders) {
         String[] lines = lines(address);
 
         if (lines.length >= 1) {
@@ -4,6 +4,7 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderConstants.*;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -29,24 +30,12 @@ public class SorPlaceholderService {
         this.placeholderService = placeholderService;
     }
 
-    public Map<String, Object> populatePlaceholders(SscsCaseData caseData, FurtherEvidenceLetterType letterType,
-                                                    String entityType, String otherPartyId) {
+    public Map<String, Object> buildCasePlaceholders(SscsCaseData caseData) {
         requireNonNull(caseData, "caseData must not be null");
 
-        Map<String, Object> placeholders = new HashMap<>();
-        Address address = PlaceholderUtility.getAddress(caseData, letterType, otherPartyId);
-        placeholderService.build(caseData, placeholders, address, null);
-
-        String name = PlaceholderUtility.getName(caseData, letterType, otherPartyId);
-        placeholders.putAll(PlaceholderUtility.getAddressPlaceHolders(address));
-
-        if (name != null) {
-            placeholders.put(NAME, name);
-            placeholders.put(ADDRESS_NAME, name);
-        }
+        Map<String, Object> placeholders = new HashMap<>(placeholderService.buildCasePlaceholders(caseData, null));
         placeholders.put(HMCTS2, HMCTS_IMG);
         placeholders.put(APPEAL_REF, caseData.getCcdCaseId());
-        placeholders.put(ENTITY_TYPE, entityType);
         placeholders.put(APPELLANT_NAME, caseData.getAppeal().getAppellant().getName().getFullNameNoTitle());
 
         Hearing latestHearing = caseData.getLatestHearing();
@@ -59,7 +48,35 @@ public class SorPlaceholderService {
             placeholders.put(PHONE_NUMBER, determinePhoneNumber(rpc));
         }
 
-        return placeholders;
+        return Collections.unmodifiableMap(placeholders);
+    }
+
+    public Map<String, Object> populatePlaceholders(SscsCaseData caseData, FurtherEvidenceLetterType letterType,
+                                                    String entityType, String otherPartyId) {
+        requireNonNull(caseData, "caseData must not be null");
+
+        return populatePlaceholders(buildCasePlaceholders(caseData), caseData, letterType, entityType, otherPartyId);
+    }
+
+    public Map<String, Object> populatePlaceholders(Map<String, Object> casePlaceholders, SscsCaseData caseData,
+                                                    FurtherEvidenceLetterType letterType, String entityType,
+                                                    String otherPartyId) {
+        requireNonNull(caseData, "caseData must not be null");
+
+        Map<String, Object> placeholders = new HashMap<>();
+        Address address = PlaceholderUtility.getAddress(caseData, letterType, otherPartyId);
+        placeholderService.buildRecipientAddressPlaceholders(address, placeholders);
+
+        String name = PlaceholderUtility.getName(caseData, letterType, otherPartyId);
+        placeholders.putAll(PlaceholderUtility.getAddressPlaceHolders(address));
+
+        if (name != null) {
+            placeholders.put(NAME, name);
+            placeholders.put(ADDRESS_NAME, name);
+        }
+        placeholders.put(ENTITY_TYPE, entityType);
+
+        return PartyPlaceholders.of(casePlaceholders, placeholders);
     }
 
     private String determinePhoneNumber(RegionalProcessingCenter rpc) {
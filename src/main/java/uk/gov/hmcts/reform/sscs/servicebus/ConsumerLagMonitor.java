@@ -0,0 +1,120 @@
+package uk.gov.hmcts.reform.sscs.servicebus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks how far behind the topic consumer is running: the age of each message when processing starts (the time
+ * since it was put on the topic), how many messages are in progress and how many are finished per second. The
+ * figures are kept for rolling windows so that the
+ * {@link uk.gov.hmcts.reform.sscs.servicebus.messaging.AdaptiveConcurrencyController} can act on the latest one.
+ */
+@Component
+public class ConsumerLagMonitor {
+
+    private final Clock clock;
+    private final Timer messageAge;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicLong windowMaxAgeMillis = new AtomicLong();
+
+    private volatile long lastAgeMillis;
+    private volatile long windowStart;
+    private volatile Window lastWindow = new Window(0, 0, 0);
+
+    @Autowired
+    public ConsumerLagMonitor(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    ConsumerLagMonitor(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.windowStart = clock.millis();
+        this.messageAge = Timer.builder("topic.consumer.message.age")
+            .description("Time from a message being put on the topic to processing starting")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("topic.consumer.message.age.last", this, monitor -> monitor.lastAgeMillis)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("topic.consumer.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("topic.consumer.processing.rate", this, monitor -> monitor.lastWindow.getRatePerSecond())
+            .description("Messages finished per second over the last window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Called when processing of a message starts. The enqueue time is the message's JMS timestamp, and may be null
+     * for messages that did not come from the topic.
+     */
+    public void started(Long enqueuedAtMillis) {
+        inFlight.incrementAndGet();
+        if (enqueuedAtMillis != null && enqueuedAtMillis > 0) {
+            long age = Math.max(0, clock.millis() - enqueuedAtMillis);
+            lastAgeMillis = age;
+            windowMaxAgeMillis.accumulateAndGet(age, Math::max);
+            messageAge.record(age, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void finished() {
+        inFlight.decrementAndGet();
+        completed.increment();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Window getLastWindow() {
+        return lastWindow;
+    }
+
+    /**
+     * Closes the current window and starts the next one.
+     */
+    @Scheduled(fixedRateString = "${amqp.listener.monitor.window:10000}")
+    public synchronized void roll() {
+        long now = clock.millis();
+        long elapsed = Math.max(1, now - windowStart);
+        long finished = completed.sumThenReset();
+        lastWindow = new Window(finished * 1000.0 / elapsed, windowMaxAgeMillis.getAndSet(0), finished);
+        windowStart = now;
+    }
+
+    /**
+     * Figures for one window: the processing rate, the oldest message started and the number finished.
+     */
+    public static final class Window {
+        private final double ratePerSecond;
+        private final long maxAgeMillis;
+        private final long completed;
+
+        public Window(double ratePerSecond, long maxAgeMillis, long completed) {
+            this.ratePerSecond = ratePerSecond;
+            this.maxAgeMillis = maxAgeMillis;
+            this.completed = completed;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public long getMaxAgeMillis() {
+            return maxAgeMillis;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+    }
+}
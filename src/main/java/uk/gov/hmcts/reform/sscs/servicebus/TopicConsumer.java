@@ -3,6 +3,10 @@ package uk.gov.hmcts.reform.sscs.servicebus;
 import static java.lang.String.format;
 import static uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType.SUBMITTED;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.Striped;
+import java.util.concurrent.locks.Lock;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
@@ -11,10 +15,15 @@ import org.springframework.jms.support.JmsHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.sscs.callback.CallbackDispatcher;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpointJournal;
 import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
 import uk.gov.hmcts.reform.sscs.ccd.deserialisation.SscsCaseCallbackDeserializer;
 import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
 import uk.gov.hmcts.reform.sscs.exception.*;
+import uk.gov.hmcts.reform.sscs.jfr.CaseContext;
+import uk.gov.hmcts.reform.sscs.jfr.CaseSpanEvent;
+import uk.gov.hmcts.reform.sscs.jfr.MessageEvent;
 
 @Slf4j
 @Component
@@ -24,14 +33,22 @@ public class TopicConsumer {
     private final Integer maxRetryAttempts;
     private final CallbackDispatcher<SscsCaseData> dispatcher;
     private final SscsCaseCallbackDeserializer sscsDeserializer;
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final HandlerCheckpointJournal checkpointJournal;
+    // with more than one listener consumer, messages for the same case are still handled one at a time
+    private final Striped<Lock> caseLocks = Striped.lock(64);
 
     public TopicConsumer(@Value("${send-letter.maxRetryAttempts}") Integer maxRetryAttempts,
                          CallbackDispatcher<SscsCaseData> dispatcher,
-                         SscsCaseCallbackDeserializer sscsDeserializer) {
+                         SscsCaseCallbackDeserializer sscsDeserializer,
+                         ConsumerLagMonitor consumerLagMonitor,
+                         HandlerCheckpointJournal checkpointJournal) {
         this.maxRetryAttempts = maxRetryAttempts;
         //noinspection unchecked
         this.dispatcher = dispatcher;
         this.sscsDeserializer = sscsDeserializer;
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.checkpointJournal = checkpointJournal;
     }
 
 
@@ -41,14 +58,30 @@ public class TopicConsumer {
         subscription = "${amqp.subscription}"
 
     )
-    public void onMessage(String message, @Header(JmsHeaders.MESSAGE_ID) String messageId) {
-        processMessageWithRetry(message, 1, messageId);
+    public void onMessage(String message, @Header(JmsHeaders.MESSAGE_ID) String messageId,
+                          @Header(name = JmsHeaders.TIMESTAMP, required = false) Long enqueuedAt) {
+        consumerLagMonitor.started(enqueuedAt);
+        HandlerCheckpoint checkpoint = checkpointJournal.open(messageId, message);
+        // read once for all the attempts, so that a retry skipping the handlers that completed still sees the changes
+        // they made to the case data, such as the robotics handler setting the date the case was sent to GAPS
+        Supplier<Callback<SscsCaseData>> callback = Suppliers.memoize(() -> sscsDeserializer.deserialize(message));
+        try {
+            processMessageWithRetry(callback, message.length(), 1, messageId, checkpoint);
+        } finally {
+            checkpointJournal.close(checkpoint);
+            consumerLagMonitor.finished();
+        }
     }
 
-    private void processMessageWithRetry(String message, int retry, String messageId) {
+    public void onMessage(String message, String messageId) {
+        onMessage(message, messageId, null);
+    }
+
+    private void processMessageWithRetry(Supplier<Callback<SscsCaseData>> message, int length, int retry,
+                                         String messageId, HandlerCheckpoint checkpoint) {
         try {
 
-            processMessage(message, messageId);
+            processMessage(message, length, messageId, checkpoint);
         } catch (Exception e) {
             if (retry > maxRetryAttempts || isException(e)) {
                 log.error(format("Caught unknown unrecoverable error %s for message id %s", e.getMessage(), messageId), e);
@@ -57,7 +90,7 @@ public class TopicConsumer {
                 log.info(String.format("Caught recoverable error %s, retrying %s out of %s for message id %s",
                     e.getMessage(), retry, maxRetryAttempts, messageId));
 
-                processMessageWithRetry(message, retry + 1, messageId);
+                processMessageWithRetry(message, length, retry + 1, messageId, checkpoint);
             }
         }
     }
@@ -66,10 +99,21 @@ public class TopicConsumer {
         return e instanceof IssueFurtherEvidenceException || e instanceof PostIssueFurtherEvidenceTasksException;
     }
 
-    private void processMessage(String message, String messageId) {
+    private void processMessage(Supplier<Callback<SscsCaseData>> message, int length, String messageId,
+                                HandlerCheckpoint checkpoint) {
+        MessageEvent event = new MessageEvent(messageId, length);
+        event.begin();
+        String outcome = CaseSpanEvent.SUCCESS;
         try {
-            Callback<SscsCaseData> callback = sscsDeserializer.deserialize(message);
-            dispatcher.handle(SUBMITTED, callback);
+            Callback<SscsCaseData> callback = message.get();
+            CaseContext.set(callback);
+            Lock caseLock = caseLocks.get(callback.getCaseDetails().getId());
+            caseLock.lock();
+            try {
+                dispatcher.handle(SUBMITTED, callback, checkpoint);
+            } finally {
+                caseLock.unlock();
+            }
             log.info("Sscs Case CCD callback `{}` handled for Case ID `{}` for message id {}", callback.getEvent(), callback.getCaseDetails().getId(),
                 messageId);
         } catch (NonPdfBulkPrintException
@@ -78,8 +122,15 @@ public class TopicConsumer {
                  | BulkPrintException
                  | DwpAddressLookupException
                  | NoMrnDetailsException exception) {
+            outcome = CaseSpanEvent.outcomeOf(exception);
             // unrecoverable. Catch to remove it from the queue.
             log.error(format("Caught unrecoverable error: %s for message id %s", exception.getMessage(), messageId), exception);
+        } catch (RuntimeException e) {
+            outcome = CaseSpanEvent.outcomeOf(e);
+            throw e;
+        } finally {
+            event.finish(outcome);
+            CaseContext.clear();
         }
     }
 }
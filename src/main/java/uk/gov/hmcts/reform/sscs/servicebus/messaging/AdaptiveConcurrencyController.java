@@ -0,0 +1,148 @@
+package uk.gov.hmcts.reform.sscs.servicebus.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.sscs.servicebus.ConsumerLagMonitor;
+
+/**
+ * Raises or lowers the number of topic listener consumers within the configured bounds. Consumers are added one at a
+ * time while messages are older than the target lag when processing starts. They are halved when downstream calls
+ * are failing more often than the allowed error rate, so a backlog after an outage is worked off as quickly as the
+ * downstream services allow and no quicker. When the backlog is cleared the consumers drift back to the minimum.
+ *
+ * <p>The error rate is read from the {@code outbound.call} timers recorded by
+ * {@link uk.gov.hmcts.reform.sscs.config.OutboundCallMetrics}, and published as
+ * {@code topic.consumer.downstream_error_rate}. Until any of those timers are recorded the error rate is not known:
+ * the gauge reads NaN, a warning is logged and the consumers only follow the lag.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "amqp.listener.adaptive.enabled", havingValue = "true")
+public class AdaptiveConcurrencyController {
+
+    private final ObjectProvider<JmsListenerEndpointRegistry> listenerRegistry;
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final MeterRegistry meterRegistry;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final long targetLagMillis;
+    private final double maxErrorRate;
+    private final AtomicInteger consumers;
+
+    private long lastCalls;
+    private long lastFailures;
+    private volatile double errorRate = Double.NaN;
+    private boolean warnedNoTimers;
+
+    public AdaptiveConcurrencyController(ObjectProvider<JmsListenerEndpointRegistry> listenerRegistry,
+                                         ConsumerLagMonitor consumerLagMonitor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${amqp.listener.adaptive.min-consumers:1}") int minConsumers,
+                                         @Value("${amqp.listener.adaptive.max-consumers:8}") int maxConsumers,
+                                         @Value("${amqp.listener.adaptive.target-lag:PT1M}") Duration targetLag,
+                                         @Value("${amqp.listener.adaptive.max-error-rate:0.1}") double maxErrorRate) {
+        this.listenerRegistry = listenerRegistry;
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.meterRegistry = meterRegistry;
+        this.minConsumers = Math.max(1, minConsumers);
+        this.maxConsumers = Math.max(this.minConsumers, maxConsumers);
+        this.targetLagMillis = targetLag.toMillis();
+        this.maxErrorRate = maxErrorRate;
+        this.consumers = new AtomicInteger(this.minConsumers);
+        Gauge.builder("topic.consumer.concurrency", consumers, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("topic.consumer.downstream_error_rate", this, controller -> controller.errorRate)
+            .description("Share of downstream calls that failed since the consumers were last adjusted, NaN if unknown")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${amqp.listener.adaptive.interval:30000}",
+        fixedDelayString = "${amqp.listener.adaptive.interval:30000}"
+    )
+    public void adjust() {
+        ConsumerLagMonitor.Window window = consumerLagMonitor.getLastWindow();
+        errorRate = downstreamErrorRate();
+        int current = consumers.get();
+        int next = nextConcurrency(current, minConsumers, maxConsumers, window.getMaxAgeMillis(), targetLagMillis,
+            errorRate, maxErrorRate);
+        if (next != current) {
+            log.info("Changing topic consumers from {} to {}: lag {}ms, downstream error rate {}, {} messages/s",
+                current, next, window.getMaxAgeMillis(), String.format("%.3f", errorRate),
+                String.format("%.2f", window.getRatePerSecond()));
+            apply(next);
+            consumers.set(next);
+        }
+    }
+
+    static int nextConcurrency(int current, int min, int max, long lagMillis, long targetLagMillis,
+                               double errorRate, double maxErrorRate) {
+        if (errorRate > maxErrorRate) {
+            return Math.max(min, current / 2);
+        }
+        if (lagMillis > targetLagMillis) {
+            return Math.min(max, current + 1);
+        }
+        if (lagMillis < targetLagMillis / 2) {
+            return Math.max(min, current - 1);
+        }
+        return current;
+    }
+
+    private double downstreamErrorRate() {
+        Collection<Timer> timers = meterRegistry.find("outbound.call").timers();
+        if (timers.isEmpty()) {
+            if (!warnedNoTimers) {
+                log.warn("No outbound.call timers have been recorded, so the downstream error rate is not known and "
+                    + "topic consumers are adjusted on lag alone");
+                warnedNoTimers = true;
+            }
+            return Double.NaN;
+        }
+        warnedNoTimers = false;
+        long calls = 0;
+        long failures = 0;
+        for (Timer timer : timers) {
+            calls += timer.count();
+            if ("failure".equals(timer.getId().getTag("outcome"))) {
+                failures += timer.count();
+            }
+        }
+        long windowCalls = calls - lastCalls;
+        long windowFailures = failures - lastFailures;
+        lastCalls = calls;
+        lastFailures = failures;
+        return windowCalls > 0 ? (double) windowFailures / windowCalls : 0;
+    }
+
+    private void apply(int next) {
+        JmsListenerEndpointRegistry registry = listenerRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        registry.getListenerContainers().forEach(container -> {
+            if (container instanceof DefaultMessageListenerContainer) {
+                DefaultMessageListenerContainer listener = (DefaultMessageListenerContainer) container;
+                // widen first so that the floor is never above the ceiling
+                if (next > listener.getMaxConcurrentConsumers()) {
+                    listener.setMaxConcurrentConsumers(next);
+                    listener.setConcurrentConsumers(next);
+                } else {
+                    listener.setConcurrentConsumers(next);
+                    listener.setMaxConcurrentConsumers(next);
+                }
+            }
+        });
+    }
+}
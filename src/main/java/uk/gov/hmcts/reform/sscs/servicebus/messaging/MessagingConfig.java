@@ -107,11 +107,20 @@ public class MessagingConfig {
     }
 
     @Bean
-    public JmsListenerContainerFactory topicJmsListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public JmsListenerContainerFactory topicJmsListenerContainerFactory(
+        ConnectionFactory connectionFactory,
+        @Value("${amqp.listener.adaptive.enabled:false}") boolean adaptiveConcurrency,
+        @Value("${amqp.listener.adaptive.min-consumers:1}") int minConsumers) {
         log.info("Creating JMSListenerContainer bean for topics..");
         DefaultJmsListenerContainerFactory returnValue = new DefaultJmsListenerContainerFactory();
         returnValue.setConnectionFactory(connectionFactory);
         returnValue.setSubscriptionDurable(Boolean.TRUE);
+        if (adaptiveConcurrency) {
+            // more than one consumer on a durable subscription needs it to be shared; TopicConsumer keeps
+            // messages for the same case from being handled at the same time
+            returnValue.setSubscriptionShared(Boolean.TRUE);
+            returnValue.setConcurrency(String.valueOf(Math.max(1, minConsumers)));
+        }
         returnValue.setErrorHandler(new JmsErrorHandler());
         return returnValue;
     }
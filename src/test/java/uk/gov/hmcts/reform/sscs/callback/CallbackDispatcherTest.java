@@ -10,6 +10,8 @@ import static uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority.*;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_FURTHER_EVIDENCE;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.State.INTERLOCUTORY_REVIEW_STATE;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -43,6 +45,8 @@ public class CallbackDispatcherTest {
     @Mock
     private IssueFurtherEvidenceHandler issueAppellantAppointeeFurtherEvidenceHandler;
 
+    private final HandlerMetrics handlerMetrics = new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10));
+
     @Test
     @Parameters({
         "EARLIEST,LATE,LATEST",
@@ -58,7 +62,7 @@ public class CallbackDispatcherTest {
         mockHandlers(p1, p2, p3);
         List<CallbackHandler<SscsCaseData>> handlers = Arrays.asList(
             roboticsHandler, sendToBulkPrintHandler, issueAppellantAppointeeFurtherEvidenceHandler);
-        CallbackDispatcher<SscsCaseData> callbackDispatcher = new CallbackDispatcher<>(handlers);
+        CallbackDispatcher<SscsCaseData> callbackDispatcher = new CallbackDispatcher<>(handlers, handlerMetrics);
         callbackDispatcher.handle(CallbackType.SUBMITTED, buildTestCallbackForGivenData(SscsCaseData.builder().build(), INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE));
         verifyMethodsAreCalledCorrectNumberOfTimes();
         verifyHandlersAreExecutedInPriorityOrder(handlers);
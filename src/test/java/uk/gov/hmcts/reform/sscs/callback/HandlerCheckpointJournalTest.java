@@ -0,0 +1,171 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerHelper.buildTestCallbackForGivenData;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_FURTHER_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.State.INTERLOCUTORY_REVIEW_STATE;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+
+public class HandlerCheckpointJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Callback<SscsCaseData> callback = buildTestCallbackForGivenData(SscsCaseData.builder().build(),
+        INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE);
+
+    @Test
+    public void retryResumesAtTheHandlerThatFailed() {
+        CountingHandler first = new CountingHandler();
+        FailOnceHandler second = new FailOnceHandler();
+        CallbackDispatcher<SscsCaseData> dispatcher = new CallbackDispatcher<>(List.of(first, second),
+            new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10)));
+        HandlerCheckpoint checkpoint = journal(false).open("1", "message");
+
+        try {
+            dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+            fail("Expected the second handler to fail");
+        } catch (IllegalStateException expected) {
+            // the retry picks up from here
+        }
+        dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+
+        assertEquals(1, first.calls);
+        assertEquals(2, second.calls);
+    }
+
+    @Test
+    public void redeliveryAfterARestartRunsEveryHandlerAgainButKeepsTheStepsTheyRecorded() {
+        SendingHandler first = new SendingHandler();
+        FailOnceHandler second = new FailOnceHandler();
+        CallbackDispatcher<SscsCaseData> dispatcher = new CallbackDispatcher<>(List.of(first, second),
+            new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10)));
+
+        try {
+            dispatcher.handle(CallbackType.SUBMITTED, callback, journal(true).open("1", "message"));
+            fail("Expected the second handler to fail");
+        } catch (IllegalStateException expected) {
+            // the service restarts and the message is redelivered
+        }
+        Callback<SscsCaseData> redelivered = buildTestCallbackForGivenData(SscsCaseData.builder().build(),
+            INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE);
+        dispatcher.handle(CallbackType.SUBMITTED, redelivered, journal(true).open("1", "message"));
+
+        assertEquals(2, first.calls);
+        assertEquals(1, first.sent);
+        assertEquals(2, second.calls);
+        assertEquals("2026-10-19", redelivered.getCaseDetails().getCaseData().getDateCaseSentToGaps());
+    }
+
+    @Test
+    public void completedHandlersAreKeptUntilTheMessageIsClosed() {
+        HandlerCheckpointJournal journal = journal(false);
+        journal.open("1", "message").completed("first");
+
+        assertTrue(journal.open("1", "message").isCompleted("first"));
+        assertFalse(journal.open("1", "another message").isCompleted("first"));
+
+        journal.close(journal.open("1", "message"));
+
+        assertTrue(journal.open("1", "message").isEmpty());
+    }
+
+    @Test
+    public void fileBackedJournalSurvivesARestartAndIsDeletedOnClose() {
+        journal(true).open("1", "message").completed("first");
+
+        HandlerCheckpointJournal restarted = journal(true);
+        HandlerCheckpoint checkpoint = restarted.open("1", "message");
+        assertTrue(checkpoint.isCompleted("first"));
+
+        restarted.close(checkpoint);
+
+        assertEquals(0, folder.getRoot().listFiles().length);
+        assertTrue(journal(true).open("1", "message").isEmpty());
+    }
+
+    @Test
+    public void removesExpiredFiles() {
+        HandlerCheckpointJournal journal = new HandlerCheckpointJournal(true, folder.getRoot().getPath(),
+            Duration.ofHours(1), 100);
+        journal.open("1", "message").completed("first");
+        File[] files = folder.getRoot().listFiles();
+        assertEquals(1, files.length);
+        assertTrue(files[0].setLastModified(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+
+        journal.removeExpired();
+
+        assertEquals(0, folder.getRoot().listFiles().length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fileBackedJournalNeedsADirectory() {
+        new HandlerCheckpointJournal(true, "", Duration.ofHours(24), 100);
+    }
+
+    private HandlerCheckpointJournal journal(boolean fileBacked) {
+        return new HandlerCheckpointJournal(fileBacked, folder.getRoot().getPath(), Duration.ofHours(24), 100);
+    }
+
+    private static class CountingHandler implements CallbackHandler<SscsCaseData> {
+        int calls;
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            calls++;
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.EARLY;
+        }
+    }
+
+    private static class SendingHandler extends CountingHandler {
+        int sent;
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            super.handle(callbackType, callback);
+            if (!HandlerCheckpoint.current().isCompleted("letter")) {
+                sent++;
+                HandlerCheckpoint.current().completed("letter");
+            }
+            callback.getCaseDetails().getCaseData().setDateCaseSentToGaps("2026-10-19");
+        }
+    }
+
+    private static class FailOnceHandler extends CountingHandler {
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            super.handle(callbackType, callback);
+            if (calls == 1) {
+                throw new IllegalStateException("handler failed");
+            }
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.LATE;
+        }
+    }
+}
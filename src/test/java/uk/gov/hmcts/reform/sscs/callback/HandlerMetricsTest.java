@@ -0,0 +1,103 @@
+package uk.gov.hmcts.reform.sscs.callback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerHelper.buildTestCallbackForGivenData;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_FURTHER_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.State.INTERLOCUTORY_REVIEW_STATE;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+
+public class HandlerMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final HandlerMetrics handlerMetrics = new HandlerMetrics(registry, Duration.ofSeconds(10));
+    private final Callback<SscsCaseData> callback = buildTestCallbackForGivenData(SscsCaseData.builder().build(),
+        INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE);
+
+    @Test
+    public void recordsHandleTimeAndCanHandleResultsPerHandlerAndEvent() {
+        dispatcher(new AcceptingHandler(), new DecliningHandler()).handle(CallbackType.SUBMITTED, callback);
+
+        assertEquals(1, registry.get(HandlerMetrics.HANDLE_TIMER)
+            .tag("handler", "AcceptingHandler").tag("event", "issueFurtherEvidence").timer().count());
+        assertEquals(0, registry.find(HandlerMetrics.HANDLE_TIMER).tag("handler", "DecliningHandler").timers().size());
+        assertEquals(1.0, registry.get(HandlerMetrics.CAN_HANDLE_COUNTER)
+            .tag("handler", "DecliningHandler").tag("result", "false").counter().count(), 0);
+    }
+
+    @Test
+    public void countsExceptionsAndRethrowsThem() {
+        try {
+            dispatcher(new FailingHandler()).handle(CallbackType.SUBMITTED, callback);
+            fail("Expected the handler's exception to be rethrown");
+        } catch (IllegalStateException expected) {
+            // counted and passed on
+        }
+
+        assertEquals(1.0, registry.get(HandlerMetrics.EXCEPTION_COUNTER)
+            .tag("handler", "FailingHandler").tag("exception", "IllegalStateException").counter().count(), 0);
+        assertEquals(1, registry.get(HandlerMetrics.HANDLE_TIMER).tag("handler", "FailingHandler").timer().count());
+    }
+
+    @Test
+    public void statsEndpointShowsEachHandlerByEvent() {
+        CallbackDispatcher<SscsCaseData> dispatcher = dispatcher(new AcceptingHandler(), new DecliningHandler());
+        dispatcher.handle(CallbackType.SUBMITTED, callback);
+        dispatcher.handle(CallbackType.SUBMITTED, callback);
+
+        Map<String, Map<String, Map<String, Object>>> stats = new HandlerStatsEndpoint(handlerMetrics).stats();
+
+        Map<String, Object> accepting = stats.get("AcceptingHandler").get("issueFurtherEvidence");
+        assertEquals(2L, accepting.get("handled"));
+        assertEquals(1.0, (Double) accepting.get("canHandleRatio"), 0);
+        Map<String, Object> declining = stats.get("DecliningHandler").get("issueFurtherEvidence");
+        assertEquals(2L, declining.get("declined"));
+        assertEquals(0.0, (Double) declining.get("canHandleRatio"), 0);
+    }
+
+    @SafeVarargs
+    private CallbackDispatcher<SscsCaseData> dispatcher(CallbackHandler<SscsCaseData>... handlers) {
+        return new CallbackDispatcher<>(List.of(handlers), handlerMetrics);
+    }
+
+    private static class AcceptingHandler implements CallbackHandler<SscsCaseData> {
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            // nothing to do
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.EARLY;
+        }
+    }
+
+    private static class DecliningHandler extends AcceptingHandler {
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return false;
+        }
+    }
+
+    private static class FailingHandler extends AcceptingHandler {
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            throw new IllegalStateException("handler failed");
+        }
+    }
+}
@@ -17,6 +17,7 @@ import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.*;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
 import org.junit.Before;
@@ -25,7 +26,6 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -38,6 +38,7 @@ import uk.gov.hmcts.reform.sscs.exception.IssueFurtherEvidenceException;
 import uk.gov.hmcts.reform.sscs.exception.PostIssueFurtherEvidenceTasksException;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
 import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
+import uk.gov.hmcts.reform.sscs.service.CaseDocumentIndex;
 import uk.gov.hmcts.reform.sscs.service.FurtherEvidenceService;
 
 @RunWith(JUnitParamsRunner.class)
@@ -55,7 +56,6 @@ public class IssueFurtherEvidenceHandlerTest {
     @Mock
     private CcdService ccdService;
 
-    @InjectMocks
     private IssueFurtherEvidenceHandler issueFurtherEvidenceHandler;
 
     @Captor
@@ -74,9 +74,13 @@ public class IssueFurtherEvidenceHandlerTest {
         .appeal(Appeal.builder().build())
         .build();
 
+    private final Map<String, Object> casePlaceholders = Map.of("caseId", "1563382899630221");
+
     @Before
     public void setup() {
+        issueFurtherEvidenceHandler = new IssueFurtherEvidenceHandler(furtherEvidenceService, ccdService, idamService, false);
         given(furtherEvidenceService.canHandleAnyDocument(any())).willReturn(true);
+        given(furtherEvidenceService.buildCasePlaceholders(any())).willReturn(casePlaceholders);
     }
 
     @Test(expected = NullPointerException.class)
@@ -135,7 +139,7 @@ public class IssueFurtherEvidenceHandlerTest {
 
     @Test
     public void givenExceptionWhenIssuingFurtherEvidence_shouldHandleItAppropriately() {
-        doThrow(RuntimeException.class).when(furtherEvidenceService).issue(any(), any(), any(), any(), eq(null));
+        doThrow(RuntimeException.class).when(furtherEvidenceService).issue(any(CaseDocumentIndex.class), any(), any(), any(), any(), eq(null));
         when(idamService.getIdamTokens()).thenReturn(IdamTokens.builder().build());
 
         try {
@@ -163,17 +167,18 @@ public class IssueFurtherEvidenceHandlerTest {
         issueFurtherEvidenceHandler.handle(CallbackType.SUBMITTED,
             buildTestCallbackForGivenData(caseData, INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE));
 
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(APPELLANT_EVIDENCE),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(APPELLANT_EVIDENCE),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq(null));
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(REPRESENTATIVE_EVIDENCE),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(REPRESENTATIVE_EVIDENCE),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq(null));
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(JOINT_PARTY_EVIDENCE),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(JOINT_PARTY_EVIDENCE),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq(null));
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(DWP_EVIDENCE),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(DWP_EVIDENCE),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq(null));
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(HMCTS_EVIDENCE),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(HMCTS_EVIDENCE),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq(null));
         verify(furtherEvidenceService).canHandleAnyDocument(caseData.getSscsDocument());
+        verify(furtherEvidenceService).buildCasePlaceholders(caseData);
 
         verify(ccdService, times(1)).updateCase(captor.capture(), any(Long.class),
             eq(EventType.UPDATE_CASE_ONLY.getCcdType()), any(), any(), any(IdamTokens.class));
@@ -184,6 +189,23 @@ public class IssueFurtherEvidenceHandlerTest {
         verifyNoMoreInteractions(furtherEvidenceService);
     }
 
+    @Test
+    public void givenConsolidatedIssueEnabled_shouldIssueAllEvidenceInOneCall() {
+        issueFurtherEvidenceHandler = new IssueFurtherEvidenceHandler(furtherEvidenceService, ccdService, idamService, true);
+        when(idamService.getIdamTokens()).thenReturn(IdamTokens.builder().build());
+
+        issueFurtherEvidenceHandler.handle(CallbackType.SUBMITTED,
+            buildTestCallbackForGivenData(caseData, INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE));
+
+        verify(furtherEvidenceService).issueConsolidated(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData),
+            eq(Arrays.asList(APPELLANT_EVIDENCE, REPRESENTATIVE_EVIDENCE, DWP_EVIDENCE, JOINT_PARTY_EVIDENCE, HMCTS_EVIDENCE)),
+            eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)));
+        verify(furtherEvidenceService, never()).issue(any(CaseDocumentIndex.class), any(), any(), any(), any(), any());
+        verify(ccdService, times(1)).updateCase(captor.capture(), any(Long.class),
+            eq(EventType.UPDATE_CASE_ONLY.getCcdType()), any(), any(), any(IdamTokens.class));
+        assertEquals("Yes", captor.getValue().getSscsDocument().get(0).getValue().getEvidenceIssued());
+    }
+
     @Test
     public void shouldReturnBaseDescriptionWhenNoResizedDocuments() {
         SscsDocumentDetails docDetails = SscsDocumentDetails.builder().build();
@@ -223,10 +245,10 @@ public class IssueFurtherEvidenceHandlerTest {
         issueFurtherEvidenceHandler.handle(CallbackType.SUBMITTED,
             buildTestCallbackForGivenData(caseData, INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE));
 
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(documentType),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(documentType),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq("1"));
 
-        verify(furtherEvidenceService, times(6)).issue(any(), eq(caseData), any(),
+        verify(furtherEvidenceService, times(6)).issue(any(CaseDocumentIndex.class), eq(casePlaceholders), eq(caseData), any(),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), any());
 
         verify(ccdService, times(1)).updateCase(captor.capture(), any(Long.class),
@@ -249,10 +271,10 @@ public class IssueFurtherEvidenceHandlerTest {
         issueFurtherEvidenceHandler.handle(CallbackType.SUBMITTED,
             buildTestCallbackForGivenData(caseData, INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE));
 
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(documentType),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(documentType),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq("1"));
 
-        verify(furtherEvidenceService, times(6)).issue(any(), eq(caseData), any(),
+        verify(furtherEvidenceService, times(6)).issue(any(CaseDocumentIndex.class), eq(casePlaceholders), eq(caseData), any(),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), any());
 
         verify(ccdService, times(1)).updateCase(captor.capture(), any(Long.class),
@@ -283,13 +305,13 @@ public class IssueFurtherEvidenceHandlerTest {
         issueFurtherEvidenceHandler.handle(CallbackType.SUBMITTED,
             buildTestCallbackForGivenData(caseData, INTERLOCUTORY_REVIEW_STATE, ISSUE_FURTHER_EVIDENCE));
 
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(documentType),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(documentType),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq("1"));
 
-        verify(furtherEvidenceService).issue(eq(caseData.getSscsDocument()), eq(caseData), eq(documentType),
+        verify(furtherEvidenceService).issue(indexOver(caseData.getSscsDocument()), eq(casePlaceholders), eq(caseData), eq(documentType),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), eq("2"));
 
-        verify(furtherEvidenceService, times(7)).issue(any(), eq(caseData), any(),
+        verify(furtherEvidenceService, times(7)).issue(any(CaseDocumentIndex.class), eq(casePlaceholders), eq(caseData), any(),
             eq(Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER, JOINT_PARTY_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER)), any());
 
         verify(ccdService, times(1)).updateCase(captor.capture(), any(Long.class),
@@ -309,4 +331,7 @@ public class IssueFurtherEvidenceHandlerTest {
         return SscsDocument.builder().value(docDetails).build();
     }
 
+    private static CaseDocumentIndex indexOver(List<SscsDocument> documents) {
+        return argThat(index -> index.getDocuments() == documents);
+    }
 }
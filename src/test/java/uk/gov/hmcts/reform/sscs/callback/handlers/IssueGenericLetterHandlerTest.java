@@ -20,13 +20,14 @@ import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_GENERIC_LETTER
 import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.NON_COMPLIANT;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.State.READY_TO_LIST;
 import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.buildCaseData;
+import static uk.gov.hmcts.reform.sscs.config.DocmosisTemplatesHelper.buildDocmosisTemplates;
 import static uk.gov.hmcts.reform.sscs.model.PartyItemList.OTHER_PARTY;
 import static uk.gov.hmcts.reform.sscs.model.PartyItemList.OTHER_PARTY_REPRESENTATIVE;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderHelper.buildJointParty;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderHelper.buildOtherParty;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -41,10 +42,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
 import uk.gov.hmcts.reform.sscs.service.BulkPrintService;
 import uk.gov.hmcts.reform.sscs.service.CcdNotificationService;
 import uk.gov.hmcts.reform.sscs.service.CoverLetterService;
+import uk.gov.hmcts.reform.sscs.service.LetterFanOutJournal;
 import uk.gov.hmcts.reform.sscs.service.placeholders.GenericLetterPlaceholderService;
 
 @ExtendWith(MockitoExtension.class)
@@ -68,24 +69,12 @@ class IssueGenericLetterHandlerTest {
     @Captor
     ArgumentCaptor<String> argumentCaptor;
 
-    private Map<LanguagePreference, Map<String, Map<String, String>>> template =  new HashMap<>();
-
     private byte[] letter = new byte[1];
 
     @BeforeEach
     public void setup() {
-        Map<String, String> nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-LET-ENG-Issue-Generic-Letter.docx");
-        nameMap.put("cover", "TB-SCS-LET-ENG-Cover-Sheet.docx");
-        Map<String, Map<String, String>> englishDocs = new HashMap<>();
-        englishDocs.put("generic-letter", nameMap);
-        template.put(LanguagePreference.ENGLISH, englishDocs);
-
-        DocmosisTemplateConfig docmosisTemplateConfig = new DocmosisTemplateConfig();
-        docmosisTemplateConfig.setTemplate(template);
-
         handler = new IssueGenericLetterHandler(bulkPrintService, genericLetterPlaceholderService, coverLetterService,
-            docmosisTemplateConfig, true);
+            buildDocmosisTemplates(), new LetterFanOutJournal(new SimpleMeterRegistry()), true);
     }
 
     @Test
@@ -116,7 +105,7 @@ class IssueGenericLetterHandlerTest {
             READY_TO_LIST,
             ISSUE_GENERIC_LETTER);
         handler = new IssueGenericLetterHandler(bulkPrintService, genericLetterPlaceholderService, coverLetterService,
-            null, false);
+            null, new LetterFanOutJournal(new SimpleMeterRegistry()), false);
 
         boolean result = handler.canHandle(SUBMITTED, callback);
 
@@ -164,7 +153,7 @@ class IssueGenericLetterHandlerTest {
         caseData.setOtherParties(List.of(otherParty, new CcdValue<>(otherPartyWithRep)));
         caseData.setOtherPartySelection(buildOtherPartiesSelection(otherParty, representative));
 
-        when(genericLetterPlaceholderService.populatePlaceholders(eq(caseData), any(), nullable(String.class))).thenReturn(Map.of());
+        when(genericLetterPlaceholderService.populatePlaceholders(any(), eq(caseData), any(), nullable(String.class))).thenReturn(Map.of());
         when(coverLetterService.generateCoverLetterRetry(any(), anyString(), anyString(), any(), anyInt())).thenReturn(letter);
         when(coverLetterService.generateCoverSheet(anyString(), eq("coversheet"), eq(Map.of()))).thenReturn(letter);
 
@@ -174,7 +163,7 @@ class IssueGenericLetterHandlerTest {
 
         verify(bulkPrintService, times(5)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(ISSUE_GENERIC_LETTER),
-            argumentCaptor.capture());
+            argumentCaptor.capture(), any());
         Assertions.assertEquals(argumentCaptor.getAllValues(), List.of("User Test", "Wendy Giles", "Joint Party", "Other Party", "OPRepFirstName OPRepLastName"));
     }
 
@@ -201,7 +190,7 @@ class IssueGenericLetterHandlerTest {
         caseData.setOtherParties(List.of(otherParty, new CcdValue<>(otherPartyWithRep)));
         caseData.setOtherPartySelection(buildOtherPartiesSelection(otherParty, representative));
 
-        when(genericLetterPlaceholderService.populatePlaceholders(eq(caseData), any(), nullable(String.class))).thenReturn(Map.of());
+        when(genericLetterPlaceholderService.populatePlaceholders(any(), eq(caseData), any(), nullable(String.class))).thenReturn(Map.of());
         when(coverLetterService.generateCoverLetterRetry(any(), anyString(), anyString(), any(), anyInt())).thenReturn(letter);
 
         Callback<SscsCaseData> callback = buildTestCallbackForGivenData(caseData, READY_TO_LIST, ISSUE_GENERIC_LETTER);
@@ -210,7 +199,7 @@ class IssueGenericLetterHandlerTest {
 
         verify(bulkPrintService, times(5)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(ISSUE_GENERIC_LETTER),
-            argumentCaptor.capture());
+            argumentCaptor.capture(), any());
         Assertions.assertEquals(argumentCaptor.getAllValues(), List.of("User Test", "Wendy Giles", "Joint Party", "Other Party", "OPRepFirstName OPRepLastName"));
     }
 
@@ -251,7 +240,7 @@ class IssueGenericLetterHandlerTest {
         SscsCaseData caseData = buildCaseData();
         caseData.setSendToAllParties(YesNo.YES);
 
-        when(genericLetterPlaceholderService.populatePlaceholders(eq(caseData), any(), nullable(String.class))).thenReturn(Map.of());
+        when(genericLetterPlaceholderService.populatePlaceholders(any(), eq(caseData), any(), nullable(String.class))).thenReturn(Map.of());
 
         Callback<SscsCaseData> callback = buildTestCallbackForGivenData(caseData, READY_TO_LIST, ISSUE_GENERIC_LETTER);
 
@@ -260,7 +249,7 @@ class IssueGenericLetterHandlerTest {
         verify(ccdNotificationService, times(0)).storeNotificationLetterIntoCcd(any(), any(), any(), any());
         verify(bulkPrintService, times(2)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(ISSUE_GENERIC_LETTER),
-            argumentCaptor.capture());
+            argumentCaptor.capture(), any());
         Assertions.assertEquals(argumentCaptor.getAllValues(), List.of("User Test", "Wendy Giles"));
     }
 
@@ -282,7 +271,7 @@ class IssueGenericLetterHandlerTest {
 
         verify(bulkPrintService, times(1)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(ISSUE_GENERIC_LETTER),
-            argumentCaptor.capture());
+            argumentCaptor.capture(), any());
         Assertions.assertEquals(argumentCaptor.getAllValues(), List.of("User Test"));
     }
 
@@ -10,10 +10,12 @@ import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.*;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.State.READY_TO_LIST;
 import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.YES;
 import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.buildCaseData;
+import static uk.gov.hmcts.reform.sscs.config.DocmosisTemplatesHelper.buildDocmosisTemplates;
 import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.APPELLANT_LETTER;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderHelper.buildJointParty;
 import static uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderHelper.buildOtherParty;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,10 +32,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
 import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
 import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
 import uk.gov.hmcts.reform.sscs.service.BulkPrintService;
 import uk.gov.hmcts.reform.sscs.service.CoverLetterService;
+import uk.gov.hmcts.reform.sscs.service.LetterFanOutJournal;
 import uk.gov.hmcts.reform.sscs.service.PdfStoreService;
 import uk.gov.hmcts.reform.sscs.service.placeholders.PlaceholderConstants;
 import uk.gov.hmcts.reform.sscs.service.placeholders.SorPlaceholderService;
@@ -61,19 +63,8 @@ public class SorWriteHandlerTest {
 
     @BeforeEach
     public void setup() {
-        Map<String, String> nameMap = new HashMap<>();
-        nameMap.put("name", "B-SCS-LET-ENG-Statement-Of-Reasons-Outcome.docx");
-        nameMap.put("cover", "TB-SCS-GNO-ENG-00012.docx");
-        Map<String, Map<String, String>> englishDocs = new HashMap<>();
-        englishDocs.put(POST_HEARING_APP_SOR_WRITTEN.getCcdType(), nameMap);
-        Map<LanguagePreference, Map<String, Map<String, String>>> template = new HashMap<>();
-        template.put(LanguagePreference.ENGLISH, englishDocs);
-
-        DocmosisTemplateConfig docmosisTemplateConfig = new DocmosisTemplateConfig();
-        docmosisTemplateConfig.setTemplate(template);
-
-        handler = new SorWriteHandler(docmosisTemplateConfig, sorPlaceholderService, bulkPrintService,
-            coverLetterService, pdfStoreService);
+        handler = new SorWriteHandler(buildDocmosisTemplates(), sorPlaceholderService, bulkPrintService,
+            coverLetterService, pdfStoreService, new LetterFanOutJournal(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -140,18 +131,18 @@ public class SorWriteHandlerTest {
 
         Map<String, Object> placeholders1 = new HashMap<>();
         placeholders1.put(PlaceholderConstants.NAME, caseData.getAppeal().getAppellant().getAppointee().getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(APPELLANT_LETTER), anyString(), eq(null))).thenReturn(placeholders1);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(APPELLANT_LETTER), anyString(), eq(null))).thenReturn(placeholders1);
 
         Map<String, Object> placeholders2 = new HashMap<>();
         placeholders2.put(PlaceholderConstants.NAME, jointParty.getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(FurtherEvidenceLetterType.JOINT_PARTY_LETTER), anyString(), eq(null))).thenReturn(placeholders2);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(FurtherEvidenceLetterType.JOINT_PARTY_LETTER), anyString(), eq(null))).thenReturn(placeholders2);
         Callback<SscsCaseData> callback = buildTestCallbackForGivenData(caseData, READY_TO_LIST, POST_HEARING_APP_SOR_WRITTEN);
 
         handler.handle(SUBMITTED, callback);
 
         verify(bulkPrintService, times(2)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(POST_HEARING_APP_SOR_WRITTEN),
-            argumentCaptor.capture());
+            argumentCaptor.capture(), any());
         Assertions.assertEquals(argumentCaptor.getAllValues(), List.of(
             caseData.getAppeal().getAppellant().getAppointee().getName().getFullNameNoTitle(),
             jointParty.getName().getFullNameNoTitle()));
@@ -188,20 +179,20 @@ public class SorWriteHandlerTest {
 
         Map<String, Object> appealentPlaceholders = new HashMap<>();
         appealentPlaceholders.put(PlaceholderConstants.NAME, caseData.getAppeal().getAppellant().getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(APPELLANT_LETTER), anyString(), eq(null))).thenReturn(appealentPlaceholders);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(APPELLANT_LETTER), anyString(), eq(null))).thenReturn(appealentPlaceholders);
 
         Map<String, Object> otherPartyRepPlaceholders = new HashMap<>();
         otherPartyRepPlaceholders.put(PlaceholderConstants.NAME, otherPartyWithRep.getRep().getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(FurtherEvidenceLetterType.OTHER_PARTY_REP_LETTER), anyString(), anyString())).thenReturn(otherPartyRepPlaceholders);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(FurtherEvidenceLetterType.OTHER_PARTY_REP_LETTER), anyString(), anyString())).thenReturn(otherPartyRepPlaceholders);
 
         Map<String, Object> repPlaceHolders = new HashMap<>();
         repPlaceHolders.put(PlaceholderConstants.NAME, caseData.getAppeal().getRep().getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(FurtherEvidenceLetterType.REPRESENTATIVE_LETTER), anyString(), eq(null))).thenReturn(repPlaceHolders);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(FurtherEvidenceLetterType.REPRESENTATIVE_LETTER), anyString(), eq(null))).thenReturn(repPlaceHolders);
 
 
         Map<String, Object> otherPartyPlaceholders = new HashMap<>();
         otherPartyPlaceholders.put(PlaceholderConstants.NAME, otherParty.getValue().getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(FurtherEvidenceLetterType.OTHER_PARTY_LETTER), anyString(), anyString())).thenReturn(otherPartyPlaceholders);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(FurtherEvidenceLetterType.OTHER_PARTY_LETTER), anyString(), anyString())).thenReturn(otherPartyPlaceholders);
 
         Callback<SscsCaseData> callback = buildTestCallbackForGivenData(caseData, READY_TO_LIST, POST_HEARING_APP_SOR_WRITTEN);
 
@@ -209,7 +200,7 @@ public class SorWriteHandlerTest {
 
         verify(bulkPrintService, times(5)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(POST_HEARING_APP_SOR_WRITTEN),
-            argumentCaptor.capture());
+            argumentCaptor.capture(), any());
         Assertions.assertEquals(List.of(
                 caseData.getAppeal().getAppellant().getName().getFullNameNoTitle(),
                 caseData.getAppeal().getRep().getName().getFullNameNoTitle(),
@@ -237,7 +228,7 @@ public class SorWriteHandlerTest {
 
         Map<String, Object> placeholders = new HashMap<>();
         placeholders.put(PlaceholderConstants.NAME, caseData.getAppeal().getAppellant().getName().getFullNameNoTitle());
-        when(sorPlaceholderService.populatePlaceholders(eq(caseData), eq(APPELLANT_LETTER), anyString(), eq(null))).thenReturn(placeholders);
+        when(sorPlaceholderService.populatePlaceholders(any(), eq(caseData), eq(APPELLANT_LETTER), anyString(), eq(null))).thenReturn(placeholders);
 
         Callback<SscsCaseData> callback = buildTestCallbackForGivenData(caseData, READY_TO_LIST, POST_HEARING_APP_SOR_WRITTEN);
         handler.handle(SUBMITTED, callback);
@@ -245,7 +236,7 @@ public class SorWriteHandlerTest {
         verify(coverLetterService).generateCoverLetterRetry(eq(APPELLANT_LETTER), any(), any(), any(), eq(1));
         verify(bulkPrintService, times(1)).sendToBulkPrint(eq(callback.getCaseDetails().getId()),
             eq(caseData), any(), eq(POST_HEARING_APP_SOR_WRITTEN),
-            eq(caseData.getAppeal().getAppellant().getName().getFullNameNoTitle()));
+            eq(caseData.getAppeal().getAppellant().getName().getFullNameNoTitle()), any());
     }
 
 }
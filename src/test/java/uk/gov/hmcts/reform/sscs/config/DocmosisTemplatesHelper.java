@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import uk.gov.hmcts.reform.sscs.ccd.domain.LanguagePreference;
+
+public final class DocmosisTemplatesHelper {
+
+    private DocmosisTemplatesHelper() {
+    }
+
+    public static DocmosisTemplates buildDocmosisTemplates() {
+        return new DocmosisTemplates(buildDocmosisTemplateConfig());
+    }
+
+    public static DocmosisTemplateConfig buildDocmosisTemplateConfig() {
+        Map<String, Map<String, String>> englishDocs = new HashMap<>();
+        englishDocs.put("dl6", Map.of("name", "TB-SCS-GNO-ENG-00010.doc"));
+        englishDocs.put("dl16", Map.of("name", "TB-SCS-GNO-ENG-00011.doc"));
+        englishDocs.put("d609-97", Map.of("name", "TB-SCS-GNO-ENG-00068.doc"));
+        englishDocs.put("d609-98", Map.of("name", "TB-SCS-GNO-ENG-00069.doc"));
+        englishDocs.put("generic-letter", Map.of("name", "TB-SCS-LET-ENG-Issue-Generic-Letter.docx",
+            "cover", "TB-SCS-LET-ENG-Cover-Sheet.docx"));
+        englishDocs.put("postHearingAppSorWritten", Map.of("name", "TB-SCS-LET-ENG-Statement-Of-Reasons-Outcome.docx",
+            "cover", "TB-SCS-GNO-ENG-00012.docx"));
+
+        Map<String, Map<String, String>> welshDocs = new HashMap<>();
+        welshDocs.put("dl6", Map.of("name", "TB-SCS-GNO-ENG-00010.doc"));
+        welshDocs.put("dl16", Map.of("name", "TB-SCS-GNO-ENG-00011.doc"));
+        welshDocs.put("d609-97", Map.of("name", "TB-SCS-GNO-WEL-00469.docx"));
+        welshDocs.put("d609-98", Map.of("name", "TB-SCS-GNO-WEL-00470.docx"));
+        welshDocs.put("generic-letter", Map.of("name", "TB-SCS-LET-ENG-Issue-Generic-Letter.docx",
+            "cover", "TB-SCS-LET-ENG-Cover-Sheet.docx"));
+        welshDocs.put("postHearingAppSorWritten", Map.of("name", "TB-SCS-LET-ENG-Statement-Of-Reasons-Outcome.docx",
+            "cover", "TB-SCS-GNO-WEL-00479.docx"));
+
+        Map<LanguagePreference, Map<String, Map<String, String>>> template = new EnumMap<>(LanguagePreference.class);
+        template.put(LanguagePreference.ENGLISH, englishDocs);
+        template.put(LanguagePreference.WELSH, welshDocs);
+
+        DocmosisTemplateConfig docmosisTemplateConfig = new DocmosisTemplateConfig();
+        docmosisTemplateConfig.setTemplate(template);
+        return docmosisTemplateConfig;
+    }
+}
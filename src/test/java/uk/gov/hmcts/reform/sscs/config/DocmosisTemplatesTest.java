@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.hmcts.reform.sscs.config.DocmosisTemplatesHelper.buildDocmosisTemplateConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.ccd.domain.LanguagePreference;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Template;
+import uk.gov.hmcts.reform.sscs.domain.LetterTemplateType;
+
+public class DocmosisTemplatesTest {
+
+    @Test
+    public void givenCompleteConfig_thenResolveTemplatesForEveryLanguage() {
+        DocmosisTemplates docmosisTemplates = new DocmosisTemplates(buildDocmosisTemplateConfig());
+
+        Template template = docmosisTemplates.getTemplate(LanguagePreference.WELSH, LetterTemplateType.D609_97);
+        assertEquals("TB-SCS-GNO-WEL-00469.docx", template.getTemplateName());
+        assertEquals("d609-97", template.getHmctsDocName());
+        assertEquals("TB-SCS-GNO-ENG-00012.docx", docmosisTemplates.getCoverSheet(LanguagePreference.ENGLISH,
+            LetterTemplateType.POST_HEARING_APP_SOR_WRITTEN).getTemplateName());
+    }
+
+    @Test
+    public void givenRepeatedLookups_thenTheSameTemplateIsReturned() {
+        DocmosisTemplates docmosisTemplates = new DocmosisTemplates(buildDocmosisTemplateConfig());
+
+        assertSame(docmosisTemplates.getTemplate(LanguagePreference.ENGLISH, LetterTemplateType.DL6),
+            docmosisTemplates.getTemplate(LanguagePreference.ENGLISH, LetterTemplateType.DL6));
+    }
+
+    @Test
+    public void givenMissingTemplateAndCoverSheet_thenFailWithEveryMissingKey() {
+        DocmosisTemplateConfig config = buildDocmosisTemplateConfig();
+        config.getTemplate().get(LanguagePreference.WELSH).remove("d609-98");
+        Map<String, String> genericLetter = new HashMap<>(config.getTemplate().get(LanguagePreference.ENGLISH).get("generic-letter"));
+        genericLetter.remove("cover");
+        config.getTemplate().get(LanguagePreference.ENGLISH).put("generic-letter", genericLetter);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> new DocmosisTemplates(config));
+
+        assertTrue(e.getMessage().contains("docmosis.template.welsh.d609-98.name"));
+        assertTrue(e.getMessage().contains("docmosis.template.english.generic-letter.cover"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenNoConfig_thenFail() {
+        new DocmosisTemplates(new DocmosisTemplateConfig());
+    }
+}
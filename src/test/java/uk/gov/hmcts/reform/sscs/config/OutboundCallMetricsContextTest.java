@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import javax.mail.internet.MimeMessage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.gov.hmcts.reform.sendletter.api.LetterWithPdfsRequest;
+import uk.gov.hmcts.reform.sendletter.api.SendLetterApi;
+import uk.gov.hmcts.reform.sendletter.api.SendLetterResponse;
+import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.DocumentHolder;
+import uk.gov.hmcts.reform.sscs.docmosis.service.PdfGenerationService;
+import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.idam.IdamTokens;
+import uk.gov.hmcts.reform.sscs.service.PdfStoreService;
+
+/**
+ * Checks the pointcuts match the beans the application calls, proxied the way Spring Boot proxies them.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OutboundCallMetricsContextTest.Beans.class,
+    webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class OutboundCallMetricsContextTest {
+
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private CcdService ccdService;
+    @Autowired
+    private IdamService idamService;
+    @Autowired
+    private PdfStoreService pdfStoreService;
+    @Autowired
+    private PdfGenerationService pdfGenerationService;
+    @Autowired
+    private SendLetterApi sendLetterApi;
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Test
+    public void callsToCcdAreTimed() {
+        ccdService.getByCaseId(1L, IdamTokens.builder().build());
+
+        assertTimed("ccd", "getByCaseId");
+    }
+
+    @Test
+    public void callsToIdamAreTimed() {
+        idamService.getIdamTokens();
+
+        assertTimed("idam", "getIdamTokens");
+    }
+
+    @Test
+    public void callsToDmStoreAreTimed() {
+        pdfStoreService.download("http://dm-store/documents/1");
+
+        assertTimed("dm-store", "download");
+    }
+
+    @Test
+    public void callsToDocmosisAreTimed() {
+        pdfGenerationService.generatePdf(DocumentHolder.builder().build());
+
+        assertTimed("docmosis", "generatePdf");
+    }
+
+    @Test
+    public void callsToSendLetterThroughItsFeignClientAreTimed() {
+        sendLetterApi.sendLetter("token", new LetterWithPdfsRequest(List.of("QUJD"), "sscs001", null));
+
+        assertTimed("send-letter", "sendLetter");
+    }
+
+    @Test
+    public void emailsSentOverSmtpAreTimed() {
+        javaMailSender.send(mock(MimeMessage.class));
+
+        assertTimed("smtp", "send");
+    }
+
+    private void assertTimed(String dependency, String operation) {
+        assertEquals(1, registry.get(OutboundCallMetrics.CALL_TIMER)
+            .tag("dependency", dependency)
+            .tag("operation", operation)
+            .timer()
+            .count());
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(AopAutoConfiguration.class)
+    @Import(OutboundCallMetrics.class)
+    static class Beans {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public CcdService ccdService() {
+            return mock(CcdService.class);
+        }
+
+        @Bean
+        public IdamService idamService() {
+            return mock(IdamService.class);
+        }
+
+        @Bean
+        public PdfStoreService pdfStoreService() {
+            return mock(PdfStoreService.class);
+        }
+
+        @Bean
+        public PdfGenerationService pdfGenerationService() {
+            return mock(PdfGenerationService.class);
+        }
+
+        @Bean
+        public JavaMailSender javaMailSender() {
+            return mock(JavaMailSender.class);
+        }
+
+        /**
+         * Like the Feign client, a JDK proxy of the interface rather than a class that implements it.
+         */
+        @Bean
+        public SendLetterApi sendLetterApi() {
+            return (SendLetterApi) Proxy.newProxyInstance(SendLetterApi.class.getClassLoader(),
+                new Class<?>[] {SendLetterApi.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendLetter":
+                            return new SendLetterResponse(UUID.randomUUID());
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "SendLetterApi";
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}
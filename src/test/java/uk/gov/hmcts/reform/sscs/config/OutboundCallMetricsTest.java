@@ -0,0 +1,83 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import uk.gov.hmcts.reform.sendletter.api.LetterWithPdfsRequest;
+import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
+import uk.gov.hmcts.reform.sscs.service.PdfStoreService;
+
+public class OutboundCallMetricsTest {
+
+    private static final String URL = "http://dm-store/documents/1";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final PdfStoreService target = mock(PdfStoreService.class);
+    private PdfStoreService pdfStoreService;
+
+    @Before
+    public void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OutboundCallMetrics(registry, Duration.ofMinutes(1)));
+        pdfStoreService = factory.getProxy();
+    }
+
+    @Test
+    public void successfulCallIsTimedWithTheBytesReceived() {
+        when(target.download(URL)).thenReturn(new byte[1024]);
+
+        pdfStoreService.download(URL);
+
+        assertEquals(1, timerCount("success", "none"));
+        assertEquals(1024.0, registry.get(OutboundCallMetrics.BYTES_SUMMARY)
+            .tag("dependency", "dm-store").tag("direction", "received").summary().totalAmount(), 0);
+        assertNull(registry.find(OutboundCallMetrics.BYTES_SUMMARY).tag("direction", "sent").summary());
+    }
+
+    @Test
+    public void failedCallIsTaggedWithTheException_andASuccessfulRetryIsCountedAsARetry() {
+        when(target.download(URL)).thenThrow(new IllegalStateException("dm-store down")).thenReturn(new byte[1]);
+
+        try {
+            pdfStoreService.download(URL);
+            fail("Expected the failure to be rethrown");
+        } catch (IllegalStateException expected) {
+            // the failure is recorded and passed on
+        }
+        pdfStoreService.download(URL);
+        pdfStoreService.download(URL);
+
+        assertEquals(1, timerCount("failure", "IllegalStateException"));
+        assertEquals(1, timerCount("retry", "none"));
+        assertEquals(1, timerCount("success", "none"));
+    }
+
+    @Test
+    public void onlyDocumentContentIsCounted() {
+        assertEquals(0, OutboundCallMetrics.sizeOf(new Object[] {"auth token", URL, 1L}));
+        assertEquals(5, OutboundCallMetrics.sizeOf(new Object[] {new byte[2], List.of(new Pdf(new byte[3], "a.pdf"))}));
+        assertEquals(8, OutboundCallMetrics.sizeOf(
+            new LetterWithPdfsRequest(List.of("QUJD", "REVG"), "sscs001", null)));
+    }
+
+    private long timerCount(String outcome, String exception) {
+        return registry.get(OutboundCallMetrics.CALL_TIMER)
+            .tag("dependency", "dm-store")
+            .tag("operation", "download")
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .timer()
+            .count();
+    }
+}
@@ -0,0 +1,135 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mail.MailSendException;
+
+public class PooledJavaMailSenderTest {
+
+    private final Deque<Transport> transports = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private PooledJavaMailSender mailSender;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mailSender = new PooledJavaMailSender("test", 2, Duration.ofMillis(100), meterRegistry) {
+            @Override
+            protected Transport getTransport(Session session) {
+                return transports.removeFirst();
+            }
+        };
+        mailSender.setHost("localhost");
+        mailSender.setPort(25);
+    }
+
+    @Test
+    public void givenConnectedTransport_thenItIsReusedForTheNextEmail() throws MessagingException {
+        Transport transport = connectedTransport();
+        transports.add(transport);
+
+        mailSender.send(message());
+        mailSender.send(message());
+
+        verify(transport, times(1)).connect(anyString(), anyInt(), any(), any());
+        verify(transport, times(2)).sendMessage(any(Message.class), any(Address[].class));
+        assertEquals(1.0, meterRegistry.get("smtp.pool.connections.opened").counter().count(), 0);
+        assertEquals(2L, meterRegistry.get("smtp.send").timer().count());
+        assertEquals(1.0, meterRegistry.get("smtp.pool.idle").gauge().value(), 0);
+        assertEquals(0.0, meterRegistry.get("smtp.pool.active").gauge().value(), 0);
+    }
+
+    @Test
+    public void givenIdleTransportDroppedByServer_thenNewConnectionIsOpenedOnBorrow() throws MessagingException {
+        Transport stale = connectedTransport();
+        Transport fresh = connectedTransport();
+        transports.add(stale);
+        transports.add(fresh);
+
+        mailSender.send(message());
+        when(stale.isConnected()).thenReturn(false);
+        mailSender.send(message());
+
+        verify(stale).close();
+        verify(fresh).sendMessage(any(Message.class), any(Address[].class));
+        assertEquals(1.0, meterRegistry.get("smtp.pool.connections.discarded").counter().count(), 0);
+    }
+
+    @Test
+    public void givenConnectionLostWhileSending_thenReconnectAndResend() throws MessagingException {
+        Transport broken = connectedTransport();
+        Transport fresh = connectedTransport();
+        transports.add(broken);
+        transports.add(fresh);
+        doThrow(new MessagingException("connection reset")).when(broken).sendMessage(any(Message.class), any(Address[].class));
+        when(broken.isConnected()).thenReturn(false);
+
+        mailSender.send(message());
+
+        verify(broken).close();
+        verify(fresh).sendMessage(any(Message.class), any(Address[].class));
+    }
+
+    @Test
+    public void givenMessageRejectedOnLiveConnection_thenFailureIsReportedAndConnectionKept() throws MessagingException {
+        Transport transport = connectedTransport();
+        transports.add(transport);
+        doThrow(new MessagingException("rejected")).when(transport).sendMessage(any(Message.class), any(Address[].class));
+
+        assertThrows(MailSendException.class, () -> mailSender.send(message()));
+
+        verify(transport, never()).close();
+        assertEquals(1.0, meterRegistry.get("smtp.pool.idle").gauge().value(), 0);
+    }
+
+    @Test
+    public void destroyClosesIdleConnections() throws MessagingException {
+        Transport transport = connectedTransport();
+        transports.add(transport);
+        mailSender.send(message());
+
+        mailSender.destroy();
+
+        verify(transport).close();
+        assertEquals(0.0, meterRegistry.get("smtp.pool.idle").gauge().value(), 0);
+    }
+
+    private static Transport connectedTransport() {
+        Transport transport = mock(Transport.class);
+        when(transport.isConnected()).thenReturn(true);
+        return transport;
+    }
+
+    private static MimeMessage message() throws MessagingException {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        message.setFrom(new InternetAddress("from@example.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("to@example.com"));
+        message.setSubject("subject");
+        message.setText("body");
+        return message;
+    }
+}
@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.sscs.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ServiceAuthTokenCacheTest {
+
+    @Mock
+    private Supplier<AuthTokenGenerator> generatorFactory;
+    @Mock
+    private AuthTokenGenerator first;
+    @Mock
+    private AuthTokenGenerator second;
+
+    private ServiceAuthTokenCache cache;
+
+    @Before
+    public void setUp() {
+        when(generatorFactory.get()).thenReturn(first, second);
+        cache = new ServiceAuthTokenCache(generatorFactory);
+    }
+
+    @Test
+    public void tokensComeFromTheLibraryGenerator() {
+        when(first.generate()).thenReturn("Bearer first");
+
+        assertEquals("Bearer first", cache.generate());
+        assertEquals("Bearer first", cache.generate());
+
+        verify(generatorFactory, times(1)).get();
+    }
+
+    @Test
+    public void givenInvalidated_thenTheTokenComesFromANewGenerator() {
+        when(first.generate()).thenReturn("Bearer first");
+        when(second.generate()).thenReturn("Bearer second");
+
+        cache.generate();
+        cache.invalidate();
+
+        assertEquals("Bearer second", cache.generate());
+        verify(first, times(1)).generate();
+    }
+
+    @Test
+    public void givenRefreshed_thenTheLibraryGeneratorIsAskedForTheTokenInTheBackground() {
+        cache.refresh();
+
+        verify(first).generate();
+    }
+
+    @Test
+    public void givenRefreshedAfterInvalidated_thenTheNewGeneratorFetchesTheToken() {
+        cache.invalidate();
+        cache.refresh();
+
+        verify(second).generate();
+        verify(first, never()).generate();
+    }
+
+    @Test
+    public void givenTheBackgroundRefreshFails_thenItIsLeftForTheNextCaller() {
+        when(first.generate()).thenThrow(new RuntimeException("service auth unavailable")).thenReturn("Bearer first");
+
+        cache.refresh();
+
+        assertEquals("Bearer first", cache.generate());
+    }
+}
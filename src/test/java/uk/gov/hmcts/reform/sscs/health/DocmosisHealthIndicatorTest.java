@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.sscs.health;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 import com.google.common.collect.ImmutableMap;
@@ -11,6 +13,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -37,7 +40,7 @@ public class DocmosisHealthIndicatorTest {
                 restTemplate
             );
 
-        doReturn(responseEntity)
+        lenient().doReturn(responseEntity)
             .when(restTemplate)
             .exchange(
                 eq(DOCMOSIS_STATUS_URI),
@@ -58,7 +61,10 @@ public class DocmosisHealthIndicatorTest {
 
         when(responseEntity.getBody()).thenReturn(exampleReadyResponse);
 
-        assertEquals(Health.up().build(), docmosisHealthIndicator.health());
+        docmosisHealthIndicator.refresh();
+
+        assertEquals(Status.UP, docmosisHealthIndicator.health().getStatus());
+        assertTrue(docmosisHealthIndicator.isDocmosisUp());
     }
 
     @Test
@@ -72,7 +78,10 @@ public class DocmosisHealthIndicatorTest {
 
         when(responseEntity.getBody()).thenReturn(exampleNotReadyResponse);
 
-        assertEquals(Health.down().build(), docmosisHealthIndicator.health());
+        docmosisHealthIndicator.refresh();
+
+        assertEquals(Status.DOWN, docmosisHealthIndicator.health().getStatus());
+        assertFalse(docmosisHealthIndicator.isDocmosisUp());
     }
 
     @Test
@@ -86,7 +95,10 @@ public class DocmosisHealthIndicatorTest {
 
         when(responseEntity.getBody()).thenReturn(exampleUnexpectedResponse);
 
-        assertEquals(Health.down().build(), docmosisHealthIndicator.health());
+        docmosisHealthIndicator.refresh();
+
+        assertEquals(Status.DOWN, docmosisHealthIndicator.health().getStatus());
+        assertFalse(docmosisHealthIndicator.isDocmosisUp());
     }
 
     @Test
@@ -94,7 +106,10 @@ public class DocmosisHealthIndicatorTest {
 
         when(responseEntity.getBody()).thenReturn(null);
 
-        assertEquals(Health.down().build(), docmosisHealthIndicator.health());
+        docmosisHealthIndicator.refresh();
+
+        assertEquals(Status.DOWN, docmosisHealthIndicator.health().getStatus());
+        assertFalse(docmosisHealthIndicator.isDocmosisUp());
     }
 
     @Test
@@ -110,6 +125,37 @@ public class DocmosisHealthIndicatorTest {
                 any(ParameterizedTypeReference.class)
             )).thenThrow(underlyingException);
 
-        assertEquals(Health.down(underlyingException).build(), docmosisHealthIndicator.health());
+        docmosisHealthIndicator.refresh();
+
+        Health health = docmosisHealthIndicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(Health.down(underlyingException).build().getDetails().get("error"), health.getDetails().get("error"));
+    }
+
+    @Test
+    public void should_report_unknown_before_first_poll_without_calling_docmosis() {
+
+        assertEquals(Status.UNKNOWN, docmosisHealthIndicator.health().getStatus());
+        assertFalse(docmosisHealthIndicator.isDocmosisUp());
+        verifyNoInteractions(responseEntity);
+    }
+
+    @Test
+    public void should_serve_cached_status_with_age_and_latency() {
+
+        when(responseEntity.getBody()).thenReturn(ImmutableMap.of("ready", "true"));
+
+        docmosisHealthIndicator.refresh();
+        docmosisHealthIndicator.health();
+        Health health = docmosisHealthIndicator.health();
+
+        verify(restTemplate, times(1)).exchange(
+            eq(DOCMOSIS_STATUS_URI),
+            eq(HttpMethod.GET),
+            eq(null),
+            any(ParameterizedTypeReference.class)
+        );
+        assertTrue(health.getDetails().containsKey("ageMillis"));
+        assertTrue(health.getDetails().containsKey("latencyMillis"));
     }
 }
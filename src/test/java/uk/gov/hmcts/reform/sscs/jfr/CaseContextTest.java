@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CaseDetails;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+
+public class CaseContextTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        CaseContext.clear();
+        pool.shutdown();
+    }
+
+    @Test
+    public void propagatedTasksRunWithTheCaseOfTheThreadThatCreatedThem() {
+        CaseContext.set(new Callback<>(new CaseDetails<>(123L, "SSCS", null, SscsCaseData.builder().build(), null,
+            "Benefit"), Optional.empty(), EventType.SEND_TO_DWP, false));
+
+        CaseContext seen = CompletableFuture.supplyAsync(CaseContext.propagate(CaseContext::current), pool).join();
+        CaseContext afterwards = CompletableFuture.supplyAsync(CaseContext::current, pool).join();
+
+        assertEquals(123L, seen.getCaseId());
+        assertEquals("sendToDwp", seen.getEventType());
+        assertNull(afterwards);
+    }
+}
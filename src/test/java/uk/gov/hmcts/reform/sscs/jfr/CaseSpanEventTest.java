@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.sscs.jfr;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.domain.CaseDetails;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+
+public class CaseSpanEventTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        CaseContext.clear();
+    }
+
+    @Test
+    public void eventsTakeTheCaseFromTheContextUnlessTheyHaveTheirOwn() throws Exception {
+        CaseContext.set(new Callback<>(new CaseDetails<>(123L, "SSCS", null, SscsCaseData.builder().build(), null,
+            "Benefit"), Optional.empty(), EventType.ISSUE_FURTHER_EVIDENCE, false));
+
+        List<RecordedEvent> events = record(() -> {
+            DownstreamCallEvent call = new DownstreamCallEvent("dm-store", "download", 0);
+            call.begin();
+            call.setBytesReceived(2048);
+            call.finish(CaseSpanEvent.SUCCESS);
+
+            HandlerEvent handler = new HandlerEvent("SendToBulkPrintHandler", 456L, "sendToDwp");
+            handler.begin();
+            handler.finish("BulkPrintException");
+        });
+
+        RecordedEvent call = only(events, "uk.gov.hmcts.sscs.DownstreamCall");
+        assertEquals(123L, call.getLong("caseId"));
+        assertEquals("issueFurtherEvidence", call.getString("eventType"));
+        assertEquals(2048L, call.getLong("bytesReceived"));
+        assertEquals("success", call.getString("outcome"));
+
+        RecordedEvent handler = only(events, "uk.gov.hmcts.sscs.Handler");
+        assertEquals(456L, handler.getLong("caseId"));
+        assertEquals("sendToDwp", handler.getString("eventType"));
+        assertEquals("BulkPrintException", handler.getString("outcome"));
+    }
+
+    @Test
+    public void nothingIsRecordedWithoutARecording() throws Exception {
+        PdfEvent event = new PdfEvent(PdfEvent.MERGE, 100);
+        event.begin();
+        event.finish(CaseSpanEvent.SUCCESS);
+
+        assertEquals(0, record(() -> { }).size());
+    }
+
+    private List<RecordedEvent> record(Runnable work) throws Exception {
+        Path file = folder.getRoot().toPath().resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("uk.gov.hmcts.sscs.DownstreamCall");
+            recording.enable("uk.gov.hmcts.sscs.Handler");
+            recording.enable("uk.gov.hmcts.sscs.Pdf");
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().startsWith("uk.gov.hmcts.sscs."))
+            .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
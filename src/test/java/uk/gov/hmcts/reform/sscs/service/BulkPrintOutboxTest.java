@@ -0,0 +1,173 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
+import uk.gov.hmcts.reform.sscs.exception.NonPdfBulkPrintException;
+import uk.gov.hmcts.reform.sscs.model.BulkPrintOutboxEntry;
+
+public class BulkPrintOutboxTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkPrintOutbox outbox;
+    private Path dir;
+
+    @SuppressWarnings("unchecked")
+    private final Consumer<BulkPrintOutboxEntry> delivery = mock(Consumer.class);
+
+    @Before
+    public void setUp() {
+        dir = folder.getRoot().toPath();
+        outbox = new BulkPrintOutbox(true, dir.toString(), 1, 3, 10, meterRegistry);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        outbox.stop();
+    }
+
+    @Test
+    public void submittedLetterIsDeliveredAndRemoved() {
+        outbox.start(delivery);
+
+        outbox.submit(entry("1"));
+
+        verify(delivery, timeout(2000)).accept(entry("1"));
+        awaitRemoved(dir.resolve("1.json"));
+    }
+
+    @Test
+    public void failedDeliveryIsRetriedUntilMaxAttemptsThenMovedToFailed() {
+        doThrow(new RuntimeException("send-letter down")).when(delivery).accept(any());
+        outbox.start(delivery);
+
+        outbox.submit(entry("2"));
+
+        verify(delivery, timeout(2000).times(3)).accept(any());
+        awaitExists(dir.resolve("failed").resolve("2.json"));
+        assertFalse(Files.exists(dir.resolve("2.json")));
+        assertEquals(1.0, meterRegistry.counter("outbox.dead_lettered", "outbox", "bulk-print").count(), 0);
+    }
+
+    @Test
+    public void nonPdfLetterIsNotRetried() throws InterruptedException {
+        doThrow(new NonPdfBulkPrintException(new RuntimeException("bad pdf"))).when(delivery).accept(any());
+        outbox.start(delivery);
+
+        outbox.submit(entry("3"));
+
+        awaitExists(dir.resolve("failed").resolve("3.json"));
+        Thread.sleep(50);
+        verify(delivery, times(1)).accept(any());
+        assertEquals(1.0, meterRegistry.counter("outbox.dead_lettered", "outbox", "bulk-print").count(), 0);
+    }
+
+    @Test
+    public void pendingLettersAreRecoveredOnStart() throws Exception {
+        File pending = dir.resolve("4.json").toFile();
+        new ObjectMapper().writeValue(pending, entry("4"));
+
+        outbox.start(delivery);
+
+        ArgumentCaptor<BulkPrintOutboxEntry> captor = ArgumentCaptor.forClass(BulkPrintOutboxEntry.class);
+        verify(delivery, timeout(2000)).accept(captor.capture());
+        assertEquals(entry("4"), captor.getValue());
+        awaitRemoved(pending.toPath());
+    }
+
+    @Test
+    public void letterSubmittedTwiceBeforeStartIsDeliveredOnceStarted() throws InterruptedException {
+        outbox.submit(entry("6"));
+        outbox.submit(entry("6"));
+
+        outbox.start(delivery);
+
+        awaitRemoved(dir.resolve("6.json"));
+        Thread.sleep(50);
+        verify(delivery, times(1)).accept(any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void enabledOutboxNeedsADirectory() {
+        new BulkPrintOutbox(true, "", 1, 3, 10, meterRegistry);
+    }
+
+    @Test
+    public void markSentIsKeptForTheRetry() {
+        UUID letterId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            BulkPrintOutboxEntry entry = invocation.getArgument(0);
+            outbox.markSent(entry.toBuilder().letterId(letterId).build());
+            throw new RuntimeException("ccd down");
+        }).doAnswer(invocation -> null).when(delivery).accept(any());
+        outbox.start(delivery);
+
+        outbox.submit(entry("5"));
+
+        ArgumentCaptor<BulkPrintOutboxEntry> captor = ArgumentCaptor.forClass(BulkPrintOutboxEntry.class);
+        verify(delivery, timeout(2000).times(2)).accept(captor.capture());
+        assertEquals(letterId, captor.getValue().getLetterId());
+        assertEquals(1, captor.getValue().getAttempts());
+    }
+
+    private static BulkPrintOutboxEntry entry(String id) {
+        return BulkPrintOutboxEntry.builder()
+            .id(id)
+            .caseId(1234L)
+            .ccdCaseId("1234")
+            .appellantName("Joe Bloggs")
+            .recipient("Joe Bloggs")
+            .eventType(EventType.ISSUE_GENERIC_LETTER)
+            .encodedData(singletonList("bGV0dGVy"))
+            .build();
+    }
+
+    private static void awaitRemoved(Path file) {
+        await(() -> !Files.exists(file));
+    }
+
+    private static void awaitExists(Path file) {
+        await(() -> Files.exists(file));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -1,22 +1,37 @@
 package uk.gov.hmcts.reform.sscs.service;
 
+import static java.util.Base64.getEncoder;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerHelper.buildTestCallbackForGivenData;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_FURTHER_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_GENERIC_LETTER;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.VALID_APPEAL_CREATED;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.State.INTERLOCUTORY_REVIEW_STATE;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.NO;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.YES;
 import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.APPELLANT_LETTER;
 
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -27,11 +42,22 @@ import org.springframework.web.client.HttpClientErrorException;
 import uk.gov.hmcts.reform.sendletter.api.LetterWithPdfsRequest;
 import uk.gov.hmcts.reform.sendletter.api.SendLetterApi;
 import uk.gov.hmcts.reform.sendletter.api.SendLetterResponse;
+import uk.gov.hmcts.reform.sscs.callback.CallbackDispatcher;
+import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpointJournal;
+import uk.gov.hmcts.reform.sscs.callback.HandlerMetrics;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
+import uk.gov.hmcts.reform.sscs.config.ServiceAuthTokenCache;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.exception.BulkPrintException;
 import uk.gov.hmcts.reform.sscs.exception.NonPdfBulkPrintException;
+import uk.gov.hmcts.reform.sscs.exception.UnconfirmedBulkPrintException;
 import uk.gov.hmcts.reform.sscs.idam.IdamService;
+import uk.gov.hmcts.reform.sscs.model.BulkPrintOutboxEntry;
 
 @RunWith(MockitoJUnitRunner.class)
 public class BulkPrintServiceTest {
@@ -50,6 +76,9 @@ public class BulkPrintServiceTest {
         .build();
     private static final String AUTH_TOKEN = "Auth_Token";
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private BulkPrintService bulkPrintService;
     @Mock
     private SendLetterApi sendLetterApi;
@@ -61,13 +90,25 @@ public class BulkPrintServiceTest {
     @Mock
     private CcdNotificationService ccdNotificationService;
 
+    @Mock
+    private BulkPrintOutbox bulkPrintOutbox;
+
+    @Mock
+    private ServiceAuthTokenCache serviceAuthTokenCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BulkPrintDuplicateFilter bulkPrintDuplicateFilter;
+
     @Captor
     ArgumentCaptor<LetterWithPdfsRequest> captor;
 
     @Before
     public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkPrintDuplicateFilter = new BulkPrintDuplicateFilter(meterRegistry, 60, 100);
         this.bulkPrintService = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper,
-            true, 1, ccdNotificationService);
+            true, 1, ccdNotificationService, bulkPrintOutbox, bulkPrintDuplicateFilter, serviceAuthTokenCache);
         when(idamService.generateServiceAuthorization()).thenReturn(AUTH_TOKEN);
     }
 
@@ -75,18 +116,126 @@ public class BulkPrintServiceTest {
     public void willSendToBulkPrint() {
         when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), captor.capture()))
             .thenReturn(new SendLetterResponse(LETTER_ID));
-        Optional<UUID> letterIdOptional = bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, null);
+        Optional<UUID> letterIdOptional = bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
         assertEquals("letterIds must be equal", Optional.of(LETTER_ID), letterIdOptional);
         assertEquals("sscs-data-pack", captor.getValue().getAdditionalData().get("letterType"));
         assertEquals("Appellant LastName", captor.getValue().getAdditionalData().get("appellantName"));
         assertEquals("234", captor.getValue().getAdditionalData().get("caseIdentifier"));
+        assertTrue(captor.getValue().getAdditionalData().get("idempotencyKey").toString().matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    public void givenAMessageIsRetriedAfterTheLetterWasAccepted_thenOnlySendItOnce() {
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+        SendLetterHandler handler = new SendLetterHandler("Appellant LastName");
+        handler.failAfterSending = true;
+
+        handleMessage(handler);
+
+        assertEquals(List.of(Optional.of(LETTER_ID), Optional.of(LETTER_ID)), handler.letterIds);
+        verify(sendLetterApi, times(1)).sendLetter(any(), any());
+        assertEquals(1.0, meterRegistry.counter("bulk_print.duplicates.suppressed").count(), 0);
+    }
+
+    @Test
+    public void givenTheSameLetterForADifferentRecipientInAMessage_thenSendBoth() {
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+
+        handleMessage(new SendLetterHandler("Appellant LastName", "Representative"));
+
+        verify(sendLetterApi, times(2)).sendLetter(any(), any());
+    }
+
+    @Test
+    public void givenTheSameLetterOutsideOfAMessage_thenOnlySendItOnce() {
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, "Appellant LastName", "dl6");
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, "Appellant LastName", "dl6");
+
+        verify(sendLetterApi, times(1)).sendLetter(any(), any());
+    }
+
+    @Test
+    public void givenADifferentLetterOfTheSameKindOutsideOfAMessage_thenSendBoth() {
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, "Appellant LastName", "dl6");
+        bulkPrintService.sendToBulkPrint(singletonList(new Pdf("otherData".getBytes(), "file.pdf")), SSCS_CASE_DATA,
+            VALID_APPEAL_CREATED, "Appellant LastName", "dl6");
+
+        verify(sendLetterApi, times(2)).sendLetter(any(), any());
+    }
+
+    @Test
+    public void givenSendLetterTimesOutAfterTheRequestWasSent_thenDoNotSendTheLetterAgain() {
+        RetryableException readTimeout = mock(RetryableException.class);
+        when(readTimeout.getCause()).thenReturn(new SocketTimeoutException("Read timed out"));
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class))).thenThrow(readTimeout);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, "Appellant LastName", "dl6");
+                fail("Expected the letter not to be sent again");
+            } catch (UnconfirmedBulkPrintException expected) {
+                // the letter may have been printed, so it is left for checking against send-letter
+            }
+        }
+
+        verify(sendLetterApi, times(1)).sendLetter(any(), any());
+        assertEquals(2.0, meterRegistry.counter("bulk_print.duplicates.unconfirmed").count(), 0);
+    }
+
+    @Test
+    public void givenTheServiceRestartsAfterASendTimedOut_thenTheRedeliveryDoesNotSendTheLetterAgain() throws IOException {
+        RetryableException readTimeout = mock(RetryableException.class);
+        when(readTimeout.getCause()).thenReturn(new SocketTimeoutException("Read timed out"));
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class))).thenThrow(readTimeout);
+        String journalDir = folder.newFolder().getPath();
+        SendLetterHandler handler = new SendLetterHandler("Appellant LastName");
+
+        for (int delivery = 1; delivery <= 2; delivery++) {
+            // a restart loses everything held in memory, only the file backed journal is left
+            bulkPrintDuplicateFilter = new BulkPrintDuplicateFilter(meterRegistry, 60, 100);
+            bulkPrintService = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper,
+                true, 1, ccdNotificationService, bulkPrintOutbox, bulkPrintDuplicateFilter, serviceAuthTokenCache);
+            HandlerCheckpoint checkpoint = new HandlerCheckpointJournal(true, journalDir, Duration.ofHours(24), 100)
+                .open("1", "message");
+            try {
+                dispatcher(handler).handle(CallbackType.SUBMITTED, callback(), checkpoint);
+                fail("Expected delivery " + delivery + " not to confirm the letter");
+            } catch (UnconfirmedBulkPrintException expected) {
+                // the letter may have been printed, so it is left for checking against send-letter
+            }
+        }
+
+        verify(sendLetterApi, times(1)).sendLetter(any(), any());
+    }
+
+    @Test
+    public void givenSendLetterCannotBeReached_thenRetry() {
+        RetryableException connectionRefused = mock(RetryableException.class);
+        when(connectionRefused.getCause()).thenReturn(new ConnectException("Connection refused"));
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenThrow(connectionRefused)
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+
+        Optional<UUID> letterId = bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED,
+            "Appellant LastName", "dl6");
+
+        assertEquals(Optional.of(LETTER_ID), letterId);
+        verify(sendLetterApi, times(2)).sendLetter(any(), any());
     }
 
     @Test
     public void willSendToBulkPrintWithAdditionalData() {
         when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
             .thenReturn(new SendLetterResponse(LETTER_ID));
-        Optional<UUID> letterIdOptional = bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, null);
+        Optional<UUID> letterIdOptional = bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
         assertEquals("letterIds must be equal", Optional.of(LETTER_ID), letterIdOptional);
     }
 
@@ -179,7 +328,7 @@ public class BulkPrintServiceTest {
             .build();
 
         SSCS_CASE_DATA.setOtherParties(Arrays.asList(otherParty1, otherParty2, otherParty3, otherParty4));
-        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, "Appellant LastName");
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, "Appellant LastName", "dl6");
 
         List<String> parties = new ArrayList<>();
         parties.add("Appellant LastName");
@@ -190,27 +339,29 @@ public class BulkPrintServiceTest {
     public void willThrowAnyExceptionsToBulkPrint() {
         when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
             .thenThrow(new RuntimeException("error"));
-        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, null);
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
     }
 
     @Test(expected = NonPdfBulkPrintException.class)
     public void shouldThrowANonPdfBulkPrintExceptionOnHttpClientErrorExceptionFromBulkPrint() {
         when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
             .thenThrow(new HttpClientErrorException(HttpStatus.valueOf(400)));
-        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, null);
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
     }
 
     @Test
     public void sendLetterNotEnabledWillNotSendToBulkPrint() {
-        BulkPrintService notEnabledBulkPrint = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper, false, 1, ccdNotificationService);
-        notEnabledBulkPrint.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, null);
+        BulkPrintService notEnabledBulkPrint = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper, false, 1, ccdNotificationService,
+            bulkPrintOutbox, bulkPrintDuplicateFilter, serviceAuthTokenCache);
+        notEnabledBulkPrint.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
         verifyNoInteractions(idamService);
         verifyNoInteractions(sendLetterApi);
     }
 
     @Test
     public void willSendToBulkPrintWithReasonableAdjustment() {
-        this.bulkPrintService = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper, true, 1, ccdNotificationService);
+        this.bulkPrintService = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper, true, 1, ccdNotificationService,
+            bulkPrintOutbox, bulkPrintDuplicateFilter, serviceAuthTokenCache);
 
         SSCS_CASE_DATA.setReasonableAdjustments(ReasonableAdjustments.builder()
             .appellant(ReasonableAdjustmentDetails.builder()
@@ -218,8 +369,173 @@ public class BulkPrintServiceTest {
                 .build()).build());
 
         when(bulkPrintServiceHelper.sendForReasonableAdjustment(SSCS_CASE_DATA, APPELLANT_LETTER)).thenReturn(true);
-        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, APPELLANT_LETTER, ISSUE_FURTHER_EVIDENCE, null);
+        bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, APPELLANT_LETTER, ISSUE_FURTHER_EVIDENCE, null, "609-97");
 
         verify(bulkPrintServiceHelper).saveAsReasonableAdjustment(any(), any(), any());
     }
+
+    @Test
+    public void givenOutboxEnabled_thenQueueLetterWithoutCallingSendLetter() {
+        when(bulkPrintOutbox.isEnabled()).thenReturn(true);
+        ArgumentCaptor<BulkPrintOutboxEntry> entryCaptor = ArgumentCaptor.forClass(BulkPrintOutboxEntry.class);
+
+        Optional<UUID> id = bulkPrintService.sendToBulkPrint(234L, SSCS_CASE_DATA, PDF_LIST, ISSUE_GENERIC_LETTER, "Appellant LastName",
+            "appellantLetter");
+
+        assertEquals(Optional.empty(), id);
+        verify(bulkPrintOutbox).submit(entryCaptor.capture());
+        BulkPrintOutboxEntry entry = entryCaptor.getValue();
+        assertTrue(entry.getId().matches("[0-9a-f]{64}"));
+        assertEquals("234", entry.getCcdCaseId());
+        assertEquals("Appellant LastName", entry.getAppellantName());
+        assertEquals(ISSUE_GENERIC_LETTER, entry.getEventType());
+        assertEquals(singletonList(getEncoder().encodeToString("myData".getBytes())), entry.getEncodedData());
+        verifyNoInteractions(sendLetterApi, ccdNotificationService);
+    }
+
+    @Test
+    public void givenServiceAuthorizationRejected_thenRefreshTokenAndRetry() {
+        when(idamService.generateServiceAuthorization()).thenReturn(AUTH_TOKEN, "Refreshed_Token");
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+        when(sendLetterApi.sendLetter(eq("Refreshed_Token"), any(LetterWithPdfsRequest.class)))
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+
+        Optional<UUID> letterIdOptional = bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
+
+        assertEquals(Optional.of(LETTER_ID), letterIdOptional);
+        verify(serviceAuthTokenCache).invalidate();
+    }
+
+    @Test
+    public void givenServiceAuthorizationRejectedAfterRefresh_thenOnlyRetryOnce() {
+        bulkPrintService = new BulkPrintService(sendLetterApi, idamService, bulkPrintServiceHelper,
+            true, 3, ccdNotificationService, bulkPrintOutbox, bulkPrintDuplicateFilter, serviceAuthTokenCache);
+        when(sendLetterApi.sendLetter(any(), any(LetterWithPdfsRequest.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+
+        try {
+            bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, null, "dl6");
+            fail("Expected send-letter to reject the letter");
+        } catch (BulkPrintException e) {
+            verify(sendLetterApi, times(2)).sendLetter(any(), any(LetterWithPdfsRequest.class));
+            verify(serviceAuthTokenCache).invalidate();
+        }
+    }
+
+    @Test
+    public void deliverOutboxEntrySendsLetterAndStoresCorrespondence() {
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenReturn(new SendLetterResponse(LETTER_ID));
+
+        bulkPrintService.deliver(outboxEntry(null));
+
+        verify(bulkPrintOutbox).markSending(outboxEntry(null));
+        verify(bulkPrintOutbox).markSent(outboxEntry(LETTER_ID));
+        verify(ccdNotificationService).storeNotificationLetterIntoCcd(ISSUE_GENERIC_LETTER, "myData".getBytes(), 234L, "Appellant LastName");
+    }
+
+    @Test
+    public void deliverOutboxEntryAlreadySentOnlyStoresCorrespondence() {
+        bulkPrintService.deliver(outboxEntry(LETTER_ID));
+
+        verifyNoInteractions(sendLetterApi);
+        verify(ccdNotificationService).storeNotificationLetterIntoCcd(ISSUE_GENERIC_LETTER, "myData".getBytes(), 234L, "Appellant LastName");
+    }
+
+    @Test
+    public void deliverOutboxEntryStoppedWhileSendingIsNotSentAgain() {
+        try {
+            bulkPrintService.deliver(outboxEntry(null).toBuilder().sending(true).build());
+            fail("Expected the letter not to be sent again");
+        } catch (UnconfirmedBulkPrintException expected) {
+            // the outbox moves the letter to the failed directory for checking against send-letter
+        }
+
+        verifyNoInteractions(sendLetterApi, ccdNotificationService);
+        assertEquals(1.0, meterRegistry.counter("bulk_print.duplicates.unconfirmed").count(), 0);
+    }
+
+    @Test
+    public void deliverOutboxEntryThatSendLetterRejectsIsNoLongerMarkedAsSending() {
+        when(sendLetterApi.sendLetter(eq(AUTH_TOKEN), any(LetterWithPdfsRequest.class)))
+            .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        try {
+            bulkPrintService.deliver(outboxEntry(null));
+            fail("Expected send-letter to reject the letter");
+        } catch (NonPdfBulkPrintException expected) {
+            // the outbox does not retry a rejected letter
+        }
+
+        verify(bulkPrintOutbox).markNotSent(outboxEntry(null));
+    }
+
+    private static BulkPrintOutboxEntry outboxEntry(UUID letterId) {
+        return BulkPrintOutboxEntry.builder()
+            .id("entry-1")
+            .caseId(234L)
+            .ccdCaseId("234")
+            .appellantName("Appellant LastName")
+            .recipient("Appellant LastName")
+            .eventType(ISSUE_GENERIC_LETTER)
+            .encodedData(singletonList(getEncoder().encodeToString("myData".getBytes())))
+            .letterId(letterId)
+            .build();
+    }
+
+    /**
+     * Handles the callback as a message would be, retrying it once if the handler fails.
+     */
+    private void handleMessage(SendLetterHandler handler) {
+        CallbackDispatcher<SscsCaseData> dispatcher = dispatcher(handler);
+        HandlerCheckpoint checkpoint = new HandlerCheckpointJournal(false, "build/handler-checkpoints",
+            Duration.ofHours(24), 100).open("1", "message");
+        Callback<SscsCaseData> callback = callback();
+
+        try {
+            dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+        } catch (IllegalStateException e) {
+            handler.failAfterSending = false;
+            dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+        }
+    }
+
+    private CallbackDispatcher<SscsCaseData> dispatcher(SendLetterHandler handler) {
+        return new CallbackDispatcher<>(List.of(handler), new HandlerMetrics(meterRegistry, Duration.ofSeconds(10)));
+    }
+
+    private static Callback<SscsCaseData> callback() {
+        return buildTestCallbackForGivenData(SSCS_CASE_DATA, INTERLOCUTORY_REVIEW_STATE, VALID_APPEAL_CREATED);
+    }
+
+    private class SendLetterHandler implements CallbackHandler<SscsCaseData> {
+        private final List<String> recipients;
+        private final List<Optional<UUID>> letterIds = new ArrayList<>();
+        private boolean failAfterSending;
+
+        SendLetterHandler(String... recipients) {
+            this.recipients = List.of(recipients);
+        }
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            for (String recipient : recipients) {
+                letterIds.add(bulkPrintService.sendToBulkPrint(PDF_LIST, SSCS_CASE_DATA, VALID_APPEAL_CREATED, recipient, "dl6"));
+            }
+            if (failAfterSending) {
+                throw new IllegalStateException("Unable to store the letter on the case");
+            }
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.LATE;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.APPELLANT_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.OTHER_PARTY_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.OTHER_PARTY_REPRESENTATIVE_EVIDENCE;
+import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.REPRESENTATIVE_EVIDENCE;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
+import uk.gov.hmcts.reform.sscs.ccd.domain.DocumentLink;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsDocument;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsDocumentDetails;
+
+public class CaseDocumentIndexTest {
+
+    private final SscsDocument appellantNotIssued = document(APPELLANT_EVIDENCE, "No", null, "appellant.com");
+    private final SscsDocument appellantIssued = document(APPELLANT_EVIDENCE, "Yes", null, "issued.com");
+    private final SscsDocument otherPartyOne = document(OTHER_PARTY_EVIDENCE, "No", "1", "op1.com");
+    private final SscsDocument otherPartyRepTwo = document(OTHER_PARTY_REPRESENTATIVE_EVIDENCE, "No", "2", "op2.com");
+    private final SscsDocument otherPartyOneAgain = document(OTHER_PARTY_EVIDENCE, "No", "1", "op1-again.com");
+    private final SscsDocument sameLinkAsAppellant = document(REPRESENTATIVE_EVIDENCE, "No", null, "appellant.com");
+
+    private final CaseDocumentIndex index = CaseDocumentIndex.of(List.of(appellantNotIssued, appellantIssued,
+        otherPartyOne, otherPartyRepTwo, otherPartyOneAgain, sameLinkAsAppellant));
+
+    @Test
+    public void findsDocumentsNotIssuedByTypeAndSender() {
+        assertEquals(List.of(appellantNotIssued), index.notIssued(APPELLANT_EVIDENCE, null));
+        assertEquals(List.of(otherPartyOne, otherPartyOneAgain), index.notIssued(OTHER_PARTY_EVIDENCE, null));
+        assertEquals(List.of(otherPartyOne, otherPartyOneAgain), index.notIssued(OTHER_PARTY_EVIDENCE, "1"));
+        assertTrue(index.notIssued(OTHER_PARTY_EVIDENCE, "2").isEmpty());
+        assertTrue(index.notIssued(DocumentType.DWP_EVIDENCE, null).isEmpty());
+    }
+
+    @Test
+    public void keepsTheFirstNotIssuedDocumentForEachOtherPartySender() {
+        assertEquals(List.of(otherPartyOne, otherPartyRepTwo), new ArrayList<>(index.firstNotIssuedPerOtherPartySender()));
+    }
+
+    @Test
+    public void findsTheFirstDocumentWithABinaryUrl() {
+        assertSame(appellantNotIssued, index.findByBinaryUrl("appellant.com").orElseThrow());
+        assertFalse(index.findByBinaryUrl("missing.com").isPresent());
+        assertFalse(index.findByBinaryUrl(null).isPresent());
+    }
+
+    @Test
+    public void indexesNoDocumentsForACaseWithoutAny() {
+        CaseDocumentIndex empty = CaseDocumentIndex.of(null);
+
+        assertTrue(empty.getDocuments().isEmpty());
+        assertTrue(empty.notIssued(APPELLANT_EVIDENCE, null).isEmpty());
+        assertTrue(empty.firstNotIssuedPerOtherPartySender().isEmpty());
+    }
+
+    private static SscsDocument document(DocumentType type, String evidenceIssued, String otherPartyId, String binaryUrl) {
+        return SscsDocument.builder().value(SscsDocumentDetails.builder()
+            .documentType(type.getValue())
+            .evidenceIssued(evidenceIssued)
+            .originalSenderOtherPartyId(otherPartyId)
+            .documentLink(DocumentLink.builder().documentBinaryUrl(binaryUrl).build())
+            .build()).build();
+    }
+}
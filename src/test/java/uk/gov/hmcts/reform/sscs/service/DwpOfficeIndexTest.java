@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import uk.gov.hmcts.reform.sscs.model.dwp.Mapping;
+import uk.gov.hmcts.reform.sscs.model.dwp.OfficeMapping;
+
+public class DwpOfficeIndexTest {
+
+    private static final OfficeMapping PIP_2 = OfficeMapping.builder().code("DWP PIP (2)")
+        .mapping(Mapping.builder().ccd("DWP PIP (2)").build()).build();
+
+    private final DwpAddressLookupService dwpAddressLookupService = mock(DwpAddressLookupService.class);
+    private DwpOfficeIndex index;
+
+    @Before
+    public void setUp() {
+        when(dwpAddressLookupService.getDwpMappingByOffice("PIP", "DWP PIP (1)")).thenReturn(Optional.of(PIP_2));
+        index = new DwpOfficeIndex(dwpAddressLookupService, 2);
+    }
+
+    @Test
+    public void officeIsResolvedOnceAndThenServedFromTheIndex() {
+        assertEquals(Optional.of(PIP_2), index.getDwpMappingByOffice("PIP", "DWP PIP (1)"));
+        assertEquals(Optional.of(PIP_2), index.getDwpMappingByOffice("PIP", "DWP PIP (1)"));
+
+        verify(dwpAddressLookupService, times(1)).getDwpMappingByOffice("PIP", "DWP PIP (1)");
+    }
+
+    @Test
+    public void officeNamesDifferingOnlyInCaseOrSurroundingSpacesShareAnEntry() {
+        assertEquals(Optional.of(PIP_2), index.getDwpMappingByOffice("PIP", " DWP PIP (1) "));
+        assertEquals(Optional.of(PIP_2), index.getDwpMappingByOffice("PIP", "dwp pip (1)"));
+        assertEquals(Optional.of(PIP_2), index.getDwpMappingByOffice("PIP", "DWP PIP (1)"));
+
+        verify(dwpAddressLookupService, times(1)).getDwpMappingByOffice("PIP", "DWP PIP (1)");
+    }
+
+    @Test
+    public void unknownOfficeIsRememberedAsUnknown() {
+        when(dwpAddressLookupService.getDwpMappingByOffice("ESA", "Nowhere")).thenReturn(Optional.empty());
+
+        assertFalse(index.getDwpMappingByOffice("ESA", "Nowhere").isPresent());
+        assertFalse(index.getDwpMappingByOffice("ESA", "Nowhere").isPresent());
+
+        verify(dwpAddressLookupService, times(1)).getDwpMappingByOffice("ESA", "Nowhere");
+    }
+
+    @Test
+    public void officesBeyondTheLimitAreNotIndexed() {
+        when(dwpAddressLookupService.getDwpMappingByOffice("PIP", "Office 2")).thenReturn(Optional.empty());
+        when(dwpAddressLookupService.getDwpMappingByOffice("PIP", "Office 3")).thenReturn(Optional.empty());
+
+        index.getDwpMappingByOffice("PIP", "DWP PIP (1)");
+        index.getDwpMappingByOffice("PIP", "Office 2");
+        index.getDwpMappingByOffice("PIP", "Office 3");
+        index.getDwpMappingByOffice("PIP", "Office 3");
+
+        verify(dwpAddressLookupService, times(2)).getDwpMappingByOffice("PIP", "Office 3");
+    }
+
+    @Test
+    public void officeConfigChangeClearsTheIndex() {
+        index.getDwpMappingByOffice("PIP", "DWP PIP (1)");
+
+        index.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("dwp.officeIndex.maxOfficesPerBenefit")));
+        index.getDwpMappingByOffice("PIP", "DWP PIP (1)");
+
+        verify(dwpAddressLookupService, times(2)).getDwpMappingByOffice("PIP", "DWP PIP (1)");
+    }
+
+    @Test
+    public void unrelatedConfigChangeKeepsTheIndex() {
+        index.getDwpMappingByOffice("PIP", "DWP PIP (1)");
+
+        index.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("robotics.englishCount")));
+        index.getDwpMappingByOffice("PIP", "DWP PIP (1)");
+
+        verify(dwpAddressLookupService, times(1)).getDwpMappingByOffice("PIP", "DWP PIP (1)");
+    }
+}
@@ -0,0 +1,186 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+public class EmailOutboxTest {
+
+    private static final Session SESSION = Session.getInstance(new Properties());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailOutbox outbox;
+    private Path dir;
+
+    @Before
+    public void setUp() {
+        dir = folder.getRoot().toPath();
+        EmailSenderProvider emailSenderProvider = mock(EmailSenderProvider.class);
+        when(emailSenderProvider.getMailSender()).thenReturn(mailSender);
+        when(mailSender.createMimeMessage(any(InputStream.class)))
+            .thenAnswer(invocation -> new MimeMessage(SESSION, invocation.<InputStream>getArgument(0)));
+        outbox = new EmailOutbox(emailSenderProvider, true, dir.toString(), 1, 3, 10, meterRegistry);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        outbox.stop();
+    }
+
+    @Test
+    public void submittedEmailIsSentAndRemoved() throws Exception {
+        outbox.start();
+
+        outbox.submit(1L, message("Robotics 1"));
+
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender, timeout(2000)).send(captor.capture());
+        assertEquals("Robotics 1", captor.getValue().getSubject());
+        await(() -> countFiles(dir, "*.eml") == 0);
+    }
+
+    @Test
+    public void attachmentsAreReadBackFromTheSpoolFile() throws Exception {
+        byte[] evidence = new byte[256 * 1024];
+        new Random(1).nextBytes(evidence);
+        MimeMessage message = new MimeMessage(SESSION);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setFrom("from@example.com");
+        helper.setTo("to@example.com");
+        helper.setSubject("Robotics with evidence");
+        helper.setText("body");
+        helper.addAttachment("evidence.pdf", new ByteArrayResource(evidence), "application/pdf");
+        List<byte[]> sent = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            MimeMultipart content = (MimeMultipart) invocation.<MimeMessage>getArgument(0).getContent();
+            sent.add(content.getBodyPart(1).getInputStream().readAllBytes());
+            return null;
+        }).when(mailSender).send(any(MimeMessage.class));
+        outbox.start();
+
+        outbox.submit(4L, message);
+
+        await(() -> !sent.isEmpty());
+        assertArrayEquals(evidence, sent.get(0));
+    }
+
+    @Test
+    public void failedSendIsRetriedUntilMaxAttemptsThenMovedToFailed() throws Exception {
+        doThrow(new MailSendException("smtp down")).when(mailSender).send(any(MimeMessage.class));
+        outbox.start();
+
+        outbox.submit(2L, message("Robotics 2"));
+
+        verify(mailSender, timeout(2000).times(3)).send(any(MimeMessage.class));
+        await(() -> countFiles(dir.resolve("failed"), "2-*.eml") == 1);
+        assertEquals(0, countFiles(dir, "*.eml"));
+        assertEquals(1.0, meterRegistry.counter("outbox.dead_lettered", "outbox", "email").count(), 0);
+    }
+
+    @Test
+    public void emailSubmittedBeforeStartIsOnlySentOnceStarted() throws Exception {
+        outbox.submit(5L, message("Robotics 5"));
+
+        Thread.sleep(50);
+        verify(mailSender, never()).send(any(MimeMessage.class));
+        assertEquals(1, countFiles(dir, "5-*.eml"));
+
+        outbox.start();
+
+        verify(mailSender, timeout(2000)).send(any(MimeMessage.class));
+        await(() -> countFiles(dir, "*.eml") == 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void enabledOutboxNeedsADirectory() {
+        new EmailOutbox(mock(EmailSenderProvider.class), true, "", 1, 3, 10, meterRegistry);
+    }
+
+    @Test
+    public void pendingEmailsAreRecoveredOnStart() throws Exception {
+        try (var out = Files.newOutputStream(dir.resolve("3-recovered.eml"))) {
+            message("Robotics 3").writeTo(out);
+        }
+
+        outbox.start();
+
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender, timeout(2000)).send(captor.capture());
+        assertEquals("Robotics 3", captor.getValue().getSubject());
+        await(() -> !Files.exists(dir.resolve("3-recovered.eml")));
+    }
+
+    private static MimeMessage message(String subject) throws MessagingException {
+        MimeMessage message = new MimeMessage(SESSION);
+        message.setFrom(new InternetAddress("from@example.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("to@example.com"));
+        message.setSubject(subject);
+        message.setText("body");
+        return message;
+    }
+
+    private static int countFiles(Path dir, String glob) {
+        int count = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+            for (Path ignored : files) {
+                count++;
+            }
+        } catch (Exception e) {
+            return -1;
+        }
+        return count;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -1,17 +1,24 @@
 package uk.gov.hmcts.reform.sscs.service;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
+import javax.mail.Session;
 import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import uk.gov.hmcts.reform.sscs.domain.email.Email;
@@ -34,10 +41,13 @@ public class EmailServiceTest {
     @Mock
     private MimeMessage mimeMessage;
 
+    @Mock
+    private EmailOutbox emailOutbox;
+
     @Before
     public void beforeEachTest() {
         EmailSenderProvider emailSenderProvider = mock(EmailSenderProvider.class);
-        emailService = new EmailService(emailSenderProvider);
+        emailService = new EmailService(emailSenderProvider, emailOutbox);
         when(emailSenderProvider.getMailSender()).thenReturn(javaMailSender);
         when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
     }
@@ -68,6 +78,38 @@ public class EmailServiceTest {
         verify(javaMailSender).send(mimeMessage);
     }
 
+    @Test
+    public void givenOutboxEnabled_thenEmailIsQueuedRatherThanSent() {
+        when(emailOutbox.isEnabled()).thenReturn(true);
+        emailService.sendEmail(1L, SampleEmailData.getDefault());
+        verify(emailOutbox).submit(1L, mimeMessage);
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    public void givenAnAttachmentThatCanOnlyBeReadOnce_thenItIsNotReadToSizeItAndIsSentWhole() throws Exception {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        when(javaMailSender.createMimeMessage()).thenReturn(message);
+        byte[] evidence = "evidence".getBytes(UTF_8);
+        InputStreamResource streamed = new InputStreamResource(new ByteArrayInputStream(evidence)) {
+            @Override
+            public boolean isOpen() {
+                // like a streamed download, it is read when the message is written rather than already open
+                return false;
+            }
+        };
+        EmailAttachment attachment = EmailAttachment.builder()
+            .data(streamed).contentType("application/pdf").filename("evidence.pdf").build();
+        Email email = Email.builder().from(EMAIL_FROM).to(EMAIL_TO).subject(EMAIL_SUBJECT).message(EMAIL_MESSAGE)
+            .attachments(List.of(attachment)).build();
+
+        emailService.sendEmail(1L, email);
+
+        verify(javaMailSender).send(message);
+        MimeMultipart content = (MimeMultipart) message.getContent();
+        assertArrayEquals(evidence, content.getBodyPart(1).getInputStream().readAllBytes());
+    }
+
     @Test(expected = RuntimeException.class)
     public void testSendEmailThrowsMailException() {
         Email emailData = SampleEmailData.getDefault();
@@ -0,0 +1,104 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.launchdarkly.sdk.LDContext;
+import com.launchdarkly.sdk.LDValue;
+import com.launchdarkly.sdk.server.interfaces.DataSourceStatusProvider;
+import com.launchdarkly.sdk.server.interfaces.FlagTracker;
+import com.launchdarkly.sdk.server.interfaces.FlagValueChangeEvent;
+import com.launchdarkly.sdk.server.interfaces.FlagValueChangeListener;
+import com.launchdarkly.sdk.server.interfaces.LDClientInterface;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class FeatureToggleServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final LDClientInterface ldClient = mock(LDClientInterface.class);
+    private final FlagTracker flagTracker = mock(FlagTracker.class);
+    private final DataSourceStatusProvider statusProvider = mock(DataSourceStatusProvider.class);
+    private Path snapshotFile;
+
+    @Before
+    public void setUp() {
+        snapshotFile = folder.getRoot().toPath().resolve("flags.json");
+        when(ldClient.getFlagTracker()).thenReturn(flagTracker);
+        when(ldClient.getDataSourceStatusProvider()).thenReturn(statusProvider);
+    }
+
+    @Test
+    public void givenLaunchDarklyIsAvailable_thenFlagsAreEvaluatedOnceAndSaved() throws Exception {
+        when(ldClient.isInitialized()).thenReturn(true);
+        when(ldClient.boolVariation(eq("send-grid"), any(LDContext.class), eq(false))).thenReturn(true);
+
+        FeatureToggleService service = service();
+
+        assertTrue(service.isSendGridEnabled());
+        assertTrue(service.isSendGridEnabled());
+        verify(ldClient, times(1)).boolVariation(eq("send-grid"), any(LDContext.class), eq(false));
+        assertEquals("{\"send-grid\":true}", Files.readString(snapshotFile));
+    }
+
+    @Test
+    public void givenFlagChangeInLaunchDarkly_thenSnapshotIsUpdated() {
+        when(ldClient.isInitialized()).thenReturn(true);
+        FeatureToggleService service = service();
+        assertFalse(service.isSendGridEnabled());
+
+        ArgumentCaptor<FlagValueChangeListener> listener = ArgumentCaptor.forClass(FlagValueChangeListener.class);
+        verify(flagTracker).addFlagValueChangeListener(eq("send-grid"), any(LDContext.class), listener.capture());
+        listener.getValue().onFlagValueChange(
+            new FlagValueChangeEvent("send-grid", LDValue.of(false), LDValue.of(true)));
+
+        assertTrue(service.isSendGridEnabled());
+    }
+
+    @Test
+    public void givenLaunchDarklyIsNotAvailable_thenLastKnownGoodFlagsAreUsed() throws Exception {
+        Files.writeString(snapshotFile, "{\"send-grid\":true}");
+        when(ldClient.isInitialized()).thenReturn(false);
+
+        FeatureToggleService service = service();
+
+        assertTrue(service.isSendGridEnabled());
+        verify(ldClient, times(0)).boolVariation(any(), any(LDContext.class), eq(false));
+    }
+
+    @Test
+    public void givenLaunchDarklyIsNotAvailableAndNothingSaved_thenDefaultsAreUsedUntilItComesBack() {
+        when(ldClient.isInitialized()).thenReturn(false);
+        when(ldClient.boolVariation(eq("send-grid"), any(LDContext.class), eq(false))).thenReturn(true);
+
+        FeatureToggleService service = service();
+        assertFalse(service.isSendGridEnabled());
+
+        ArgumentCaptor<DataSourceStatusProvider.StatusListener> listener =
+            ArgumentCaptor.forClass(DataSourceStatusProvider.StatusListener.class);
+        verify(statusProvider).addStatusListener(listener.capture());
+        listener.getValue().dataSourceStatusChanged(
+            new DataSourceStatusProvider.Status(DataSourceStatusProvider.State.VALID, Instant.now(), null));
+
+        assertTrue(service.isSendGridEnabled());
+    }
+
+    private FeatureToggleService service() {
+        return new FeatureToggleService(ldClient, "sscs-evidence-share", snapshotFile.toString());
+    }
+}
@@ -2,17 +2,22 @@ package uk.gov.hmcts.reform.sscs.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.*;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
+import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerHelper.buildTestCallbackForGivenData;
 import static uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType.*;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.NO;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.YES;
+import static uk.gov.hmcts.reform.sscs.config.DocmosisTemplatesHelper.buildDocmosisTemplates;
 import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.*;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
@@ -25,9 +30,16 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.mockito.quality.Strictness;
+import uk.gov.hmcts.reform.sscs.callback.CallbackDispatcher;
+import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpointJournal;
+import uk.gov.hmcts.reform.sscs.callback.HandlerMetrics;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
 import uk.gov.hmcts.reform.sscs.ccd.callback.DocumentType;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
-import uk.gov.hmcts.reform.sscs.config.DocmosisTemplateConfig;
 import uk.gov.hmcts.reform.sscs.docmosis.domain.Pdf;
 import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
 import uk.gov.hmcts.reform.sscs.model.PdfDocument;
@@ -46,8 +58,6 @@ public class FurtherEvidenceServiceTest {
     private SscsDocumentService sscsDocumentService;
     @Mock
     private BulkPrintService bulkPrintService;
-    @Mock
-    private DocmosisTemplateConfig docmosisTemplateConfig;
 
     private FurtherEvidenceService furtherEvidenceService;
 
@@ -63,44 +73,11 @@ public class FurtherEvidenceServiceTest {
     private final String furtherEvidenceOtherPartiesWelshTemplateName = "TB-SCS-GNO-WEL-00470.docx";
     private final String furtherEvidenceOtherPartiesDocName = "609-98-template (other parties)";
     private final String furtherEvidenceOtherPartiesDwpDocName = "609-98-template (DWP)";
-    Map<LanguagePreference, Map<String, Map<String, String>>> template =  new HashMap<>();
 
     @Before
     public void setup() throws Exception {
-        Map<String, String> nameMap;
-        Map<String, Map<String, String>> englishDocs = new HashMap<>();
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00010.doc");
-        englishDocs.put(DocumentType.DL6.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00011.doc");
-        englishDocs.put(DocumentType.DL16.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00068.doc");
-        englishDocs.put("d609-97", nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00069.doc");
-        englishDocs.put("d609-98", nameMap);
-
-        Map<String, Map<String, String>> welshDocs = new HashMap<>();
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00010.doc");
-        welshDocs.put(DocumentType.DL6.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-ENG-00011.doc");
-        welshDocs.put(DocumentType.DL16.getValue(), nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-WEL-00469.docx");
-        welshDocs.put("d609-97", nameMap);
-        nameMap = new HashMap<>();
-        nameMap.put("name", "TB-SCS-GNO-WEL-00470.docx");
-        welshDocs.put("d609-98", nameMap);
-
-        template.put(LanguagePreference.ENGLISH, englishDocs);
-        template.put(LanguagePreference.WELSH, welshDocs);
-
         furtherEvidenceService = new FurtherEvidenceService(coverLetterService, sscsDocumentService, bulkPrintService,
-                docmosisTemplateConfig);
+                buildDocmosisTemplates(), new LetterFanOutJournal(new SimpleMeterRegistry()));
 
         byte[] pdfBytes = IOUtils.toByteArray(Objects.requireNonNull(getClass().getClassLoader().getResourceAsStream("myPdf.pdf")));
         pdf = new Pdf(pdfBytes, "some doc name");
@@ -111,251 +88,236 @@ public class FurtherEvidenceServiceTest {
     @Test
     public void givenAppellantIssueFurtherEvidenceCallbackWithAppellantAndNoRep_shouldGenerateCoverLetterOriginalSenderAnd609_98ForDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", true);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, APPELLANT_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenAppellantIssueFurtherEvidenceCallbackWithAppellantAndNoRep_whenLanguageIsWelsh_shouldGenerateWelshCoverLetterOriginalSenderAnd609_98ForDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("Yes", false);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, APPELLANT_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
                 eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
                 eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenAppellantIssueFurtherEvidenceCallbackWithAppellantAndRep_shouldGenerateCoverLetterOriginalSenderAnd609_98ForRepAndDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", true);
         withRep();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, APPELLANT_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenAppellantIssueFurtherEvidenceCallbackWithAppellantAndRep_whenLanguageIsWelsh_shouldGenerateWelshCoverLetterOriginalSenderAnd609_98ForRepAndDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("Yes", false);
         withRep();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, APPELLANT_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
                 eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(REPRESENTATIVE_LETTER),
+            .generateCoverLetter(any(), eq(caseData), eq(REPRESENTATIVE_LETTER),
                 eq(furtherEvidenceOtherPartiesWelshTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
                 eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenRepIssueFurtherEvidenceCallbackWithAppellantRep_shouldGenerateCoverLetterOriginalSenderAnd609_98ForAppellantAndDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", true);
         withRep();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, REPRESENTATIVE_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenRepIssueFurtherEvidenceCallbackWithAppellantRep_whenLanguageIsWelsh_shouldGenerateWelshCoverLetterOriginalSenderAnd609_98ForAppellantAndDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("Yes", false);
         withRep();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, REPRESENTATIVE_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(REPRESENTATIVE_LETTER),
+            .generateCoverLetter(any(), eq(caseData), eq(REPRESENTATIVE_LETTER),
                 eq(furtherEvidenceOriginalSenderWelshTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
                 eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
                 eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenDwpIssueFurtherEvidenceCallbackWithAppellant_shouldGenerateCoverLetterOriginalSenderAnd609_98ForAppellantAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, DWP_EVIDENCE,
             Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER), null);
 
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenDwpIssueFurtherEvidenceCallbackWithAppellant_whenLanguageIsWelsh_shouldGenerateWelshCoverLetterOriginalSenderAnd609_98ForAppellantAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("Yes", false);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, DWP_EVIDENCE,
             Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER), null);
 
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
                 eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
                 eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
     public void givenDwpIssueFurtherEvidenceCallbackWithAppellantAndRep_shouldGenerateCoverLetterOriginalSenderAnd609_98ForAppellantAndRepAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false);
         withRep();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, DWP_EVIDENCE,
             Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER), null);
 
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), any(), any(), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), any(), any(), any(), any(), any());
     }
 
     @Test
     public void givenJointPartyIssueFurtherEvidenceCallbackWithAppellant_shouldGenerateCoverLetterOriginalSenderAnd609_98ForAppellantAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, JOINT_PARTY_EVIDENCE);
         withJointParty();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, JOINT_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), null);
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(JOINT_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(JOINT_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(JOINT_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Joint Party"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(JOINT_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Joint Party"), any());
     }
 
     @Test
     public void givenOriginalSenderAsOtherPartyAndIssueFurtherEvidenceCallback_shouldGenerateCoverLetterForOtherPartyAnd609_98ForAppellantThenBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(false, false, "1", null, null);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "1");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("1"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("1"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Harry Kane"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Harry Kane"), any());
     }
 
     @Test
     public void givenOriginalSenderAsOtherPartyAppointeeAndIssueFurtherEvidenceCallback_shouldGenerateCoverLetterForOtherPartyAppointeeAnd609_98ForAppellantThenBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, false, "1", "2", null);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "2");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Henry Smith"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Henry Smith"), any());
     }
 
     @Test
     public void givenOriginalSenderAsOtherPartyRepAndIssueFurtherEvidenceCallback_shouldGenerateCoverLetterForOtherPartyRepAnd609_98ForAppellantAndOtherPartyThenBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(false, true, "1", null, "3");
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_REPRESENTATIVE_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "3");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("3"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("1"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("1"));
         then(coverLetterService).should(times(3)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Harry Kane"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Harry Kane"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"), any());
     }
 
     @Test
     public void givenOriginalSenderAsOtherPartyRepAndThereIsOtherPartyAppointeeIssueFurtherEvidenceCallback_shouldGenerateCoverLetterForOtherPartyRepAnd609_98ForAppellantAndOtherPartyAppointeeThenBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, true, "1", "2", "3");
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_REPRESENTATIVE_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "3");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("3"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
         then(coverLetterService).should(times(3)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Henry Smith"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Henry Smith"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"), any());
     }
 
     @Test
     public void givenOriginalSenderAsOtherPartyAppointeeAndThereIsOtherPartyRepIssueFurtherEvidenceCallback_shouldGenerateCoverLetterForOtherPartyAppointeeAnd609_98ForAppellantAndOtherPartyRepThenBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, true, "1", "2", "3");
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "2");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
         then(coverLetterService).should(times(3)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Henry Smith"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Henry Smith"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"), any());
     }
 
     @Test
@@ -363,16 +325,15 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(false, false, "1", null, null);
         withOtherPartyOrRepOrAppointee(false, false, "4", null, null);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "1");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("1"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("4"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("1"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("4"));
         then(coverLetterService).should(times(3)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
     }
 
     @Test
@@ -380,16 +341,15 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, false, "1", "2", null);
         withOtherPartyOrRepOrAppointee(false, false, "4", null, null);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "2");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("4"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("4"));
         then(coverLetterService).should(times(3)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
     }
 
     @Test
@@ -397,18 +357,17 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, true, "1", "2", "3");
         withOtherPartyOrRepOrAppointee(false, false, "4", null, null);
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_REPRESENTATIVE_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "3");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("3"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("4"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("4"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
         then(coverLetterService).should(times(4)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Wendy Wendy"), any());
     }
 
     @Test
@@ -416,19 +375,18 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, true, "1", "2", "3");
         withOtherPartyOrRepOrAppointee(true, true, "4", "5", "6");
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, OTHER_PARTY_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), "2");
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("5"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("6"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("5"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("6"));
         then(coverLetterService).should(times(5)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
     }
 
     @Test
@@ -436,40 +394,38 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
         withOtherPartyOrRepOrAppointee(true, true, "1", "2", "3");
         withOtherPartyOrRepOrAppointee(true, true, "4", "5", "6");
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, APPELLANT_EVIDENCE,
             Arrays.asList(DWP_LETTER, APPELLANT_LETTER, JOINT_PARTY_LETTER, REPRESENTATIVE_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER), null);
 
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("5"));
-        then(coverLetterService).should(times(1)).generateCoverLetter(eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("6"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("5"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("6"));
         then(coverLetterService).should(times(5)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
     }
 
     @Test
     public void givenDwpIssueFurtherEvidenceCallbackWithAppellantAndRep_whenLanguageIsWelsh_shouldGenerateWelshCoverLetterOriginalSenderAnd609_98ForAppellantAndRepAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("Yes", false);
         withRep();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, DWP_EVIDENCE,
             Arrays.asList(APPELLANT_LETTER, REPRESENTATIVE_LETTER), null);
 
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOriginalSenderWelshTemplateName),
                 eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOtherPartiesWelshTemplateName),
                 eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(REPRESENTATIVE_LETTER),
+            .generateCoverLetter(any(), eq(caseData), eq(REPRESENTATIVE_LETTER),
                 eq(furtherEvidenceOtherPartiesWelshTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
     }
 
     @Test
@@ -478,7 +434,6 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", true);
         withRep();
         withJointParty();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, DWP_EVIDENCE, Collections.singletonList(furtherEvidenceLetterType), null);
 
         String templateName = furtherEvidenceOtherPartiesTemplateName;
@@ -488,9 +443,9 @@ public class FurtherEvidenceServiceTest {
             docName = furtherEvidenceOriginalSenderDocName;
         }
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(furtherEvidenceLetterType), eq(templateName), eq(docName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(furtherEvidenceLetterType), eq(templateName), eq(docName), eq(null));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
         then(coverLetterService).shouldHaveNoMoreInteractions();
         then(bulkPrintService).shouldHaveNoMoreInteractions();
     }
@@ -501,13 +456,12 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("No", true);
         withRep();
         withOtherPartyOrRepOrAppointee(false, true, "1", null, "2");
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, DWP_EVIDENCE, Collections.singletonList(furtherEvidenceLetterType), null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(furtherEvidenceLetterType), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(expectedOtherPartyId));
+            .generateCoverLetter(any(), eq(caseData), eq(furtherEvidenceLetterType), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(expectedOtherPartyId));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
         then(coverLetterService).shouldHaveNoMoreInteractions();
         then(bulkPrintService).shouldHaveNoMoreInteractions();
     }
@@ -518,7 +472,6 @@ public class FurtherEvidenceServiceTest {
         createTestDataAndConfigureSscsDocumentServiceMock("Yes", false);
         withRep();
         withJointParty();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(), caseData, DWP_EVIDENCE, Collections.singletonList(furtherEvidenceLetterType), null);
 
         String templateName = furtherEvidenceOtherPartiesWelshTemplateName;
@@ -528,29 +481,67 @@ public class FurtherEvidenceServiceTest {
             docName = furtherEvidenceOriginalSenderDocName;
         }
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(furtherEvidenceLetterType), eq(templateName), eq(docName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(furtherEvidenceLetterType), eq(templateName), eq(docName), eq(null));
         then(coverLetterService).should(times(1)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), any(), any(), any(), any());
         then(coverLetterService).shouldHaveNoMoreInteractions();
         then(bulkPrintService).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    public void givenTheLetterToAPartyFails_whenTheMessageIsRetried_shouldOnlySendToThePartiesNotYetSent() {
+        createTestDataAndConfigureSscsDocumentServiceMock("No", false, OTHER_PARTY_EVIDENCE);
+        withOtherPartyOrRepOrAppointee(true, true, "1", "2", "3");
+        withOtherPartyOrRepOrAppointee(true, true, "4", "5", "6");
+        List<FurtherEvidenceLetterType> allowedLetterTypes = Arrays.asList(APPELLANT_LETTER, OTHER_PARTY_LETTER, OTHER_PARTY_REP_LETTER);
+        boolean[] failed = {false};
+        when(bulkPrintService.sendToBulkPrint(anyList(), eq(caseData), any(FurtherEvidenceLetterType.class), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                if (invocation.getArgument(2) == OTHER_PARTY_REP_LETTER && !failed[0]) {
+                    failed[0] = true;
+                    throw new IllegalStateException("send-letter unavailable");
+                }
+                return Optional.empty();
+            });
+        CallbackDispatcher<SscsCaseData> dispatcher = new CallbackDispatcher<>(List.of(new IssueHandler(allowedLetterTypes)),
+            new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10)));
+        Callback<SscsCaseData> callback = buildTestCallbackForGivenData(caseData, State.WITH_DWP, EventType.ISSUE_FURTHER_EVIDENCE);
+        HandlerCheckpoint checkpoint = new HandlerCheckpointJournal(false, "build/handler-checkpoints",
+            Duration.ofHours(24), 100).open("1", "message");
+
+        try {
+            dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+            fail("Expected the letter to the rep of the first other party to fail");
+        } catch (IllegalStateException expected) {
+            // the retry picks up from the rep of the first other party
+        }
+        dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("2"));
+        then(coverLetterService).should(times(2)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("3"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("5"));
+        then(coverLetterService).should(times(1)).generateCoverLetter(any(), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq("6"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(2)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
+        then(bulkPrintService).should(times(3)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(OTHER_PARTY_REP_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), any(), any());
+    }
+
     @Test
     public void givenAppellantIssueFurtherEvidenceCallbackWithAppellantAndJointParty_shouldGenerateCoverLetterOriginalSenderAnd609_98ForAndDwpAndBulkPrintDocs() {
         createTestDataAndConfigureSscsDocumentServiceMock("No", false);
         withJointParty();
-        when(docmosisTemplateConfig.getTemplate()).thenReturn(template);
         furtherEvidenceService.issue(caseData.getSscsDocument(),caseData, APPELLANT_EVIDENCE, ALLOWED_LETTER_TYPES, null);
 
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(APPELLANT_LETTER), eq(furtherEvidenceOriginalSenderTemplateName), eq(furtherEvidenceOriginalSenderDocName), eq(null));
         then(coverLetterService).should(times(1))
-            .generateCoverLetter(eq(caseData), eq(JOINT_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(JOINT_PARTY_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
         then(coverLetterService).should(times(0))
-            .generateCoverLetter(eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
+            .generateCoverLetter(any(), eq(caseData), eq(DWP_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDwpDocName), eq(null));
         then(coverLetterService).should(times(2)).appendCoverLetter(any(), anyList(), any());
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"));
-        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(JOINT_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Joint Party"));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(APPELLANT_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("ApFirstname ApLastname"), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(pdfList), eq(caseData), eq(JOINT_PARTY_LETTER), eq(EventType.ISSUE_FURTHER_EVIDENCE), eq("Joint Party"), any());
     }
 
     private void withJointParty() {
@@ -721,6 +712,64 @@ public class FurtherEvidenceServiceTest {
         assertNull(caseData.getSscsWelshDocuments().get(0).getValue().getResizedDocumentLink());
     }
 
+    @Test
+    public void givenAppellantAndDwpEvidence_whenIssuedConsolidated_shouldSendTheRepOneLetterWithBoth() {
+        SscsDocument appellantEvidence = SscsDocument.builder().value(SscsDocumentDetails.builder()
+            .documentType(APPELLANT_EVIDENCE.getValue()).evidenceIssued("No").build()).build();
+        SscsDocument dwpEvidence = SscsDocument.builder().value(SscsDocumentDetails.builder()
+            .documentType(DWP_EVIDENCE.getValue()).evidenceIssued("No").build()).build();
+        caseData = SscsCaseData.builder()
+            .ccdCaseId("1563382899630221")
+            .isConfidentialCase(NO)
+            .sscsDocument(Arrays.asList(appellantEvidence, dwpEvidence))
+            .appeal(Appeal.builder().appellant(Appellant.builder()
+                .name(Name.builder().firstName("ApFirstname").lastName("ApLastname").build()).build()).build())
+            .build();
+        withRep();
+        Pdf appellantPdf = new Pdf(pdf.getContent(), "appellant evidence");
+        Pdf dwpPdf = new Pdf(pdf.getContent(), "dwp evidence");
+        when(sscsDocumentService.getPdfsForGivenDocTypeNotIssued(any(CaseDocumentIndex.class), eq(APPELLANT_EVIDENCE), anyBoolean(), any()))
+            .thenReturn(List.of(PdfDocument.builder().pdf(appellantPdf).document(appellantEvidence).build()));
+        when(sscsDocumentService.getPdfsForGivenDocTypeNotIssued(any(CaseDocumentIndex.class), eq(DWP_EVIDENCE), anyBoolean(), any()))
+            .thenReturn(List.of(PdfDocument.builder().pdf(dwpPdf).document(dwpEvidence).build()));
+        when(sscsDocumentService.sizeNormalisePdfs(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Map<String, Object> casePlaceholders = Map.of("caseId", "1563382899630221");
+        furtherEvidenceService.issueConsolidated(CaseDocumentIndex.of(caseData.getSscsDocument()), casePlaceholders, caseData,
+            Arrays.asList(APPELLANT_EVIDENCE, REPRESENTATIVE_EVIDENCE, DWP_EVIDENCE), ALLOWED_LETTER_TYPES);
+
+        then(coverLetterService).should(never()).buildCasePlaceholders(any());
+        then(coverLetterService).should(times(1))
+            .generateCoverLetter(eq(casePlaceholders), eq(caseData), eq(REPRESENTATIVE_LETTER), eq(furtherEvidenceOtherPartiesTemplateName), eq(furtherEvidenceOtherPartiesDocName), eq(null));
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(List.of(appellantPdf, dwpPdf)), eq(caseData), eq(REPRESENTATIVE_LETTER), any(), any(), any());
+        then(bulkPrintService).should(times(1)).sendToBulkPrint(eq(List.of(dwpPdf)), eq(caseData), eq(APPELLANT_LETTER), any(), any(), any());
+        then(bulkPrintService).should(times(4)).sendToBulkPrint(anyList(), eq(caseData), any(), any(), any(), any());
+    }
+
+    private class IssueHandler implements CallbackHandler<SscsCaseData> {
+        private final List<FurtherEvidenceLetterType> allowedLetterTypes;
+
+        IssueHandler(List<FurtherEvidenceLetterType> allowedLetterTypes) {
+            this.allowedLetterTypes = allowedLetterTypes;
+        }
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            SscsCaseData data = callback.getCaseDetails().getCaseData();
+            furtherEvidenceService.issue(data.getSscsDocument(), data, APPELLANT_EVIDENCE, allowedLetterTypes, null);
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.LATEST;
+        }
+    }
+
     @SuppressWarnings("unused")
     private Object[] generateDifferentTestScenarios() {
 
@@ -0,0 +1,130 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerHelper.buildTestCallbackForGivenData;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.ISSUE_GENERIC_LETTER;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.State.INTERLOCUTORY_REVIEW_STATE;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import uk.gov.hmcts.reform.sscs.callback.CallbackDispatcher;
+import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpointJournal;
+import uk.gov.hmcts.reform.sscs.callback.HandlerMetrics;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType;
+
+public class LetterFanOutJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final LetterFanOutJournal journal = new LetterFanOutJournal(registry);
+    private final Callback<SscsCaseData> callback = buildTestCallbackForGivenData(SscsCaseData.builder().build(),
+        INTERLOCUTORY_REVIEW_STATE, ISSUE_GENERIC_LETTER);
+
+    @Test
+    public void retryOnlySendsToThePartiesNotYetDone() {
+        FanOutHandler handler = new FanOutHandler(journal, "appellant", "rep", "other party");
+        CallbackDispatcher<SscsCaseData> dispatcher = new CallbackDispatcher<>(List.of(handler),
+            new HandlerMetrics(registry, Duration.ofSeconds(10)));
+        HandlerCheckpoint checkpoint = new HandlerCheckpointJournal(false, "build/handler-checkpoints",
+            Duration.ofHours(24), 100).open("1", "message");
+
+        handler.failOn = "rep";
+        try {
+            dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+            fail("Expected the letter to the rep to fail");
+        } catch (IllegalStateException expected) {
+            // the retry picks up from the rep
+        }
+        handler.failOn = null;
+        dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+
+        assertEquals(List.of("appellant", "rep", "rep", "other party"), handler.attempts);
+        assertEquals(1.0, registry.get("bulk_print.fan_out.skipped").counter().count(), 0);
+    }
+
+    @Test
+    public void savedCheckpointDoesNotHoldTheRecipientName() throws IOException {
+        FanOutHandler handler = new FanOutHandler(journal, "Harry Kane");
+        CallbackDispatcher<SscsCaseData> dispatcher = new CallbackDispatcher<>(List.of(handler),
+            new HandlerMetrics(registry, Duration.ofSeconds(10)));
+        HandlerCheckpoint checkpoint = new HandlerCheckpointJournal(true, folder.getRoot().getPath(),
+            Duration.ofHours(24), 100).open("1", "message");
+
+        dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+
+        File[] files = folder.getRoot().listFiles();
+        assertEquals(1, files.length);
+        String saved = Files.readString(files[0].toPath());
+        assertTrue(saved.contains("letter:1:"));
+        assertFalse(saved.contains("Harry Kane"));
+    }
+
+    @Test
+    public void recordsNothingOutsideOfAMessage() {
+        journal.recordSent("1", ISSUE_GENERIC_LETTER, "appellant", "appellantLetter");
+
+        assertFalse(journal.isSent("1", ISSUE_GENERIC_LETTER, "appellant", "appellantLetter"));
+    }
+
+    @Test
+    public void recipientsAreIdentifiedByLetterTypeAndOnlyOtherPartiesByTheirId() {
+        assertEquals("appellantLetter", LetterFanOutJournal.recipientId(FurtherEvidenceLetterType.APPELLANT_LETTER, null));
+        assertEquals("otherPartyLetter:1", LetterFanOutJournal.recipientId(FurtherEvidenceLetterType.OTHER_PARTY_LETTER, "1"));
+    }
+
+    private static class FanOutHandler implements CallbackHandler<SscsCaseData> {
+        private final LetterFanOutJournal journal;
+        private final List<String> parties;
+        private final List<String> attempts = new ArrayList<>();
+        private String failOn;
+
+        FanOutHandler(LetterFanOutJournal journal, String... parties) {
+            this.journal = journal;
+            this.parties = List.of(parties);
+        }
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            for (String party : parties) {
+                if (journal.isSent("1", ISSUE_GENERIC_LETTER, party, "letter")) {
+                    continue;
+                }
+                attempts.add(party);
+                if (party.equals(failOn)) {
+                    throw new IllegalStateException("send-letter unavailable");
+                }
+                journal.recordSent("1", ISSUE_GENERIC_LETTER, party, "letter");
+            }
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.LATEST;
+        }
+    }
+}
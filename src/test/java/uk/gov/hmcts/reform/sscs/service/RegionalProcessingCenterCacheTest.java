@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import uk.gov.hmcts.reform.sscs.ccd.domain.RegionalProcessingCenter;
+
+@RunWith(JUnitParamsRunner.class)
+public class RegionalProcessingCenterCacheTest {
+
+    private static final RegionalProcessingCenter BIRMINGHAM = RegionalProcessingCenter.builder().name("BIRMINGHAM").build();
+
+    private RegionalProcessingCenterService regionalProcessingCenterService;
+    private SimpleMeterRegistry meterRegistry;
+    private RegionalProcessingCenterCache cache;
+
+    @Before
+    public void setUp() {
+        regionalProcessingCenterService = mock(RegionalProcessingCenterService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RegionalProcessingCenterCache(regionalProcessingCenterService, meterRegistry);
+    }
+
+    @Test
+    @Parameters({"B1 1AA, B1 2BB", "B1 1AA, b12bb", "b11aa, B1 9ZZ"})
+    public void givenPostcodesWithTheSameOutwardCode_thenRpcIsResolvedOnce(String first, String second) {
+        when(regionalProcessingCenterService.getByPostcode(first)).thenReturn(BIRMINGHAM);
+
+        assertSame(BIRMINGHAM, cache.getByPostcode(first));
+        assertSame(BIRMINGHAM, cache.getByPostcode(second));
+
+        verify(regionalProcessingCenterService, times(1)).getByPostcode(first);
+        assertEquals(1.0, meterRegistry.get("rpc.lookup").tag("result", "miss").counter().count(), 0);
+        assertEquals(1.0, meterRegistry.get("rpc.lookup").tag("result", "hit").counter().count(), 0);
+    }
+
+    @Test
+    public void givenOutwardCodeThatIsAPrefixOfAnother_thenEachHasItsOwnRpc() {
+        RegionalProcessingCenter leeds = RegionalProcessingCenter.builder().name("LEEDS").build();
+        when(regionalProcessingCenterService.getByPostcode("B1 1AA")).thenReturn(BIRMINGHAM);
+        when(regionalProcessingCenterService.getByPostcode("B12 1AA")).thenReturn(leeds);
+
+        assertSame(BIRMINGHAM, cache.getByPostcode("B1 1AA"));
+        assertSame(leeds, cache.getByPostcode("B12 1AA"));
+        assertSame(BIRMINGHAM, cache.getByPostcode("B1 1AA"));
+    }
+
+    @Test
+    public void givenPostcodeWithNoRpc_thenMissIsReportedAndRemembered() {
+        assertNull(cache.getByPostcode("ZZ9 9ZZ"));
+        assertNull(cache.getByPostcode("ZZ9 9ZZ"));
+
+        verify(regionalProcessingCenterService, times(1)).getByPostcode("ZZ9 9ZZ");
+        assertEquals(1.0, meterRegistry.get("rpc.lookup.unresolved").counter().count(), 0);
+    }
+
+    @Test
+    @Parameters({"B1-1AA", "B 1 1AA", "1AA", "B1  1AA"})
+    public void givenPostcodeThatCannotBeCached_thenServiceIsCalledEveryTime(String postcode) {
+        when(regionalProcessingCenterService.getByPostcode(postcode)).thenReturn(BIRMINGHAM);
+
+        cache.getByPostcode(postcode);
+        cache.getByPostcode(postcode);
+
+        verify(regionalProcessingCenterService, times(2)).getByPostcode(postcode);
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.sscs.service;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -36,7 +37,7 @@ public class RequestTranslationServiceTest {
     @Mock
     PdfStoreService pdfStoreService;
     @Mock
-    EmailService emailService;
+    SplitEmailSender splitEmailSender;
     @Mock
     RequestTranslationTemplate requestTranslationTemplate;
     @Mock
@@ -51,7 +52,7 @@ public class RequestTranslationServiceTest {
     public void setup() {
         MockitoAnnotations.openMocks(this);
         requestTranslationService = new RequestTranslationService(pdfStoreService,
-                emailService,
+                splitEmailSender,
                 requestTranslationTemplate,
                 docmosisPdfGenerationService,
                 idamService);
@@ -92,7 +93,7 @@ public class RequestTranslationServiceTest {
         assertThat(attachmentResult.get(0).getFilename(), is("RequestTranslationForm-1.pdf"));
         assertThat(attachmentResult.get(1).getFilename(), is("fileName.pdf"));
 
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
 
         assertThat(caseData.getCaseData().getSscsDocument().get(0).getValue().getDocumentTranslationStatus(),
                 is(SscsDocumentTranslationStatus.TRANSLATION_REQUESTED));
@@ -131,7 +132,7 @@ public class RequestTranslationServiceTest {
         assertThat(attachmentResult.get(0).getFilename(), is("RequestTranslationForm-1.pdf"));
         assertThat(attachmentResult.get(1).getFilename(), is("rip1.pdf"));
 
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
 
         assertThat(caseData.getCaseData().getDwpDocuments().get(0).getValue().getDocumentTranslationStatus(),
             is(SscsDocumentTranslationStatus.TRANSLATION_REQUESTED));
@@ -151,7 +152,7 @@ public class RequestTranslationServiceTest {
 
         requestTranslationService.sendCaseToWlu(caseData);
 
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(splitEmailSender);
         verifyNoInteractions(requestTranslationTemplate);
 
     }
@@ -180,7 +181,7 @@ public class RequestTranslationServiceTest {
 
         requestTranslationService.sendCaseToWlu(caseData);
 
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(splitEmailSender);
         verifyNoInteractions(requestTranslationTemplate);
     }
 }
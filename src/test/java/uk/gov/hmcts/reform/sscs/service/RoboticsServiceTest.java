@@ -2,16 +2,24 @@ package uk.gov.hmcts.reform.sscs.service;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.State.*;
 import static uk.gov.hmcts.reform.sscs.ccd.util.CaseDataUtils.buildCaseData;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
 import org.apache.commons.lang3.StringUtils;
@@ -22,6 +30,8 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import uk.gov.hmcts.reform.sscs.ccd.domain.*;
 import uk.gov.hmcts.reform.sscs.ccd.service.CcdService;
 import uk.gov.hmcts.reform.sscs.ccd.service.SscsCcdConvertService;
@@ -44,7 +54,7 @@ public class RoboticsServiceTest {
     PdfStoreService pdfStoreService;
 
     @Mock
-    EmailService emailService;
+    SplitEmailSender splitEmailSender;
 
     EmailHelper emailHelper;
 
@@ -94,17 +104,18 @@ public class RoboticsServiceTest {
 
         roboticsService = new RoboticsService(
             pdfStoreService,
-            emailService,
+            splitEmailSender,
             emailHelper,
             roboticsJsonMapper,
             roboticsJsonValidator,
             roboticsEmailTemplate,
             evidenceShareConfig,
-            dwpAddressLookupService,
+            new DwpOfficeIndex(dwpAddressLookupService, 500),
             ccdService,
             idamService,
             1,
-            1);
+            1,
+            2);
 
         localDate = LocalDate.now();
 
@@ -137,7 +148,7 @@ public class RoboticsServiceTest {
         assertThat(attachmentResult.get(0).getFilename(), is("Bloggs_123.txt"));
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
@@ -165,7 +176,7 @@ public class RoboticsServiceTest {
         assertThat(caseData.getCaseData().getHmctsDwpState(), is("failedRobotics"));
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
@@ -205,10 +216,106 @@ public class RoboticsServiceTest {
 
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
+    @Test
+    public void givenEvidenceToDownload_thenItIsAttachedFromATemporaryFileDeletedOnceTheEmailIsSent() {
+        byte[] expectedBytes = {1, 2, 3};
+        given(pdfStoreService.download("www.download.com")).willReturn(expectedBytes);
+        sscsCaseData.getAppeal().setReceivedVia("Online");
+        sscsCaseData.setSscsDocument(new ArrayList<>(List.of(SscsDocument.builder()
+            .value(SscsDocumentDetails.builder()
+                .documentType("appellantEvidence")
+                .documentLink(DocumentLink.builder().documentUrl("www.download.com").documentFilename("fileName.pdf").build())
+                .build())
+            .build())));
+        List<byte[]> sent = new ArrayList<>();
+        willAnswer(invocation -> {
+            verify(roboticsEmailTemplate).generateEmail(any(), captor.capture(), eq(false), eq(false));
+            sent.add(captor.getValue().get(1).getData().getInputStream().readAllBytes());
+            return null;
+        }).given(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
+
+        roboticsService.sendCaseToRobotics(new CaseDetails<>(1L, null, APPEAL_CREATED, sscsCaseData, null, "Benefit"));
+
+        Resource evidence = (Resource) captor.getValue().get(1).getData();
+        assertTrue(evidence instanceof FileSystemResource);
+        assertArrayEquals(expectedBytes, sent.get(0));
+        assertFalse(evidence.exists());
+    }
+
+    @Test
+    public void givenSeveralEvidenceDocuments_thenTheyAreDownloadedInParallel() {
+        CountDownLatch bothDownloading = new CountDownLatch(2);
+        given(pdfStoreService.download(startsWith("www.evidence"))).willAnswer(invocation -> {
+            bothDownloading.countDown();
+            return bothDownloading.await(2, TimeUnit.SECONDS) ? new byte[]{1} : null;
+        });
+
+        List<SscsDocument> documents = new ArrayList<>();
+        for (String name : List.of("one", "two")) {
+            documents.add(SscsDocument.builder()
+                .value(SscsDocumentDetails.builder()
+                    .documentType("appellantEvidence")
+                    .documentLink(DocumentLink.builder().documentUrl("www.evidence-" + name + ".com")
+                        .documentFilename(name + ".pdf").build())
+                    .build())
+                .build());
+        }
+        sscsCaseData.getAppeal().setReceivedVia("Online");
+        sscsCaseData.setSscsDocument(documents);
+
+        roboticsService.sendCaseToRobotics(new CaseDetails<>(1L, null, APPEAL_CREATED, sscsCaseData, null, "Benefit"));
+
+        verify(roboticsEmailTemplate).generateEmail(any(), captor.capture(), eq(false), eq(false));
+        assertThat(captor.getValue().size(), is(3));
+        assertThat(captor.getValue().get(1).getFilename(), is("one.pdf"));
+        assertThat(captor.getValue().get(2).getFilename(), is("two.pdf"));
+    }
+
+    @Test
+    public void givenADownloadFails_thenTheDownloadsNotYetStartedAreCancelledAndItsFailureIsReported() {
+        RoboticsService singleDownloader = new RoboticsService(pdfStoreService, splitEmailSender, emailHelper,
+            roboticsJsonMapper, roboticsJsonValidator, roboticsEmailTemplate, evidenceShareConfig,
+            new DwpOfficeIndex(dwpAddressLookupService, 500), ccdService, idamService, 1, 1, 1);
+        IllegalStateException dmStoreDown = new IllegalStateException("dm-store down");
+        given(pdfStoreService.download("www.sscs1.com")).willThrow(dmStoreDown);
+
+        List<SscsDocument> documents = new ArrayList<>();
+        documents.add(SscsDocument.builder()
+            .value(SscsDocumentDetails.builder()
+                .documentType("sscs1")
+                .documentLink(DocumentLink.builder().documentUrl("www.sscs1.com").documentFilename("sscs1.pdf").build())
+                .build())
+            .build());
+        for (String name : List.of("one", "two")) {
+            documents.add(SscsDocument.builder()
+                .value(SscsDocumentDetails.builder()
+                    .documentType("appellantEvidence")
+                    .documentLink(DocumentLink.builder().documentUrl("www.evidence-" + name + ".com")
+                        .documentFilename(name + ".pdf").build())
+                    .build())
+                .build());
+        }
+        sscsCaseData.getAppeal().setReceivedVia("Online");
+        sscsCaseData.setSscsDocument(documents);
+
+        try {
+            singleDownloader.sendCaseToRobotics(new CaseDetails<>(1L, null, APPEAL_CREATED, sscsCaseData, null,
+                "Benefit"));
+            fail("Expected the SSCS1 download to fail");
+        } catch (IllegalStateException e) {
+            assertThat(e, is(dmStoreDown));
+        } finally {
+            singleDownloader.stop();
+        }
+
+        verify(pdfStoreService, never()).download(startsWith("www.evidence"));
+        verify(splitEmailSender, never()).sendEmail(anyLong(), any(), anyInt());
+    }
+
     @Test
     public void givenAdditionalEvidenceHasEmptyFileName_doNotDownloadAdditionalEvidenceAndStillGenerateRoboticsAndSendEmail() {
 
@@ -241,7 +348,7 @@ public class RoboticsServiceTest {
 
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
@@ -278,7 +385,7 @@ public class RoboticsServiceTest {
 
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
@@ -315,7 +422,7 @@ public class RoboticsServiceTest {
 
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
@@ -353,7 +460,7 @@ public class RoboticsServiceTest {
 
         verify(roboticsJsonMapper).map(any());
         verify(roboticsJsonValidator).validate(any(), any());
-        verify(emailService).sendEmail(eq(1L), any());
+        verify(splitEmailSender).sendEmail(eq(1L), any(), anyInt());
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
 
@@ -434,4 +541,33 @@ public class RoboticsServiceTest {
         assertThat(caseData.getCaseData().getDwpPresentingOffice().getValue().getCode(), is(newOffice));
         verify(ccdService, never()).updateCase(any(), any(), anyString(), anyString(), anyString(), any());
     }
+
+    @Test
+    public void roboticsJsonIsSerialisedAsUtf8() {
+        JSONObject json = new JSONObject().put("appellant", "Siân Ó Briain");
+
+        byte[] bytes = RoboticsService.toUtf8(json);
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8), is("{\"appellant\":\"Siân Ó Briain\"}"));
+    }
+
+    @Test
+    public void givenTheServiceIsStarting_thenRoboticsSchemaIsLoadedWithTheJsonOfASampleAppeal() {
+        given(roboticsJsonValidator.validate(any(), eq("1000000000000000"))).willReturn(Collections.emptySet());
+
+        roboticsService.loadRoboticsSchema();
+
+        verify(roboticsJsonValidator).validate(argThat(json -> json.getLong("caseId") == 1000000000000000L),
+            eq("1000000000000000"));
+        verifyNoInteractions(roboticsJsonMapper);
+    }
+
+    @Test
+    public void givenTheSchemaCannotBeLoaded_thenStartUpCarriesOn() {
+        given(roboticsJsonValidator.validate(any(), any())).willThrow(new IllegalStateException("schema missing"));
+
+        roboticsService.loadRoboticsSchema();
+
+        verify(roboticsJsonValidator).validate(any(), any());
+    }
 }
@@ -0,0 +1,186 @@
+package uk.gov.hmcts.reform.sscs.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static uk.gov.hmcts.reform.sscs.callback.handlers.HandlerHelper.buildTestCallbackForGivenData;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.EventType.SEND_TO_DWP;
+import static uk.gov.hmcts.reform.sscs.ccd.domain.State.VALID_APPEAL;
+import static uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment.pdf;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.io.InputStreamResource;
+import uk.gov.hmcts.reform.sscs.callback.CallbackDispatcher;
+import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpoint;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpointJournal;
+import uk.gov.hmcts.reform.sscs.callback.HandlerMetrics;
+import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
+import uk.gov.hmcts.reform.sscs.ccd.domain.SscsCaseData;
+import uk.gov.hmcts.reform.sscs.domain.email.Email;
+import uk.gov.hmcts.reform.sscs.domain.email.EmailAttachment;
+import uk.gov.hmcts.reform.sscs.exception.EmailSendFailedException;
+
+public class SplitEmailSenderTest {
+
+    private final EmailService emailService = mock(EmailService.class);
+    private final SplitEmailSender splitEmailSender = new SplitEmailSender(emailService, 10, 2);
+
+    @After
+    public void tearDown() {
+        splitEmailSender.stop();
+    }
+
+    @Test
+    public void givenAttachmentsUnderTheLimit_thenOriginalEmailIsReturned() {
+        Email email = email(attachment("a", 4), attachment("b", 6));
+
+        List<Email> parts = SplitEmailSender.split(email, 1, 10);
+
+        assertEquals(1, parts.size());
+        assertSame(email, parts.get(0));
+    }
+
+    @Test
+    public void givenAttachmentsOverTheLimit_thenTheyArePackedIntoNumberedParts() {
+        Email email = email(attachment("robotics.txt", 2), attachment("a", 7), attachment("b", 5), attachment("c", 3),
+            attachment("d", 3));
+
+        List<Email> parts = SplitEmailSender.split(email, 1, 10);
+
+        assertEquals(3, parts.size());
+        assertEquals("Subject (part 1 of 3)", parts.get(0).getSubject());
+        assertEquals("Subject (part 3 of 3)", parts.get(2).getSubject());
+        assertEquals(List.of("robotics.txt", "a"), filenames(parts.get(0)));
+        assertEquals(List.of("b", "c"), filenames(parts.get(1)));
+        assertEquals(List.of("d"), filenames(parts.get(2)));
+        assertEquals("to@example.com", parts.get(1).getTo());
+    }
+
+    @Test
+    public void givenAttachmentBiggerThanTheLimit_thenItIsSentOnItsOwn() {
+        Email email = email(attachment("robotics.txt", 2), attachment("huge", 50), attachment("small", 1));
+
+        List<Email> parts = SplitEmailSender.split(email, 1, 10);
+
+        assertEquals(2, parts.size());
+        assertEquals(List.of("robotics.txt", "small"), filenames(parts.get(0)));
+        assertEquals(List.of("huge"), filenames(parts.get(1)));
+    }
+
+    @Test
+    public void givenAttachmentWhoseSizeIsOnlyKnownByReadingIt_thenItIsNotReadAndIsSentOnItsOwn() throws Exception {
+        byte[] evidence = "evidence".getBytes(UTF_8);
+        EmailAttachment streamed = EmailAttachment.builder()
+            .data(new InputStreamResource(new ByteArrayInputStream(evidence)))
+            .contentType("application/pdf")
+            .filename("streamed")
+            .build();
+        Email email = email(attachment("robotics.txt", 2), streamed, attachment("small", 1));
+
+        List<Email> parts = SplitEmailSender.split(email, 1, 10);
+
+        assertEquals(2, parts.size());
+        assertEquals(List.of("robotics.txt", "small"), filenames(parts.get(0)));
+        assertEquals(List.of("streamed"), filenames(parts.get(1)));
+        assertArrayEquals(evidence, streamed.getData().getInputStream().readAllBytes());
+    }
+
+    @Test
+    public void eachPartIsSentSeparately() {
+        Email email = email(attachment("a", 8), attachment("b", 8));
+
+        splitEmailSender.sendEmail(1L, email, 0);
+
+        verify(emailService, times(2)).sendEmail(eq(1L), any(Email.class));
+        verify(emailService).sendEmail(eq(1L), argThat(part -> part.getSubject().equals("Subject (part 2 of 2)")));
+    }
+
+    @Test
+    public void givenPartFails_thenFailureIsReported() {
+        Email email = email(attachment("a", 8), attachment("b", 8));
+        doThrow(new EmailSendFailedException("Error while sending email", new RuntimeException()))
+            .when(emailService).sendEmail(eq(1L), argThat(part -> part.getSubject().endsWith("(part 2 of 2)")));
+
+        assertThrows(EmailSendFailedException.class, () -> splitEmailSender.sendEmail(1L, email, 0));
+    }
+
+    @Test
+    public void givenPartFailsAfterItsRetries_thenRetryingTheMessageOnlySendsThePartsNotYetSent() {
+        Email email = email(attachment("a", 8), attachment("b", 8));
+        doThrow(new EmailSendFailedException("Error while sending email", new RuntimeException()))
+            .doNothing()
+            .when(emailService).sendEmail(eq(1L), argThat(part -> part.getSubject().endsWith("(part 2 of 2)")));
+        CallbackHandler<SscsCaseData> handler = new SendSplitEmailHandler(email);
+        CallbackDispatcher<SscsCaseData> dispatcher = new CallbackDispatcher<>(List.of(handler),
+            new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10)));
+        HandlerCheckpoint checkpoint = new HandlerCheckpointJournal(false, "build/handler-checkpoints",
+            Duration.ofHours(24), 100).open("1", "message");
+        Callback<SscsCaseData> callback = buildTestCallbackForGivenData(SscsCaseData.builder().build(), VALID_APPEAL,
+            SEND_TO_DWP);
+
+        try {
+            dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+            fail("Expected part 2 to fail");
+        } catch (EmailSendFailedException expected) {
+            // the retry only sends part 2
+        }
+        dispatcher.handle(CallbackType.SUBMITTED, callback, checkpoint);
+
+        verify(emailService, times(1)).sendEmail(eq(1L), argThat(part -> part.getSubject().endsWith("(part 1 of 2)")));
+        verify(emailService, times(2)).sendEmail(eq(1L), argThat(part -> part.getSubject().endsWith("(part 2 of 2)")));
+    }
+
+    private class SendSplitEmailHandler implements CallbackHandler<SscsCaseData> {
+        private final Email email;
+
+        SendSplitEmailHandler(Email email) {
+            this.email = email;
+        }
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            splitEmailSender.sendEmail(1L, email, 0);
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.LATEST;
+        }
+    }
+
+    private static Email email(EmailAttachment... attachments) {
+        return new Email("from@example.com", "to@example.com", "Subject", "Message", List.of(attachments));
+    }
+
+    private static EmailAttachment attachment(String filename, int size) {
+        return pdf(new byte[size], filename);
+    }
+
+    private static List<String> filenames(Email email) {
+        return email.getAttachments().stream().map(EmailAttachment::getFilename).collect(Collectors.toList());
+    }
+}
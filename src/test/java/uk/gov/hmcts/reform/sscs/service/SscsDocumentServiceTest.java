@@ -12,6 +12,7 @@ import java.util.*;
 import java.util.function.Consumer;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import junitparams.converters.Nullable;
 import org.apache.commons.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.junit.Rule;
@@ -109,6 +110,23 @@ public class SscsDocumentServiceTest {
         assertEquals(expectedPdfDocument, actualPdfs.get(0));
     }
 
+    @Test
+    @Parameters({
+        "APPELLANT_EVIDENCE, null",
+        "OTHER_PARTY_EVIDENCE, 1",
+        "OTHER_PARTY_REPRESENTATIVE_EVIDENCE, 2"
+    })
+    public void givenADocumentIndex_getPdfsForGivenDocTypeMatchesTheListLookup(DocumentType documentType, @Nullable String otherPartyOriginalSenderId) {
+        when(pdfStoreService.download(any())).thenReturn(new byte[]{'a'});
+
+        List<SscsDocument> testDocs = createTestData(false);
+        addOtherPartyDocs(false, testDocs);
+
+        List<PdfDocument> fromIndex = sscsDocumentService.getPdfsForGivenDocTypeNotIssued(CaseDocumentIndex.of(testDocs), documentType, false, otherPartyOriginalSenderId);
+
+        assertEquals(sscsDocumentService.getPdfsForGivenDocTypeNotIssued(testDocs, documentType, false, otherPartyOriginalSenderId), fromIndex);
+    }
+
     @Test
     public void savesAndUpdatesDocumentCorrectly() {
 
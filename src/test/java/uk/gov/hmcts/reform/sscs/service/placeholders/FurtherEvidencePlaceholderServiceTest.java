@@ -4,7 +4,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static uk.gov.hmcts.reform.sscs.ccd.domain.YesNo.YES;
 import static uk.gov.hmcts.reform.sscs.domain.FurtherEvidenceLetterType.*;
@@ -177,7 +176,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenAnAppellant_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(buildCaseData(), APPELLANT_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Terry Tibbs", actual.get("name"));
         assertEquals("HM Courts & Tribunals Service", captor.getValue().getLine1());
@@ -192,7 +191,7 @@ public class FurtherEvidencePlaceholderServiceTest {
         SscsCaseData caseData = buildCaseData();
         caseData.getAppeal().getAppellant().setName(Name.builder().firstName("Jimmy").lastName("AVeryLongNameWithLotsaAdLotsAndLotsOfCharacters").build());
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(caseData, APPELLANT_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Jimmy AVeryLongNameWithLotsaAdLotsAndLotsOfCh", actual.get("name"));
     }
@@ -200,7 +199,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenAnAppointee_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithAppointee, APPELLANT_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Terry Appointee", actual.get("name"));
         assertEquals("HM Courts & Tribunals Service Appointee", captor.getValue().getLine1());
@@ -212,7 +211,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARep_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRep, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Terry Rep", actual.get("name"));
         assertEquals("HM Courts & Tribunals Service Reps", captor.getValue().getLine1());
@@ -224,7 +223,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARepWithNoNameButOrg_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRepNoName, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Nandos", actual.get("name"));
     }
@@ -232,7 +231,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARepWithEmptyNameButOrg_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRepEmptyName, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Nandos", actual.get("name"));
     }
@@ -240,7 +239,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARepWithNullNameButOrg_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRepNullName, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Nandos", actual.get("name"));
     }
@@ -248,7 +247,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARepWithNoNameNoOrg_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRepNoNameNoOrg, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Sir/Madam", actual.get("name"));
     }
@@ -256,7 +255,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARepWithNoNameEmptyOrg_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRepNoNameEmptyOrg, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Sir/Madam", actual.get("name"));
     }
@@ -264,7 +263,7 @@ public class FurtherEvidencePlaceholderServiceTest {
     @Test
     public void givenARepWithNoNameNullOrg_thenGenerateThePlaceholders() {
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(sscsCaseDataWithRepNoNameNullOrg, REPRESENTATIVE_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertEquals("Sir/Madam", actual.get("name"));
     }
@@ -296,7 +295,7 @@ public class FurtherEvidencePlaceholderServiceTest {
                 .build())
             .build();
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(caseData, JOINT_PARTY_LETTER, null);
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertThat(actual.get("name"), is(expectedName));
         if (sameAddressAsAppellant.toBoolean()) {
@@ -326,7 +325,7 @@ public class FurtherEvidencePlaceholderServiceTest {
             .appeal(Appeal.builder().build())
             .build();
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(caseData, furtherEvidenceLetterType, "1");
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertThat(actual.get("name"), is(expectedName));
         assertThat(otherPartyAddress, is(captor.getValue()));
@@ -361,7 +360,7 @@ public class FurtherEvidencePlaceholderServiceTest {
             .appeal(Appeal.builder().build())
             .build();
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(caseData, furtherEvidenceLetterType, "1");
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertThat(actual.get("name"), is(expectedName));
         assertThat(otherPartyAddress, is(captor.getValue()));
@@ -399,7 +398,7 @@ public class FurtherEvidencePlaceholderServiceTest {
             .appeal(Appeal.builder().build())
             .build();
         Map<String, Object> actual = furtherEvidencePlaceholderService.populatePlaceholders(caseData, furtherEvidenceLetterType, "1");
-        verify(placeholderService).build(any(), any(), captor.capture(), eq(null));
+        verify(placeholderService).buildRecipientAddressPlaceholders(captor.capture(), any());
 
         assertThat(actual.get("name"), is(expectedName));
         assertThat(otherPartyAddress, is(captor.getValue()));
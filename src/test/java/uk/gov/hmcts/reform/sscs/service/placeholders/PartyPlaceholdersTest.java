@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.sscs.service.placeholders;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class PartyPlaceholdersTest {
+
+    private final Map<String, Object> casePlaceholders = Map.of("caseId", "123", "name", "Case name");
+
+    @Test
+    public void givenOverlappingKeys_thenPartyValueWins() {
+        Map<String, Object> placeholders = PartyPlaceholders.of(casePlaceholders, Map.of("name", "Party name"));
+
+        assertEquals("Party name", placeholders.get("name"));
+        assertEquals("123", placeholders.get("caseId"));
+        assertEquals(2, placeholders.size());
+        assertEquals(Map.of("caseId", "123", "name", "Party name"), new HashMap<>(placeholders));
+    }
+
+    @Test
+    public void givenNullPartyValue_thenNullIsReturnedRatherThanCaseValue() {
+        Map<String, Object> party = new HashMap<>();
+        party.put("name", null);
+
+        Map<String, Object> placeholders = PartyPlaceholders.of(casePlaceholders, party);
+
+        assertTrue(placeholders.containsKey("name"));
+        assertNull(placeholders.get("name"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void placeholdersAreReadOnly() {
+        PartyPlaceholders.of(casePlaceholders, new HashMap<>()).put("caseId", "456");
+    }
+
+    @Test
+    public void caseLevelPlaceholdersAreSharedBetweenParties() {
+        Map<String, Object> appellant = PartyPlaceholders.of(casePlaceholders, Map.of("name", "Appellant"));
+        Map<String, Object> rep = PartyPlaceholders.of(casePlaceholders, Map.of("name", "Rep"));
+
+        assertEquals("Appellant", appellant.get("name"));
+        assertEquals("Rep", rep.get("name"));
+        assertEquals("Case name", casePlaceholders.get("name"));
+    }
+}
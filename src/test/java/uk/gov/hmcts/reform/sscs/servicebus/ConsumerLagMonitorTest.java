@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.sscs.servicebus;
+
+import static org.junit.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.Test;
+
+public class ConsumerLagMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2023-06-01T10:00:00Z");
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ConsumerLagMonitor monitor =
+        new ConsumerLagMonitor(registry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void tracksMessageAgeAndInFlightCount() {
+        monitor.started(NOW.toEpochMilli() - 5_000);
+        monitor.started(NOW.toEpochMilli() - 2_000);
+
+        assertEquals(2, monitor.getInFlight());
+        assertEquals(2.0, registry.get("topic.consumer.in_flight").gauge().value(), 0);
+        assertEquals(2_000.0, registry.get("topic.consumer.message.age.last").gauge().value(), 0);
+        assertEquals(2, registry.get("topic.consumer.message.age").timer().count());
+
+        monitor.finished();
+        assertEquals(1, monitor.getInFlight());
+    }
+
+    @Test
+    public void messagesWithoutATimestampAreCountedButHaveNoAge() {
+        monitor.started(null);
+        monitor.finished();
+        monitor.roll();
+
+        assertEquals(0, registry.get("topic.consumer.message.age").timer().count());
+        assertEquals(1, monitor.getLastWindow().getCompleted());
+        assertEquals(0, monitor.getLastWindow().getMaxAgeMillis());
+    }
+
+    @Test
+    public void rollKeepsTheOldestAgeInTheWindowAndStartsAFreshOne() {
+        monitor.started(NOW.toEpochMilli() - 90_000);
+        monitor.finished();
+        monitor.roll();
+        assertEquals(90_000, monitor.getLastWindow().getMaxAgeMillis());
+
+        monitor.roll();
+        assertEquals(0, monitor.getLastWindow().getMaxAgeMillis());
+        assertEquals(0, monitor.getLastWindow().getCompleted());
+    }
+}
@@ -1,16 +1,30 @@
 package uk.gov.hmcts.reform.sscs.servicebus;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.hmcts.reform.sscs.callback.CallbackDispatcher;
+import uk.gov.hmcts.reform.sscs.callback.CallbackHandler;
+import uk.gov.hmcts.reform.sscs.callback.HandlerCheckpointJournal;
+import uk.gov.hmcts.reform.sscs.callback.HandlerMetrics;
 import uk.gov.hmcts.reform.sscs.ccd.callback.Callback;
+import uk.gov.hmcts.reform.sscs.ccd.callback.CallbackType;
+import uk.gov.hmcts.reform.sscs.ccd.callback.DispatchPriority;
 import uk.gov.hmcts.reform.sscs.ccd.deserialisation.SscsCaseCallbackDeserializer;
 import uk.gov.hmcts.reform.sscs.ccd.domain.CaseDetails;
 import uk.gov.hmcts.reform.sscs.ccd.domain.EventType;
@@ -35,77 +49,83 @@ public class TopicConsumerTest {
 
     @Before
     public void setup() {
-        topicConsumer = new TopicConsumer(RETRY_THREE_TIMES, dispatcher, deserializer);
+        CaseDetails<SscsCaseData> caseDetails = new CaseDetails<>(123L, "jurisdiction", null,
+            SscsCaseData.builder().build(), null, "Benefit");
+        when(deserializer.deserialize(any()))
+            .thenReturn(new Callback<>(caseDetails, Optional.empty(), EventType.EVIDENCE_RECEIVED, false));
+        topicConsumer = new TopicConsumer(RETRY_THREE_TIMES, dispatcher, deserializer,
+            new ConsumerLagMonitor(new SimpleMeterRegistry()),
+            new HandlerCheckpointJournal(false, "build/handler-checkpoints", Duration.ofHours(24), 100));
     }
 
     @Test
     public void bulkPrintExceptionWillBeCaught() {
         exception = new BulkPrintException(MESSAGE, EXCEPTION);
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeastOnce()).handle(any(), any());
+        verify(dispatcher, atLeastOnce()).handle(any(), any(), any());
     }
 
     @Test
     public void givenIssueFurtherEvidenceException_shouldNotRetry() {
-        doThrow(IssueFurtherEvidenceException.class).when(dispatcher).handle(any(), any());
+        doThrow(IssueFurtherEvidenceException.class).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, times(1)).handle(any(), any());
+        verify(dispatcher, times(1)).handle(any(), any(), any());
     }
 
     @Test
     public void givenPostIssueFurtherEvidenceTaskException_shouldNotRetry() {
-        doThrow(PostIssueFurtherEvidenceTasksException.class).when(dispatcher).handle(any(), any());
+        doThrow(PostIssueFurtherEvidenceTasksException.class).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, times(1)).handle(any(), any());
+        verify(dispatcher, times(1)).handle(any(), any(), any());
     }
 
     @Test
     public void pdfStoreExceptionWillBeCaught() {
         exception = new PdfStoreException(MESSAGE, EXCEPTION);
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeastOnce()).handle(any(), any());
+        verify(dispatcher, atLeastOnce()).handle(any(), any(), any());
     }
 
     @Test
     public void dwpAddressLookupExceptionWillBeCaught() {
         exception = new DwpAddressLookupException(MESSAGE);
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeastOnce()).handle(any(), any());
+        verify(dispatcher, atLeastOnce()).handle(any(), any(), any());
     }
 
     @Test
     public void noMrnDetailsExceptionWillBeCaught() {
         exception = new NoMrnDetailsException(SscsCaseData.builder().ccdCaseId("123").build());
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeastOnce()).handle(any(), any());
+        verify(dispatcher, atLeastOnce()).handle(any(), any(), any());
     }
 
     @Test
     public void unableToContactThirdPartyExceptionWillBeCaught() {
         exception = new UnableToContactThirdPartyException("dm-store", new RuntimeException());
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeastOnce()).handle(any(), any());
+        verify(dispatcher, atLeastOnce()).handle(any(), any(), any());
     }
 
     @Test
     public void nullPointerExceptionWillBeCaught() {
         exception = new NullPointerException();
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeast(RETRY_THREE_TIMES)).handle(any(), any());
+        verify(dispatcher, atLeast(RETRY_THREE_TIMES)).handle(any(), any(), any());
     }
 
     @Test
     public void clientAuthorisationExceptionWillBeCaught() {
         exception = new ClientAuthorisationException(EXCEPTION);
-        doThrow(exception).when(dispatcher).handle(any(), any());
+        doThrow(exception).when(dispatcher).handle(any(), any(), any());
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher, atLeast(RETRY_THREE_TIMES)).handle(any(), any());
+        verify(dispatcher, atLeast(RETRY_THREE_TIMES)).handle(any(), any(), any());
     }
 
     @Test
@@ -121,7 +141,92 @@ public class TopicConsumerTest {
         Callback<SscsCaseData> callback = new Callback<>(caseDetails, Optional.empty(), EventType.EVIDENCE_RECEIVED, false);
         when(deserializer.deserialize(any())).thenReturn(callback);
         topicConsumer.onMessage(MESSAGE, "1");
-        verify(dispatcher).handle(any(), any());
+        verify(dispatcher).handle(any(), any(), any());
     }
 
+    @Test
+    public void messagesForTheSameCaseAreNotHandledAtTheSameTime() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(dispatcher).handle(any(), any(), any());
+
+        ExecutorService consumers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = consumers.submit(() -> topicConsumer.onMessage(MESSAGE, "1"));
+            Future<?> second = consumers.submit(() -> topicConsumer.onMessage(MESSAGE + " again", "2"));
+            first.get();
+            second.get();
+        } finally {
+            consumers.shutdown();
+        }
+
+        assertEquals(1, maxInFlight.get());
+        verify(dispatcher, times(2)).handle(any(), any(), any());
+    }
+
+    @Test
+    public void givenALaterHandlerFails_thenTheRetrySeesTheChangesOfTheHandlersItSkips() {
+        when(deserializer.deserialize(any())).thenAnswer(invocation -> new Callback<>(new CaseDetails<>(123L,
+            "jurisdiction", null, SscsCaseData.builder().build(), null, "Benefit"), Optional.empty(),
+            EventType.SEND_TO_DWP, false));
+        SetsRegionHandler setsRegion = new SetsRegionHandler();
+        NeedsRegionHandler needsRegion = new NeedsRegionHandler();
+        CallbackDispatcher<SscsCaseData> realDispatcher = new CallbackDispatcher<>(List.of(setsRegion, needsRegion),
+            new HandlerMetrics(new SimpleMeterRegistry(), Duration.ofSeconds(10)));
+        TopicConsumer consumer = new TopicConsumer(RETRY_THREE_TIMES, realDispatcher, deserializer,
+            new ConsumerLagMonitor(new SimpleMeterRegistry()),
+            new HandlerCheckpointJournal(false, "build/handler-checkpoints", Duration.ofHours(24), 100));
+
+        consumer.onMessage(MESSAGE, "1");
+
+        assertEquals(1, setsRegion.calls);
+        assertEquals(List.of("North East", "North East"), needsRegion.regionsSeen);
+    }
+
+    private static class SetsRegionHandler implements CallbackHandler<SscsCaseData> {
+        private int calls;
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            calls++;
+            callback.getCaseDetails().getCaseData().setRegion("North East");
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.EARLIEST;
+        }
+    }
+
+    private static class NeedsRegionHandler implements CallbackHandler<SscsCaseData> {
+        private final List<String> regionsSeen = new ArrayList<>();
+
+        @Override
+        public boolean canHandle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            return true;
+        }
+
+        @Override
+        public void handle(CallbackType callbackType, Callback<SscsCaseData> callback) {
+            regionsSeen.add(callback.getCaseDetails().getCaseData().getRegion());
+            if (regionsSeen.size() == 1) {
+                throw new IllegalStateException("ccd unavailable");
+            }
+        }
+
+        @Override
+        public DispatchPriority getPriority() {
+            return DispatchPriority.LATEST;
+        }
+    }
 }
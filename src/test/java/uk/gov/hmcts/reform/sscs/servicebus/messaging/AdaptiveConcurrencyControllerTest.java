@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.sscs.servicebus.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+import uk.gov.hmcts.reform.sscs.servicebus.ConsumerLagMonitor;
+
+public class AdaptiveConcurrencyControllerTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ConsumerLagMonitor monitor = mock(ConsumerLagMonitor.class);
+    private final JmsListenerEndpointRegistry listenerRegistry = mock(JmsListenerEndpointRegistry.class);
+    private final DefaultMessageListenerContainer container = mock(DefaultMessageListenerContainer.class);
+    private AdaptiveConcurrencyController controller;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ObjectProvider<JmsListenerEndpointRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(listenerRegistry);
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.<MessageListenerContainer>of(container));
+        controller = new AdaptiveConcurrencyController(provider, monitor, registry, 1, 8, Duration.ofMinutes(1), 0.1);
+    }
+
+    @Test
+    public void consumersAreAddedOneAtATimeWhileLagIsAboveTarget_andHalvedWhenDownstreamsFail() {
+        assertEquals(2, AdaptiveConcurrencyController.nextConcurrency(1, 1, 8, 120_000, 60_000, 0, 0.1));
+        assertEquals(8, AdaptiveConcurrencyController.nextConcurrency(8, 1, 8, 120_000, 60_000, 0, 0.1));
+        assertEquals(3, AdaptiveConcurrencyController.nextConcurrency(6, 1, 8, 120_000, 60_000, 0.5, 0.1));
+        assertEquals(1, AdaptiveConcurrencyController.nextConcurrency(1, 1, 8, 120_000, 60_000, 0.5, 0.1));
+    }
+
+    @Test
+    public void consumersDriftBackToTheMinimumOnceTheBacklogIsCleared() {
+        assertEquals(5, AdaptiveConcurrencyController.nextConcurrency(5, 1, 8, 45_000, 60_000, 0, 0.1));
+        assertEquals(4, AdaptiveConcurrencyController.nextConcurrency(5, 1, 8, 1_000, 60_000, 0, 0.1));
+        assertEquals(1, AdaptiveConcurrencyController.nextConcurrency(1, 1, 8, 0, 60_000, 0, 0.1));
+    }
+
+    @Test
+    public void adjustAppliesTheNewConcurrencyToTheListener() {
+        when(monitor.getLastWindow()).thenReturn(window(120_000));
+        when(container.getMaxConcurrentConsumers()).thenReturn(1);
+
+        controller.adjust();
+
+        verify(container).setMaxConcurrentConsumers(2);
+        verify(container).setConcurrentConsumers(2);
+        assertEquals(2.0, registry.get("topic.consumer.concurrency").gauge().value(), 0);
+    }
+
+    @Test
+    public void adjustBacksOffWhenDownstreamCallsAreFailing() {
+        when(monitor.getLastWindow()).thenReturn(window(120_000));
+        when(container.getMaxConcurrentConsumers()).thenReturn(1, 2, 3);
+        controller.adjust();
+        controller.adjust();
+        controller.adjust();
+        assertEquals(4.0, registry.get("topic.consumer.concurrency").gauge().value(), 0);
+
+        call("success", 5);
+        call("failure", 5);
+        controller.adjust();
+
+        assertEquals(2.0, registry.get("topic.consumer.concurrency").gauge().value(), 0);
+    }
+
+    @Test
+    public void givenNoDownstreamCallsAreTimed_thenTheErrorRateIsUnknownAndConsumersFollowTheLag() {
+        when(monitor.getLastWindow()).thenReturn(window(120_000));
+        when(container.getMaxConcurrentConsumers()).thenReturn(1);
+
+        controller.adjust();
+
+        assertTrue(Double.isNaN(registry.get("topic.consumer.downstream_error_rate").gauge().value()));
+        assertEquals(2.0, registry.get("topic.consumer.concurrency").gauge().value(), 0);
+    }
+
+    @Test
+    public void theDownstreamErrorRateIsPublished() {
+        when(monitor.getLastWindow()).thenReturn(window(45_000));
+        call("success", 3);
+        call("failure", 1);
+
+        controller.adjust();
+
+        assertEquals(0.25, registry.get("topic.consumer.downstream_error_rate").gauge().value(), 0);
+    }
+
+    private void call(String outcome, int times) {
+        Timer timer = Timer.builder("outbound.call").tag("dependency", "ccd").tag("operation", "updateCase")
+            .tag("outcome", outcome).tag("exception", "none").register(registry);
+        for (int i = 0; i < times; i++) {
+            timer.record(Duration.ofMillis(10));
+        }
+    }
+
+    private static ConsumerLagMonitor.Window window(long maxAgeMillis) {
+        return new ConsumerLagMonitor.Window(1.0, maxAgeMillis, 10);
+    }
+}